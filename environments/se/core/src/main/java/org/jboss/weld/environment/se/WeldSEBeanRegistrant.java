@@ -20,11 +20,13 @@ import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AfterBeanDiscovery;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.BeforeShutdown;
 import javax.enterprise.inject.spi.Extension;
 
 import org.jboss.weld.bootstrap.events.AbstractContainerEvent;
 import org.jboss.weld.environment.se.beans.InstanceManager;
 import org.jboss.weld.environment.se.beans.ParametersFactory;
+import org.jboss.weld.environment.se.contexts.PooledThreadContext;
 import org.jboss.weld.environment.se.contexts.ThreadContext;
 import org.jboss.weld.environment.se.threading.RunnableDecorator;
 
@@ -37,6 +39,8 @@ public class WeldSEBeanRegistrant implements Extension {
 
     public static ThreadContext THREAD_CONTEXT = null;
 
+    public static PooledThreadContext POOLED_THREAD_CONTEXT = null;
+
     public void registerWeldSEBeans(@Observes BeforeBeanDiscovery event, BeanManager manager) {
         if (ignoreEvent(event)) {
             return;
@@ -59,6 +63,18 @@ public class WeldSEBeanRegistrant implements Extension {
         // activate and add context
         event.addContext(threadContext);
         THREAD_CONTEXT = threadContext;
+
+        // instances of pooled thread scoped beans live until the thread terminates
+        final PooledThreadContext pooledThreadContext = new PooledThreadContext();
+        event.addContext(pooledThreadContext);
+        POOLED_THREAD_CONTEXT = pooledThreadContext;
+    }
+
+    public void destroyPooledThreadContext(@Observes BeforeShutdown event) {
+        if (ignoreEvent(event) || POOLED_THREAD_CONTEXT == null) {
+            return;
+        }
+        POOLED_THREAD_CONTEXT.invalidate();
     }
 
     /**
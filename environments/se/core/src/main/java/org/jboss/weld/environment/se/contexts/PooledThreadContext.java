@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.contexts;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.weld.context.AbstractContext;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.beanstore.ConcurrentHashMapBeanStore;
+
+/**
+ * The context for {@link PooledThreadScoped} beans. Each thread gets its own bean store, which is created on first access and kept
+ * for the whole life of the thread, so that instances are reused across the tasks executed by the thread.
+ *
+ * <p>
+ * Bean stores of terminated threads are destroyed whenever a new thread accesses the context for the first time, or explicitly
+ * using {@link #destroyTerminatedThreadInstances()}. All the remaining instances are destroyed when the container shuts down.
+ * Bean stores are registered in a concurrent set, so threads accessing the context do not contend with each other.
+ * </p>
+ */
+public class PooledThreadContext extends AbstractContext {
+
+    private final ThreadLocal<ThreadBeanStore> current;
+    private final Set<ThreadBeanStore> beanStores;
+
+    public PooledThreadContext() {
+        super("STATIC_INSTANCE", false);
+        this.current = new ThreadLocal<ThreadBeanStore>();
+        this.beanStores = Collections.newSetFromMap(new ConcurrentHashMap<ThreadBeanStore, Boolean>());
+    }
+
+    public Class<? extends Annotation> getScope() {
+        return PooledThreadScoped.class;
+    }
+
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    protected BeanStore getBeanStore() {
+        ThreadBeanStore beanStore = current.get();
+        if (beanStore == null || beanStore.isInvalidated()) {
+            // first access from this thread or the context was invalidated since
+            destroyTerminatedThreadInstances();
+            beanStore = new ThreadBeanStore(Thread.currentThread());
+            beanStores.add(beanStore);
+            current.set(beanStore);
+        }
+        return beanStore;
+    }
+
+    /**
+     * Destroys the instances that belong to threads which have terminated.
+     */
+    public void destroyTerminatedThreadInstances() {
+        for (ThreadBeanStore beanStore : beanStores) {
+            // the store is destroyed by the caller which removed it, threads may do this concurrently
+            if (!beanStore.isThreadAlive() && beanStores.remove(beanStore)) {
+                destroyContextualInstances(beanStore);
+            }
+        }
+    }
+
+    /**
+     * Destroys the instances that belong to the current thread. The thread gets new instances when it accesses the context again.
+     */
+    public void destroyCurrentThreadInstances() {
+        ThreadBeanStore beanStore = current.get();
+        if (beanStore != null) {
+            current.remove();
+            if (beanStores.remove(beanStore)) {
+                destroyContextualInstances(beanStore);
+            }
+        }
+    }
+
+    /**
+     * Destroys the instances of all the threads. Called when the container shuts down. The bean stores are invalidated, so that
+     * each thread gets a new bean store when it accesses the context again.
+     */
+    @Override
+    protected void destroy() {
+        for (ThreadBeanStore beanStore : beanStores) {
+            beanStore.invalidate();
+            if (beanStores.remove(beanStore)) {
+                destroyContextualInstances(beanStore);
+            }
+        }
+    }
+
+    public void invalidate() {
+        destroy();
+    }
+
+    @Override
+    public void cleanup() {
+        for (ThreadBeanStore beanStore : beanStores) {
+            beanStore.invalidate();
+        }
+        beanStores.clear();
+        current.remove();
+    }
+
+    private static class ThreadBeanStore extends ConcurrentHashMapBeanStore {
+
+        private static final long serialVersionUID = 3016733591232416373L;
+
+        private final transient WeakReference<Thread> thread;
+
+        private volatile boolean invalidated;
+
+        private ThreadBeanStore(Thread thread) {
+            this.thread = new WeakReference<Thread>(thread);
+        }
+
+        private boolean isThreadAlive() {
+            Thread thread = this.thread.get();
+            return thread != null && thread.isAlive();
+        }
+
+        private void invalidate() {
+            this.invalidated = true;
+        }
+
+        private boolean isInvalidated() {
+            return invalidated;
+        }
+
+        // identity semantics are required by the registry
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
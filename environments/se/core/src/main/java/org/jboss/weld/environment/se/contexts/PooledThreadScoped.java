@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.contexts;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.enterprise.context.NormalScope;
+
+/**
+ * Used to represent that a managed bean is scoped to the current thread. Unlike {@link ThreadScoped}, the context is always
+ * active and an instance is not destroyed when a task finishes. Instead, it is reused by all the tasks executed by the same
+ * (typically pooled) thread and only destroyed once the thread terminates or the container shuts down.
+ *
+ * <p>
+ * This scope is suitable for expensive, non-thread-safe helpers (parsers, buffers, clients) used by short tasks running on a
+ * thread pool.
+ * </p>
+ *
+ * @see PooledThreadContext
+ */
+@Target({TYPE, METHOD, FIELD})
+@Retention(RUNTIME)
+@Documented
+@NormalScope
+@Inherited
+public @interface PooledThreadScoped {
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.environment.se.WeldSEBeanRegistrant;
+import org.jboss.weld.environment.se.test.beans.threading.PooledThreadHelper;
+import org.junit.Test;
+
+/**
+ * Tests for {@link org.jboss.weld.environment.se.contexts.PooledThreadContext}.
+ */
+public class PooledThreadContextTest {
+
+    private static final int NUM_THREADS = 2;
+    private static final int NUM_TASKS = 50;
+
+    @Test
+    public void testInstancesReusedAcrossTasks() throws Exception {
+        PooledThreadHelper.CREATED.set(0);
+        PooledThreadHelper.DESTROYED.set(0);
+        Weld weld = new Weld();
+        final WeldContainer container = weld.initialize();
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < NUM_TASKS; i++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        return container.instance().select(PooledThreadHelper.class).get().getId();
+                    }
+                }));
+            }
+            Set<Integer> ids = new HashSet<Integer>();
+            for (Future<Integer> result : results) {
+                ids.add(result.get());
+            }
+            // one instance per pooled thread
+            assertTrue(ids.size() <= NUM_THREADS);
+            assertEquals(ids.size(), PooledThreadHelper.CREATED.get());
+            assertEquals(0, PooledThreadHelper.DESTROYED.get());
+        } finally {
+            executor.shutdown();
+            weld.shutdown();
+        }
+        assertEquals(PooledThreadHelper.CREATED.get(), PooledThreadHelper.DESTROYED.get());
+    }
+
+    @Test
+    public void testInvalidatedStoreReplaced() throws Exception {
+        PooledThreadHelper.CREATED.set(0);
+        PooledThreadHelper.DESTROYED.set(0);
+        Weld weld = new Weld();
+        final WeldContainer container = weld.initialize();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Callable<Integer> task = new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return container.instance().select(PooledThreadHelper.class).get().getId();
+                }
+            };
+            int id = executor.submit(task).get();
+            WeldSEBeanRegistrant.POOLED_THREAD_CONTEXT.invalidate();
+            assertEquals(1, PooledThreadHelper.DESTROYED.get());
+            // the pooled thread does not reuse its invalidated store
+            assertTrue(id != executor.submit(task).get());
+            assertEquals(2, PooledThreadHelper.CREATED.get());
+        } finally {
+            executor.shutdown();
+            weld.shutdown();
+        }
+        assertEquals(2, PooledThreadHelper.DESTROYED.get());
+    }
+}
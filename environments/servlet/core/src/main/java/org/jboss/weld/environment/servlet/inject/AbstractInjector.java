@@ -1,65 +1,102 @@
-/*
- * JBoss, Home of Professional Open Source
- * Copyright 2010, Red Hat, Inc., and individual contributors
- * by the @authors tag. See the copyright.txt in the distribution for a
- * full listing of individual contributors.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * http://www.apache.org/licenses/LICENSE-2.0
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package org.jboss.weld.environment.servlet.inject;
-
-import org.jboss.weld.manager.api.WeldManager;
-
-import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.spi.AnnotatedType;
-import javax.enterprise.inject.spi.InjectionTarget;
-import java.util.Map;
-import java.util.WeakHashMap;
-
-/**
- * Provides support for Weld injection into servlets, servlet filters etc.
- *
- * @author Pete Muir
- * @author <a href="mailto:matija.mazi@gmail.com">Matija Mazi</a>
- * @author Ales Justin
- */
-public abstract class AbstractInjector {
-    private final WeldManager manager;
-    private final Map<Class<?>, InjectionTarget<?>> cache = new WeakHashMap<Class<?>, InjectionTarget<?>>();
-
-    protected AbstractInjector(WeldManager manager) {
-        if (manager == null) {
-            throw new IllegalArgumentException("Null manager");
-        }
-        this.manager = manager;
-    }
-
-    protected void inject(Object instance) {
-        // not data-race safe, however doesn't matter, as the injection target created for class A is interchangeable for another injection target created for class A
-        // TODO Make this a concurrent cache when we switch to google collections
-        Class<?> clazz = instance.getClass();
-        if (!cache.containsKey(clazz)) {
-            cache.put(clazz, manager.createInjectionTarget(manager.createAnnotatedType(clazz)));
-        }
-        CreationalContext<Object> cc = manager.createCreationalContext(null);
-        InjectionTarget<Object> it = (InjectionTarget<Object>) cache.get(clazz);
-        it.inject(instance, cc);
-    }
-
-    public void destroy(Object instance) {
-        if (instance != null) {
-            AnnotatedType type = manager.createAnnotatedType(instance.getClass());
-            InjectionTarget it = manager.createInjectionTarget(type);
-            it.dispose(instance);
-        }
-    }
-}
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.weld.environment.servlet.inject;
+
+import org.jboss.weld.manager.api.WeldManager;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.InjectionTarget;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides support for Weld injection into servlets, servlet filters etc.
+ * <p>
+ * Injection targets are created once per class and shared by {@link #inject(Object)} and {@link #destroy(Object)}. The
+ * {@link CreationalContext} used to inject an instance is kept until the instance is destroyed so that its dependent objects
+ * can be released. Both the classes and the injected instances are only weakly referenced, so that the injector neither
+ * prevents the class loader of a redeployed application from being collected nor keeps instances which were never destroyed.
+ *
+ * @author Pete Muir
+ * @author <a href="mailto:matija.mazi@gmail.com">Matija Mazi</a>
+ * @author Ales Justin
+ */
+public abstract class AbstractInjector {
+    private final WeldManager manager;
+    private final LoadingCache<Class<?>, InjectionTarget<?>> injectionTargets;
+    // weak keys are compared by identity, the creational context of a collected instance is simply dropped
+    private final ConcurrentMap<Object, CreationalContext<?>> creationalContexts = CacheBuilder.newBuilder().weakKeys().<Object, CreationalContext<?>>build().asMap();
+
+    protected AbstractInjector(WeldManager manager) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Null manager");
+        }
+        this.manager = manager;
+        this.injectionTargets = CacheBuilder.newBuilder().weakKeys().build(new InjectionTargetLoader(manager));
+    }
+
+    protected void inject(Object instance) {
+        CreationalContext<Object> cc = manager.createCreationalContext(null);
+        getInjectionTarget(instance.getClass()).inject(instance, cc);
+        CreationalContext<?> previous = creationalContexts.put(instance, cc);
+        if (previous != null) {
+            // the instance was injected again
+            previous.release();
+        }
+    }
+
+    public void destroy(Object instance) {
+        if (instance != null) {
+            getInjectionTarget(instance.getClass()).dispose(instance);
+            CreationalContext<?> cc = creationalContexts.remove(instance);
+            if (cc != null) {
+                cc.release();
+            }
+        }
+    }
+
+    private InjectionTarget<Object> getInjectionTarget(Class<?> clazz) {
+        try {
+            return (InjectionTarget<Object>) injectionTargets.getUnchecked(clazz);
+        } catch (UncheckedExecutionException e) {
+            // rethrow the definition problem reported by the manager
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class InjectionTargetLoader extends CacheLoader<Class<?>, InjectionTarget<?>> {
+
+        private final WeldManager manager;
+
+        private InjectionTargetLoader(WeldManager manager) {
+            this.manager = manager;
+        }
+
+        @Override
+        public InjectionTarget<?> load(Class<?> clazz) {
+            return manager.createInjectionTarget(manager.createAnnotatedType(clazz));
+        }
+    }
+}
@@ -15,6 +15,7 @@ public class WeldInstanceManager extends AbstractInjector implements InstanceMan
     }
 
     public void destroyInstance(Object o) throws IllegalAccessException, InvocationTargetException {
+        destroy(o);
     }
 
     public Object newInstance(String fqcn) throws IllegalAccessException, InvocationTargetException, NamingException, InstantiationException, ClassNotFoundException {
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.servlet.inject;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.jboss.weld.manager.api.WeldManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractInjectorTest {
+
+    private final AtomicInteger createdInjectionTargets = new AtomicInteger();
+    private final AtomicInteger injections = new AtomicInteger();
+    private final AtomicInteger disposals = new AtomicInteger();
+    private final AtomicInteger releases = new AtomicInteger();
+
+    private Injector injector;
+
+    @Before
+    public void createInjector() {
+        injector = new Injector((WeldManager) proxy(WeldManager.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("createInjectionTarget")) {
+                    createdInjectionTargets.incrementAndGet();
+                    return createInjectionTarget();
+                } else if (method.getName().equals("createCreationalContext")) {
+                    return createCreationalContext();
+                }
+                return null;
+            }
+        }));
+    }
+
+    @Test
+    public void testInjectionTargetCreatedOncePerClass() {
+        injector.inject(new Object());
+        injector.inject(new Object());
+        injector.destroy(new Object());
+        injector.inject("string");
+        assertEquals(2, createdInjectionTargets.get());
+        assertEquals(3, injections.get());
+        assertEquals(1, disposals.get());
+    }
+
+    @Test
+    public void testCreationalContextReleasedOnDestroy() {
+        Object instance = new Object();
+        injector.inject(instance);
+        assertEquals(0, releases.get());
+        injector.destroy(instance);
+        assertEquals(1, releases.get());
+        // already released
+        injector.destroy(instance);
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    public void testCreationalContextReleasedWhenInjectedAgain() {
+        Object instance = new Object();
+        injector.inject(instance);
+        injector.inject(instance);
+        assertEquals(1, releases.get());
+        injector.destroy(instance);
+        assertEquals(2, releases.get());
+    }
+
+    @Test
+    public void testInstancesComparedByIdentity() {
+        String first = new String("instance");
+        String second = new String("instance");
+        injector.inject(first);
+        injector.inject(second);
+        injector.destroy(first);
+        assertEquals(1, releases.get());
+        injector.destroy(second);
+        assertEquals(2, releases.get());
+    }
+
+    private InjectionTarget<?> createInjectionTarget() {
+        return (InjectionTarget<?>) proxy(InjectionTarget.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("inject")) {
+                    injections.incrementAndGet();
+                } else if (method.getName().equals("dispose")) {
+                    disposals.incrementAndGet();
+                }
+                return null;
+            }
+        });
+    }
+
+    private CreationalContext<?> createCreationalContext() {
+        return (CreationalContext<?>) proxy(CreationalContext.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("release")) {
+                    releases.incrementAndGet();
+                }
+                return null;
+            }
+        });
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(AbstractInjectorTest.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static class Injector extends AbstractInjector {
+
+        Injector(WeldManager manager) {
+            super(manager);
+        }
+
+        @Override
+        public void inject(Object instance) {
+            super.inject(instance);
+        }
+    }
+}
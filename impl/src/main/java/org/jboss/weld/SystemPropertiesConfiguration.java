@@ -19,6 +19,7 @@ package org.jboss.weld;
 import java.security.AccessController;
 
 import org.jboss.weld.security.GetBooleanSystemPropertyAction;
+import org.jboss.weld.security.GetSystemPropertyAction;
 
 /**
  *
@@ -30,15 +31,45 @@ public final class SystemPropertiesConfiguration {
 
     public static final String NON_PORTABLE_MODE_KEY = "org.jboss.weld.nonPortableMode";
 
+    public static final String RUNTIME_METRICS_KEY = "org.jboss.weld.runtimeMetrics";
+
+    public static final String LAZY_BEAN_INITIALIZATION_KEY = "org.jboss.weld.lazyBeanInitialization";
+
+    public static final String BEAN_IDENTIFIER_INDEX_KEY = "org.jboss.weld.serialization.beanIdentifierIndex";
+
+    public static final String PARALLEL_CONTEXT_DESTRUCTION_KEY = "org.jboss.weld.context.parallelDestruction";
+
+    public static final String SHARED_METADATA_CACHE_KEY = "org.jboss.weld.sharedMetadataCache";
+
+    public static final String RESOLUTION_PROFILE_KEY = "org.jboss.weld.resolutionProfile";
+
     public static final SystemPropertiesConfiguration INSTANCE = new SystemPropertiesConfiguration();
 
     private boolean xmlValidationDisabled;
 
     private boolean nonPortableModeEnabled;
 
+    private boolean runtimeMetricsEnabled;
+
+    private boolean lazyBeanInitializationEnabled;
+
+    private boolean beanIdentifierIndexEnabled;
+
+    private boolean parallelContextDestructionEnabled;
+
+    private boolean sharedMetadataCacheEnabled;
+
+    private String resolutionProfile;
+
     private SystemPropertiesConfiguration() {
         xmlValidationDisabled = initBooleanSystemProperty(DISABLE_XML_VALIDATION_KEY, false);
         nonPortableModeEnabled = initBooleanSystemProperty(NON_PORTABLE_MODE_KEY, false);
+        runtimeMetricsEnabled = initBooleanSystemProperty(RUNTIME_METRICS_KEY, false);
+        lazyBeanInitializationEnabled = initBooleanSystemProperty(LAZY_BEAN_INITIALIZATION_KEY, false);
+        beanIdentifierIndexEnabled = initBooleanSystemProperty(BEAN_IDENTIFIER_INDEX_KEY, false);
+        parallelContextDestructionEnabled = initBooleanSystemProperty(PARALLEL_CONTEXT_DESTRUCTION_KEY, false);
+        sharedMetadataCacheEnabled = initBooleanSystemProperty(SHARED_METADATA_CACHE_KEY, false);
+        resolutionProfile = initSystemProperty(RESOLUTION_PROFILE_KEY, null);
     }
 
     /**
@@ -59,6 +90,75 @@ public final class SystemPropertiesConfiguration {
         return nonPortableModeEnabled;
     }
 
+    /**
+     * Runtime metrics collection is disabled by default.
+     *
+     * @return <code>true</code> if the {@link org.jboss.weld.metrics.RuntimeMetrics} service should be registered, <code>false</code> otherwise
+     */
+    public boolean isRuntimeMetricsEnabled() {
+        return runtimeMetricsEnabled;
+    }
+
+    /**
+     * Lazy bean initialization is disabled by default. If enabled, the enhanced subclass and the interceptor/decorator
+     * instantiator chain of a managed bean are not built during bootstrap but when the first instance of the bean is created.
+     * The bean definitions are still validated during bootstrap. However, a failure to generate the enhanced subclass is only
+     * reported when an instance of the bean is created, and then again upon every attempt.
+     *
+     * @return <code>true</code> if the lazy bean initialization is enabled, <code>false</code> otherwise
+     */
+    public boolean isLazyBeanInitializationEnabled() {
+        return lazyBeanInitializationEnabled;
+    }
+
+    /**
+     * The bean identifier index is disabled by default. If enabled, serialized contextuals refer to beans by their position in
+     * a per-deployment index instead of the bean identifier. Serialized data may then only be restored in an identical
+     * deployment.
+     *
+     * @return <code>true</code> if the {@link org.jboss.weld.serialization.BeanIdentifierIndex} service should be registered,
+     *         <code>false</code> otherwise
+     */
+    public boolean isBeanIdentifierIndexEnabled() {
+        return beanIdentifierIndexEnabled;
+    }
+
+    /**
+     * Parallel context destruction is disabled by default. If enabled, shared contexts (i.e. the application and singleton contexts)
+     * holding many contextual instances destroy independent instances concurrently using the
+     * {@link org.jboss.weld.manager.api.ExecutorServices}, provided that no context bound to the calling thread is active.
+     * Dependencies are derived from injection points, destruction callbacks must therefore not obtain other instances of the same
+     * context through {@link javax.enterprise.inject.spi.BeanManager} or {@link javax.enterprise.inject.spi.CDI} lookups.
+     *
+     * @return <code>true</code> if the parallel context destruction is enabled, <code>false</code> otherwise
+     */
+    public boolean isParallelContextDestructionEnabled() {
+        return parallelContextDestructionEnabled;
+    }
+
+    /**
+     * The shared metadata cache is disabled by default. If enabled, the annotations read reflectively from classes and members
+     * are cached JVM-wide and shared by all the Weld containers, which pays off if multiple deployments use the same libraries
+     * loaded by a shared class loader.
+     *
+     * @return <code>true</code> if the shared metadata cache is enabled, <code>false</code> otherwise
+     */
+    public boolean isSharedMetadataCacheEnabled() {
+        return sharedMetadataCacheEnabled;
+    }
+
+    /**
+     * The resolution profile is disabled by default. If enabled, the resolutions performed at runtime are recorded and written
+     * on shutdown to the given file suffixed with the id of the container. The next boot replays them before the container is initialized so that the resolver caches
+     * and client proxies are warm by the time the first request arrives.
+     *
+     * @return the path of the file holding the {@link org.jboss.weld.resolution.ResolutionProfile} or <code>null</code> if the
+     *         resolution profile is disabled
+     */
+    public String getResolutionProfile() {
+        return resolutionProfile;
+    }
+
     private boolean initBooleanSystemProperty(String key, boolean defaultValue) {
         try {
             return AccessController.doPrivileged(new GetBooleanSystemPropertyAction(key));
@@ -67,4 +167,13 @@ public final class SystemPropertiesConfiguration {
         }
     }
 
+    private String initSystemProperty(String key, String defaultValue) {
+        try {
+            String value = AccessController.doPrivileged(new GetSystemPropertyAction(key));
+            return value == null ? defaultValue : value;
+        } catch (Throwable ignore) {
+            return defaultValue;
+        }
+    }
+
 }
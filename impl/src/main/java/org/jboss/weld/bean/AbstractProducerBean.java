@@ -33,7 +33,6 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMember;
 import org.jboss.weld.bootstrap.BeanDeployerEnvironment;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
-import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
@@ -136,7 +135,7 @@ public abstract class AbstractProducerBean<X, T, S extends Member> extends Abstr
             throw BeanLogger.LOG.nullNotAllowedFromProducer(getProducer());
         }
         if (instance == null) {
-            InjectionPoint injectionPoint = beanManager.getServices().get(CurrentInjectionPoint.class).peek();
+            InjectionPoint injectionPoint = beanManager.getCurrentInjectionPoint().peek();
             if (injectionPoint != null) {
                 Class<?> injectionPointRawType = Reflections.getRawType(injectionPoint.getType());
                 if (injectionPointRawType.isPrimitive()) {
@@ -150,7 +149,7 @@ public abstract class AbstractProducerBean<X, T, S extends Member> extends Abstr
                 if (passivating) {
                     throw BeanLogger.LOG.nonSerializableProductError(getProducer());
                 }
-                InjectionPoint injectionPoint = beanManager.getServices().get(CurrentInjectionPoint.class).peek();
+                InjectionPoint injectionPoint = beanManager.getCurrentInjectionPoint().peek();
                 if (injectionPoint != null && injectionPoint.getBean() != null) {
                     if (Beans.isPassivatingScope(injectionPoint.getBean(), beanManager)) {
                         if (injectionPoint.getMember() instanceof Field && !injectionPoint.isTransient()) {
@@ -18,12 +18,10 @@
 package org.jboss.weld.bean;
 
 import java.lang.reflect.Method;
-import java.util.Map;
 
 import javax.enterprise.inject.spi.Decorator;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
-import org.jboss.weld.annotated.enhanced.MethodSignature;
 import org.jboss.weld.annotated.runtime.InvokableAnnotatedMethod;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.resources.ClassTransformer;
@@ -40,7 +38,7 @@ public class CustomDecoratorWrapper<T> extends ForwardingDecorator<T> implements
     private final Decorator<T> delegate;
     private final EnhancedAnnotatedType<T> weldClass;
 
-    private Map<MethodSignature, InvokableAnnotatedMethod<?>> decoratorMethods;
+    private final DecoratorMethodResolver decoratorMethods;
 
     public static <T> CustomDecoratorWrapper<T> of(Decorator<T> delegate, BeanManagerImpl beanManager) {
         return new CustomDecoratorWrapper<T>(delegate, beanManager);
@@ -49,7 +47,7 @@ public class CustomDecoratorWrapper<T> extends ForwardingDecorator<T> implements
     private CustomDecoratorWrapper(Decorator<T> delegate, BeanManagerImpl beanManager) {
         this.delegate = delegate;
         this.weldClass = beanManager.getServices().get(ClassTransformer.class).getEnhancedAnnotatedType(Reflections.<Class<T>>cast(delegate.getBeanClass()), beanManager.getId());
-        this.decoratorMethods = Decorators.getDecoratorMethods(beanManager, delegate.getDecoratedTypes(), this.weldClass);
+        this.decoratorMethods = new DecoratorMethodResolver(this, Decorators.getDecoratorMethods(beanManager, delegate.getDecoratedTypes(), this.weldClass));
     }
 
     @Override
@@ -62,6 +60,6 @@ public class CustomDecoratorWrapper<T> extends ForwardingDecorator<T> implements
     }
 
     public InvokableAnnotatedMethod<?> getDecoratorMethod(Method method) {
-        return Decorators.findDecoratorMethod(this, decoratorMethods, method);
+        return decoratorMethods.getDecoratorMethod(method);
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean;
+
+import static org.jboss.weld.util.cache.LoadingCacheUtils.getCacheValue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.jboss.weld.annotated.enhanced.MethodSignature;
+import org.jboss.weld.annotated.runtime.InvokableAnnotatedMethod;
+import org.jboss.weld.util.Decorators;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Caches the decorator method matching a method invoked on a delegate proxy. Without the cache, every invocation would compute
+ * a {@link MethodSignature} and, for methods which are not decorated, iterate over all the decorator methods.
+ */
+class DecoratorMethodResolver {
+
+    private final LoadingCache<Method, Optional<InvokableAnnotatedMethod<?>>> decoratorMethods;
+
+    DecoratorMethodResolver(final WeldDecorator<?> decorator, final Map<MethodSignature, InvokableAnnotatedMethod<?>> decoratorMethods) {
+        this.decoratorMethods = CacheBuilder.newBuilder().build(new CacheLoader<Method, Optional<InvokableAnnotatedMethod<?>>>() {
+            @Override
+            public Optional<InvokableAnnotatedMethod<?>> load(Method method) {
+                return Optional.<InvokableAnnotatedMethod<?>>fromNullable(Decorators.findDecoratorMethod(decorator, decoratorMethods, method));
+            }
+        });
+    }
+
+    InvokableAnnotatedMethod<?> getDecoratorMethod(Method method) {
+        return getCacheValue(decoratorMethods, method).orNull();
+    }
+}
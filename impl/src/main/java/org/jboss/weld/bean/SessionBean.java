@@ -46,7 +46,6 @@ import org.jboss.weld.injection.producer.ejb.SessionBeanProxyInstantiator;
 import org.jboss.weld.interceptor.spi.model.InterceptionModel;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.util.BeanMethods;
 import org.jboss.weld.util.reflection.Formats;
@@ -176,7 +175,7 @@ public class SessionBean<T> extends AbstractClassBean<T> {
         if (!isDependent() && getEnhancedAnnotated().isGeneric()) {
             throw BeanLogger.LOG.genericSessionBeanMustBeDependent(this);
         }
-        boolean passivating = beanManager.getServices().get(MetaAnnotationStore.class).getScopeModel(getScope()).isPassivating();
+        boolean passivating = beanManager.getMetaAnnotationStore().getScopeModel(getScope()).isPassivating();
         if (passivating && !isPassivationCapableBean()) {
             throw BeanLogger.LOG.passivatingBeanNeedsSerializableImpl(this);
         }
@@ -40,7 +40,7 @@ public abstract class AbstractBuiltInMetadataBean<T> extends AbstractBuiltInBean
 
     public AbstractBuiltInMetadataBean(BeanIdentifier identifier, Class<T> type, BeanManagerImpl beanManager) {
         super(identifier, beanManager, type);
-        this.cip = beanManager.getServices().get(CurrentInjectionPoint.class);
+        this.cip = beanManager.getCurrentInjectionPoint();
     }
 
     @Override
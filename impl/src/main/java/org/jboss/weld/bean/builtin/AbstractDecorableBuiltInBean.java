@@ -25,6 +25,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import org.jboss.weld.bean.BeanIdentifiers;
 import org.jboss.weld.bean.DecorableBean;
 import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.bean.proxy.DecoratorChain;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Decorators;
@@ -38,10 +39,11 @@ import org.jboss.weld.util.Decorators;
 public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBean<T> implements DecorableBean<T> {
 
     private final CurrentInjectionPoint cip;
+    private volatile DecoratorChain<T> decoratorChain;
 
     protected AbstractDecorableBuiltInBean(BeanManagerImpl beanManager, Class<T> type) {
         super(new StringBeanIdentifier(BeanIdentifiers.forBuiltInBean(beanManager, type, null)), beanManager, type);
-        this.cip = beanManager.getServices().get(CurrentInjectionPoint.class);
+        this.cip = beanManager.getCurrentInjectionPoint();
     }
 
     @Override
@@ -53,7 +55,23 @@ public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBea
         if (decorators.isEmpty()) {
             return instance;
         }
-        return Decorators.getOuterDelegate(this, instance, creationalContext, getProxyClass(), cip.peek(), getBeanManager(), decorators);
+        return Decorators.getOuterDelegate(this, instance, creationalContext, getDecoratorChain(decorators), cip.peek(), getBeanManager());
+    }
+
+    /**
+     * The decorators may depend on the injection point. The last chain is reused as long as the resolved decorators do not change.
+     */
+    private DecoratorChain<T> getDecoratorChain(List<Decorator<?>> decorators) {
+        DecoratorChain<T> chain = this.decoratorChain;
+        if (chain == null) {
+            chain = new DecoratorChain<T>(this, getProxyClass(), decorators);
+        } else if (!chain.getDecorators().equals(decorators)) {
+            chain = chain.withDecorators(decorators);
+        } else {
+            return chain;
+        }
+        this.decoratorChain = chain;
+        return chain;
     }
 
     protected abstract T newInstance(InjectionPoint ip, CreationalContext<T> creationalContext);
@@ -38,7 +38,7 @@ import org.jboss.weld.bean.proxy.ProxyMethodHandler;
 import org.jboss.weld.bean.proxy.ProxyObject;
 import org.jboss.weld.context.WeldCreationalContext;
 import org.jboss.weld.exceptions.InvalidObjectException;
-import org.jboss.weld.injection.CurrentInjectionPoint;
+import org.jboss.weld.injection.ThreadLocalStackService.ThreadLocalStack;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.resolution.Resolvable;
@@ -80,7 +80,7 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
         // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the
         // qualifiers and type
         InjectionPoint ip = new DynamicLookupInjectionPoint(getInjectionPoint(), getType(), getQualifiers());
-        CurrentInjectionPoint currentInjectionPoint = getBeanManager().getServices().get(CurrentInjectionPoint.class);
+        ThreadLocalStack<InjectionPoint> currentInjectionPoint = getBeanManager().getCurrentInjectionPoint().getStack();
         try {
             currentInjectionPoint.push(ip);
             return Reflections.<T> cast(getBeanManager().getReference(bean, getType(), getCreationalContext()));
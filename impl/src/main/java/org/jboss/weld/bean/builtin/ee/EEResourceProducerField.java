@@ -38,7 +38,6 @@ import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.persistence.PersistenceApiAbstraction;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
-import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.util.reflection.Reflections;
 import org.jboss.weld.ws.WSApiAbstraction;
 
@@ -63,7 +62,7 @@ public class EEResourceProducerField<X, T> extends ProducerField<X, T> {
 
         public T call() throws Exception {
             if (instance == null) {
-                Contextual<T> contextual = getBeanManager().getServices().get(ContextualStore.class).<Contextual<T>, T>getContextual(beanId);
+                Contextual<T> contextual = getBeanManager().getContextualStore().<Contextual<T>, T>getContextual(beanId);
                 if (contextual instanceof EEResourceProducerField<?, ?>) {
                     this.instance = Reflections.<EEResourceProducerField<?, T>>cast(contextual).createUnderlying(creationalContext);
                 } else {
@@ -20,13 +20,12 @@ package org.jboss.weld.bean.proxy;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.security.AccessController;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
 
-import org.jboss.weld.security.SetAccessibleAction;
 import org.jboss.weld.util.Proxies.TypeInfo;
+import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * @author David Allen
@@ -36,14 +35,7 @@ public abstract class AbstractBeanInstance implements BeanInstance {
     public Object invoke(Object instance, Method method, Object... arguments) throws Throwable {
         Object result = null;
         try {
-            if(!method.isAccessible()) {
-                if(System.getSecurityManager() != null) {
-                    AccessController.doPrivileged(SetAccessibleAction.of(method));
-                } else {
-                    method.setAccessible(true);
-                }
-            }
-            result = method.invoke(instance, arguments);
+            result = Reflections.ensureAccessible(method).invoke(instance, arguments);
         } catch (InvocationTargetException e) {
             throw e.getCause();
         }
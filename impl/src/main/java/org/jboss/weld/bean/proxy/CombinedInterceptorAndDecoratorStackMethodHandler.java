@@ -5,10 +5,8 @@ import static org.jboss.weld.bean.proxy.InterceptionDecorationContext.startInter
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
-import java.security.AccessController;
 import java.util.Set;
 
-import org.jboss.weld.security.SetAccessibleAction;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
@@ -56,9 +54,7 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements Method
                         }
                     } else {
                         if (outerDecorator != null) {
-                            if (!thisMethod.isAccessible()) {
-                                AccessController.doPrivileged(SetAccessibleAction.of(thisMethod));
-                            }
+                            Reflections.ensureAccessible(thisMethod);
                             return Reflections.invokeAndUnwrap(outerDecorator, thisMethod, args);
                         }
                     }
@@ -66,9 +62,7 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements Method
                     this.getDisabledHandlers().remove(this);
                 }
             }
-            if (!proceed.isAccessible()) {
-                AccessController.doPrivileged(SetAccessibleAction.of(proceed));
-            }
+            Reflections.ensureAccessible(proceed);
             return Reflections.invokeAndUnwrap(self, proceed, args);
         } finally {
             if (externalContext) {
@@ -23,13 +23,16 @@ import java.io.Serializable;
 
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.WeldCreationalContext;
-import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
+import org.jboss.weld.injection.ThreadLocalStackService.ThreadLocalStack;
 import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.ContextualStoreImpl;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
@@ -42,17 +45,19 @@ import edu.umd.cs.findbugs.annotations.SuppressWarnings;
  *
  * @author David Allen
  */
-@SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "bean field is loaded lazily")
+@SuppressWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "resolved and manager fields are loaded lazily")
 public class ContextBeanInstance<T> extends AbstractBeanInstance implements Serializable {
 
     private static final long serialVersionUID = -8144230657830556503L;
-    // The bean
-    private transient Bean<T> bean;
+    // The bean, resolved lazily and again once a redeployment has replaced beans of the container
+    private transient volatile ResolvedBean<T> resolved;
     // The bean index in the manager
     private final BeanIdentifier id;
     private final String contextId;
     // The actual type of the resulting bean instance
     private final Class<?> instanceType;
+    // The deployment manager, resolved once so that invocations do not need to look up the container
+    private transient volatile BeanManagerImpl manager;
 
     private static final ThreadLocal<WeldCreationalContext<?>> currentCreationalContext = new ThreadLocal<WeldCreationalContext<?>>();
 
@@ -64,7 +69,6 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
      * @param id   The unique identifier of this bean
      */
     public ContextBeanInstance(Bean<T> bean, BeanIdentifier id, String contextId) {
-        this.bean = bean;
         this.id = id;
         this.contextId = contextId;
         this.instanceType = computeInstanceType(bean);
@@ -72,11 +76,9 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
     }
 
     public T getInstance() {
-        Container container = Container.instance(contextId);
-        if (bean == null) {
-            bean = container.services().get(ContextualStore.class).<Bean<T>, T>getContextual(id);
-        }
-        Context context = container.deploymentManager().getContext(bean.getScope());
+        BeanManagerImpl manager = getManager();
+        Bean<T> bean = getBean(manager);
+        Context context = manager.getContext(bean.getScope());
 
         T existingInstance = context.get(bean);
         if (existingInstance != null) {
@@ -90,7 +92,7 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         } else {
             creationalContext = previousCreationalContext.getCreationalContext(bean);
         }
-        final CurrentInjectionPoint currentInjectionPoint = container.services().get(CurrentInjectionPoint.class);
+        final ThreadLocalStack<InjectionPoint> currentInjectionPoint = manager.getCurrentInjectionPoint().getStack();
         currentCreationalContext.set(creationalContext);
         try {
             // Ensure that there is no injection point associated
@@ -106,8 +108,48 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         }
     }
 
+    /**
+     * A redeployment replaces beans under the same identifier, the bean is therefore resolved again whenever the generation of
+     * the contextual store changed. Otherwise an instance of the replaced bean would be created under the identifier of the new
+     * bean.
+     */
+    private Bean<T> getBean(BeanManagerImpl manager) {
+        ContextualStore store = manager.getContextualStore();
+        int generation = store instanceof ContextualStoreImpl ? ((ContextualStoreImpl) store).getGeneration() : 0;
+        ResolvedBean<T> resolved = this.resolved;
+        if (resolved == null || resolved.generation != generation) {
+            Bean<T> bean = store.<Bean<T>, T>getContextual(id);
+            if (bean == null) {
+                throw BeanLogger.LOG.contextualNotFound(id);
+            }
+            resolved = new ResolvedBean<T>(bean, generation);
+            this.resolved = resolved;
+        }
+        return resolved.bean;
+    }
+
+    private BeanManagerImpl getManager() {
+        BeanManagerImpl manager = this.manager;
+        if (manager == null) {
+            manager = Container.instance(contextId).deploymentManager();
+            this.manager = manager;
+        }
+        return manager;
+    }
+
     public Class<T> getInstanceType() {
         return cast(instanceType);
     }
 
+    private static class ResolvedBean<T> {
+
+        private final Bean<T> bean;
+        private final int generation;
+
+        private ResolvedBean(Bean<T> bean, int generation) {
+            this.bean = bean;
+            this.generation = generation;
+        }
+    }
+
 }
@@ -17,11 +17,9 @@
 
 package org.jboss.weld.bean.proxy;
 
-import java.security.AccessController;
-import java.security.PrivilegedActionException;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.Stack;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
@@ -29,10 +27,7 @@ import javax.enterprise.inject.spi.Decorator;
 import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.context.SerializableContextualInstanceImpl;
-import org.jboss.weld.exceptions.WeldException;
-import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.security.NewInstanceAction;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.util.reflection.Reflections;
 
@@ -41,14 +36,14 @@ import org.jboss.weld.util.reflection.Reflections;
  * @author Ales Justin
  */
 public class DecorationHelper<T> {
-    private static ThreadLocal<Stack<DecorationHelper<?>>> helperStackHolder = new ThreadLocal<Stack<DecorationHelper<?>>>() {
+    private static ThreadLocal<Deque<DecorationHelper<?>>> helperStackHolder = new ThreadLocal<Deque<DecorationHelper<?>>>() {
         @Override
-        protected Stack<DecorationHelper<?>> initialValue() {
-            return new Stack<DecorationHelper<?>>();
+        protected Deque<DecorationHelper<?>> initialValue() {
+            return new ArrayDeque<DecorationHelper<?>>();
         }
     };
 
-    private final Class<T> proxyClassForDecorator;
+    private final DecoratorChain<T> chain;
 
     private final TargetBeanInstance targetBeanInstance;
 
@@ -62,16 +57,17 @@ public class DecorationHelper<T> {
     private final ContextualStore contextualStore;
     private final Bean<?> bean;
 
-    List<Decorator<?>> decorators;
+    final List<Decorator<?>> decorators;
 
-    public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, Class<T> proxyClassForDecorator, BeanManagerImpl beanManager, ContextualStore contextualStore, List<Decorator<?>> decorators) {
+    public DecorationHelper(TargetBeanInstance originalInstance, DecoratorChain<T> chain, BeanManagerImpl beanManager, ContextualStore contextualStore) {
         this.originalInstance = Reflections.<T>cast(originalInstance.getInstance());
         this.targetBeanInstance = originalInstance;
         this.beanManager = beanManager;
         this.contextualStore = contextualStore;
-        this.decorators = new LinkedList<Decorator<?>>(decorators);
-        this.proxyClassForDecorator = proxyClassForDecorator;
-        this.bean = bean;
+        this.chain = chain;
+        // the chain's list is immutable and shared, no need to copy it
+        this.decorators = chain.getDecorators();
+        this.bean = chain.getBean();
         counter = 0;
     }
 
@@ -84,7 +80,7 @@ public class DecorationHelper<T> {
     }
 
     public static void pop() {
-        final Stack<DecorationHelper<?>> stack = helperStackHolder.get();
+        final Deque<DecorationHelper<?>> stack = helperStackHolder.get();
         stack.pop();
         if (stack.isEmpty()) {
             helperStackHolder.remove();
@@ -103,23 +99,13 @@ public class DecorationHelper<T> {
     }
 
     private T createProxy(InjectionPoint injectionPoint, CreationalContext<?> creationalContext) {
-        try {
-            T proxy = AccessController.doPrivileged(NewInstanceAction.of(proxyClassForDecorator));
-            TargetBeanInstance newTargetBeanInstance = new TargetBeanInstance(targetBeanInstance);
-            Decorator<Object> decorator = Reflections.cast(decorators.get(counter++));
-            DecoratorProxyMethodHandler methodHandler = createMethodHandler(injectionPoint, creationalContext, decorator);
-            newTargetBeanInstance.setInterceptorsHandler(methodHandler);
-            ProxyFactory.setBeanInstance(beanManager.getContextId(), proxy, newTargetBeanInstance, bean);
-            return proxy;
-        } catch (PrivilegedActionException e) {
-            if (e.getCause() instanceof InstantiationException) {
-                throw new WeldException(BeanLogger.LOG.proxyInstantiationFailed(this), e.getCause());
-            } else if (e.getCause() instanceof IllegalAccessException) {
-                throw new WeldException(BeanLogger.LOG.proxyInstantiationBeanAccessFailed(this), e.getCause());
-            } else {
-                throw new WeldException(e.getCause());
-            }
-        }
+        T proxy = chain.newProxyInstance();
+        TargetBeanInstance newTargetBeanInstance = new TargetBeanInstance(targetBeanInstance);
+        Decorator<Object> decorator = Reflections.cast(decorators.get(counter++));
+        DecoratorProxyMethodHandler methodHandler = createMethodHandler(injectionPoint, creationalContext, decorator);
+        newTargetBeanInstance.setInterceptorsHandler(methodHandler);
+        ProxyFactory.setBeanInstance(beanManager.getContextId(), proxy, newTargetBeanInstance, bean);
+        return proxy;
     }
 
     public DecoratorProxyMethodHandler createMethodHandler(InjectionPoint injectionPoint, CreationalContext<?> creationalContext, Decorator<Object> decorator) {
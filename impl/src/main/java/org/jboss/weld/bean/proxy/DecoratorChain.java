@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.util.List;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Decorator;
+
+import org.jboss.weld.exceptions.WeldException;
+import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.security.GetDeclaredConstructorAction;
+import org.jboss.weld.security.SetAccessibleAction;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The decorators applied to a decorated bean together with the delegate proxy class. A chain is computed once per bean (and
+ * per list of decorators) and then shared by all the {@link DecorationHelper}s created for the bean's instances.
+ * <p>
+ * The no-arg constructor of the proxy class is looked up and made accessible upfront so that creating a delegate proxy does not
+ * require a privileged action nor the access checks of {@link Class#newInstance()}.
+ *
+ * @param <T> the type of the delegate proxy
+ */
+public class DecoratorChain<T> {
+
+    private final Bean<?> bean;
+    private final Class<T> proxyClass;
+    private final Constructor<T> proxyConstructor;
+    private final List<Decorator<?>> decorators;
+
+    public DecoratorChain(Bean<?> bean, Class<T> proxyClass, List<Decorator<?>> decorators) {
+        this(bean, proxyClass, getProxyConstructor(bean, proxyClass), decorators);
+    }
+
+    private DecoratorChain(Bean<?> bean, Class<T> proxyClass, Constructor<T> proxyConstructor, List<Decorator<?>> decorators) {
+        this.bean = bean;
+        this.proxyClass = proxyClass;
+        this.proxyConstructor = proxyConstructor;
+        this.decorators = ImmutableList.copyOf(decorators);
+    }
+
+    private static <T> Constructor<T> getProxyConstructor(Bean<?> bean, Class<T> proxyClass) {
+        try {
+            Constructor<T> constructor = AccessController.doPrivileged(GetDeclaredConstructorAction.of(proxyClass));
+            return AccessController.doPrivileged(SetAccessibleAction.of(constructor));
+        } catch (PrivilegedActionException e) {
+            throw new WeldException(BeanLogger.LOG.proxyInstantiationFailed(bean), e.getCause());
+        }
+    }
+
+    /**
+     * Returns a chain which shares the proxy class of this chain but applies the given decorators.
+     */
+    public DecoratorChain<T> withDecorators(List<Decorator<?>> decorators) {
+        return new DecoratorChain<T>(bean, proxyClass, proxyConstructor, decorators);
+    }
+
+    T newProxyInstance() {
+        try {
+            return proxyConstructor.newInstance();
+        } catch (InstantiationException e) {
+            throw new WeldException(BeanLogger.LOG.proxyInstantiationFailed(bean), e);
+        } catch (IllegalAccessException e) {
+            throw new WeldException(BeanLogger.LOG.proxyInstantiationBeanAccessFailed(bean), e);
+        } catch (InvocationTargetException e) {
+            throw new WeldException(e.getCause());
+        }
+    }
+
+    public Bean<?> getBean() {
+        return bean;
+    }
+
+    public Class<T> getProxyClass() {
+        return proxyClass;
+    }
+
+    public List<Decorator<?>> getDecorators() {
+        return decorators;
+    }
+
+    @Override
+    public String toString() {
+        return "DecoratorChain for " + bean + " with decorators " + decorators;
+    }
+}
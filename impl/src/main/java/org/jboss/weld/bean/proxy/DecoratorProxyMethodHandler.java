@@ -18,7 +18,6 @@ package org.jboss.weld.bean.proxy;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.security.AccessController;
 
 import javax.enterprise.inject.spi.Decorator;
 import javax.inject.Inject;
@@ -27,7 +26,6 @@ import org.jboss.weld.annotated.runtime.InvokableAnnotatedMethod;
 import org.jboss.weld.bean.WeldDecorator;
 import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxyMethodHandler;
 import org.jboss.weld.logging.BeanLogger;
-import org.jboss.weld.security.SetAccessibleAction;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextualInstance;
 import org.jboss.weld.util.reflection.Reflections;
 
@@ -83,9 +81,7 @@ public class DecoratorProxyMethodHandler extends TargetInstanceProxyMethodHandle
                 }
             }
         }
-        if (!method.isAccessible()) {
-            AccessController.doPrivileged(SetAccessibleAction.of(method));
-        }
+        Reflections.ensureAccessible(method);
         return Reflections.invokeAndUnwrap(getTargetInstance(), method, args);
     }
 }
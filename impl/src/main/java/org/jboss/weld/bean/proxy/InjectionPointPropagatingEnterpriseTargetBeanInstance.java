@@ -22,7 +22,6 @@ import java.lang.reflect.Method;
 import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.Container;
-import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.injection.SLSBInvocationInjectionPoint;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -45,7 +44,7 @@ public class InjectionPointPropagatingEnterpriseTargetBeanInstance extends Enter
         super(baseType, methodHandler);
         this.contextId = manager.getContextId();
         this.slsbInvocationInjectionPoint = manager.getServices().get(SLSBInvocationInjectionPoint.class);
-        InjectionPoint ip = manager.getServices().get(CurrentInjectionPoint.class).peek();
+        InjectionPoint ip = manager.getCurrentInjectionPoint().peek();
         if (ip != null) {
             this.injectionPointHolder = new InjectionPointHolder(manager.getContextId(), ip);
         } else {
@@ -21,6 +21,7 @@ import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -48,9 +49,10 @@ import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.interceptor.proxy.LifecycleMixin;
 import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
 import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.security.GetDeclaredConstructorAction;
 import org.jboss.weld.security.GetDeclaredConstructorsAction;
 import org.jboss.weld.security.GetDeclaredMethodsAction;
-import org.jboss.weld.security.NewInstanceAction;
+import org.jboss.weld.security.SetAccessibleAction;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.ProxyServices;
@@ -94,6 +96,7 @@ public class ProxyFactory<T> {
     public static final String CONSTRUCTED_FLAG_NAME = "constructed";
 
     private final InstantiatorFactory instantiatorFactory;
+    private volatile Constructor<T> proxyConstructor;
 
     protected static final BytecodeMethodResolver DEFAULT_METHOD_RESOLVER = new DefaultBytecodeMethodResolver();
 
@@ -265,6 +268,7 @@ public class ProxyFactory<T> {
             throw new IllegalArgumentException(newInterface + " is not an interface");
         }
         additionalInterfaces.add(newInterface);
+        proxyConstructor = null;
     }
 
     /**
@@ -275,26 +279,39 @@ public class ProxyFactory<T> {
      */
     public T create(BeanInstance beanInstance) {
         T proxy;
-        Class<T> proxyClass = getProxyClass();
         try {
             if (instantiatorFactory != null) {
-                proxy = instantiatorFactory.getInstantiator().instantiate(proxyClass);
+                proxy = instantiatorFactory.getInstantiator().instantiate(getProxyClass());
             } else {
-                proxy = AccessController.doPrivileged(NewInstanceAction.of(proxyClass));
+                proxy = getProxyConstructor().newInstance();
             }
         } catch (PrivilegedActionException e) {
-            if (e.getCause() instanceof InstantiationException) {
-                throw new DefinitionException(BeanLogger.LOG.proxyInstantiationFailed(this), e.getCause());
-            } else if (e.getCause() instanceof IllegalAccessException) {
-                throw new DefinitionException(BeanLogger.LOG.proxyInstantiationBeanAccessFailed(this), e.getCause());
-            } else {
-                throw new WeldException(e.getCause());
-            }
+            throw new DefinitionException(BeanLogger.LOG.proxyInstantiationFailed(this), e.getCause());
+        } catch (InstantiationException e) {
+            throw new DefinitionException(BeanLogger.LOG.proxyInstantiationFailed(this), e);
+        } catch (IllegalAccessException e) {
+            throw new DefinitionException(BeanLogger.LOG.proxyInstantiationBeanAccessFailed(this), e);
+        } catch (InvocationTargetException e) {
+            throw new WeldException(e.getCause());
         }
         ((ProxyObject) proxy).setHandler(new ProxyMethodHandler(contextId, beanInstance, bean));
         return proxy;
     }
 
+    /**
+     * The no-arg constructor of the proxy class is looked up and made accessible once. Creating further proxies then neither
+     * requires a privileged action nor the access checks of {@link Class#newInstance()}.
+     */
+    private Constructor<T> getProxyConstructor() throws PrivilegedActionException {
+        Constructor<T> constructor = proxyConstructor;
+        if (constructor == null) {
+            constructor = AccessController.doPrivileged(GetDeclaredConstructorAction.of(getProxyClass()));
+            constructor = AccessController.doPrivileged(SetAccessibleAction.of(constructor));
+            proxyConstructor = constructor;
+        }
+        return constructor;
+    }
+
     /**
      * Produces or returns the existing proxy class. The operation is thread-safe.
      *
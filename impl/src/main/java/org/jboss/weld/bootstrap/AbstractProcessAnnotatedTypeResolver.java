@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+
+import org.jboss.weld.bootstrap.api.helpers.AbstractBootstrapService;
+import org.jboss.weld.event.ExtensionObserverMethodImpl;
+import org.jboss.weld.util.Types;
+import org.jboss.weld.util.reflection.Reflections;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Sets;
+
+/**
+ * Analyzes the {@link ProcessAnnotatedType} observer methods of portable extensions once so that the observer methods of a discovered
+ * class may be resolved by matching the class against a precomputed predicate per observer method, instead of going through the
+ * default observer resolution.
+ *
+ * If an observer method cannot be represented by a predicate, the constructor throws {@link UnsupportedObserverMethodException}. This
+ * exception is expected to be caught by the deployer and observer method resolution using the default resolver is performed instead.
+ *
+ * @author Jozef Hartinger
+ *
+ * @param <I> the representation of a discovered class the predicates are evaluated against
+ */
+public abstract class AbstractProcessAnnotatedTypeResolver<I> extends AbstractBootstrapService {
+
+    private final Set<ExtensionObserverMethodImpl<?, ?>> catchAllObservers;
+    private final Map<ExtensionObserverMethodImpl<?, ?>, Predicate<I>> observers;
+
+    protected AbstractProcessAnnotatedTypeResolver(Iterable<ObserverMethod<?>> observers) throws UnsupportedObserverMethodException {
+        this.catchAllObservers = Sets.newHashSet();
+        this.observers = new LinkedHashMap<ExtensionObserverMethodImpl<?, ?>, Predicate<I>>();
+        for (ObserverMethod<?> o : observers) {
+            if (o instanceof ExtensionObserverMethodImpl<?, ?>) {
+                process((ExtensionObserverMethodImpl<?, ?>) o, o.getObservedType());
+            }
+        }
+    }
+
+    /**
+     * Returns a predicate which matches the given class only.
+     */
+    protected abstract Predicate<I> exactType(Class<?> type);
+
+    /**
+     * Returns a predicate which matches the classes assignable to all the given types.
+     */
+    protected abstract Predicate<I> assignableTo(Class<?>... types);
+
+    /**
+     * @return the observer methods which observe {@link ProcessAnnotatedType} for every class
+     */
+    protected Set<ExtensionObserverMethodImpl<?, ?>> getCatchAllObservers() {
+        return catchAllObservers;
+    }
+
+    /**
+     * @return the observer methods which observe {@link ProcessAnnotatedType} for a subset of classes together with the predicates
+     *         matching the subsets
+     */
+    protected Map<ExtensionObserverMethodImpl<?, ?>, Predicate<I>> getObservers() {
+        return observers;
+    }
+
+    private void process(ExtensionObserverMethodImpl<?, ?> observer, Type observedType) throws UnsupportedObserverMethodException {
+        if (Object.class.equals(observedType)) {
+            // void observe(Object event)
+            catchAllObservers.add(observer);
+        } else if (ProcessAnnotatedType.class.equals(observedType)) {
+            // void observe(ProcessAnnotatedType event)
+            catchAllObservers.add(observer);
+        } else if (observedType instanceof ParameterizedType) {
+            ParameterizedType type = (ParameterizedType) observedType;
+            if (ProcessAnnotatedType.class.equals(type.getRawType())) {
+                Type typeParameter = type.getActualTypeArguments()[0];
+                if (typeParameter instanceof Class<?>) {
+                    this.observers.put(observer, exactType(Reflections.getRawType(typeParameter)));
+                } else if (typeParameter instanceof ParameterizedType) {
+                    // void observe(ProcessAnnotatedType<Iterable<?>> event)
+                    ParameterizedType parameterizedType = (ParameterizedType) typeParameter;
+                    for (Type t : parameterizedType.getActualTypeArguments()) {
+                        if (!Reflections.isUnboundedTypeVariable(t) && !Reflections.isUnboundedWildcard(t)) {
+                            return; // skip - this observer would never be invoked per spec
+                        }
+                        this.observers.put(observer, exactType(Reflections.getRawType(typeParameter)));
+                    }
+                } else if (typeParameter instanceof WildcardType) {
+                    // void observe(ProcessAnnotatedType<?> event)
+                    WildcardType wildCard = (WildcardType) typeParameter;
+                    checkBounds(observer, wildCard.getUpperBounds());
+                    this.observers.put(observer, assignableTo(Types.getRawTypes(wildCard.getUpperBounds())));
+                } else if (typeParameter instanceof TypeVariable<?>) {
+                    // <T> void observe(ProcessAnnotatedType<T> event)
+                    TypeVariable<?> variable = (TypeVariable<?>) typeParameter;
+                    checkBounds(observer, variable.getBounds());
+                    this.observers.put(observer, assignableTo(Types.getRawTypes(variable.getBounds())));
+                }
+            }
+        } else if (observedType instanceof TypeVariable<?>) {
+            defaultRules(observer, observedType);
+        }
+    }
+
+    private void checkBounds(ExtensionObserverMethodImpl<?, ?> observer, Type[] bounds) throws UnsupportedObserverMethodException {
+        for (Type type : bounds) {
+            if (!(type instanceof Class<?>)) {
+                throw new UnsupportedObserverMethodException(observer);
+            }
+        }
+    }
+
+    private void defaultRules(ExtensionObserverMethodImpl<?, ?> observer, Type observedType) throws UnsupportedObserverMethodException {
+        if (ProcessAnnotatedType.class.equals(observedType)) {
+            catchAllObservers.add(observer);
+        } else if (observedType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) observedType;
+            if (ProcessAnnotatedType.class.equals(parameterizedType.getRawType())) {
+                Type argument = parameterizedType.getActualTypeArguments()[0];
+                if (argument instanceof Class<?>) {
+                    this.observers.put(observer, assignableTo(Reflections.getRawType(argument)));
+                } else {
+                    throw new UnsupportedObserverMethodException(observer);
+                }
+            }
+        } else if (observedType instanceof TypeVariable) {
+            final TypeVariable<?> typeVariable = (TypeVariable<?>) observedType;
+            if (Reflections.isUnboundedTypeVariable(observedType)) {
+                // <T> void observe(T event)
+                catchAllObservers.add(observer);
+            } else {
+                if (typeVariable.getBounds().length == 1) { // here we expect that a PAT impl only implements the PAT interface
+                    defaultRules(observer, typeVariable.getBounds()[0]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void cleanupAfterBoot() {
+        catchAllObservers.clear();
+        observers.clear();
+    }
+}
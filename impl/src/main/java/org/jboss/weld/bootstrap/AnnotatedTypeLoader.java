@@ -40,12 +40,22 @@ public class AnnotatedTypeLoader {
     final ClassTransformer classTransformer;
     final MissingDependenciesRegistry missingDependenciesRegistry;
     final ContainerLifecycleEvents containerLifecycleEvents;
+    final ReflectionProcessAnnotatedTypeResolver resolver;
 
     public AnnotatedTypeLoader(BeanManagerImpl manager, ClassTransformer transformer, ContainerLifecycleEvents containerLifecycleEvents) {
+        this(manager, transformer, containerLifecycleEvents, null);
+    }
+
+    /**
+     * @param resolver the resolver of ProcessAnnotatedType observer methods, may be null
+     */
+    public AnnotatedTypeLoader(BeanManagerImpl manager, ClassTransformer transformer, ContainerLifecycleEvents containerLifecycleEvents,
+            ReflectionProcessAnnotatedTypeResolver resolver) {
         this.resourceLoader = manager.getServices().get(ResourceLoader.class);
         this.classTransformer = transformer;
         this.missingDependenciesRegistry = manager.getServices().get(MissingDependenciesRegistry.class);
         this.containerLifecycleEvents = containerLifecycleEvents;
+        this.resolver = resolver;
     }
 
     /**
@@ -89,6 +99,10 @@ public class AnnotatedTypeLoader {
 
     protected <T> SlimAnnotatedTypeContext<T> createContext(SlimAnnotatedType<T> type) {
         if (type != null) {
+            if (resolver != null && containerLifecycleEvents.isProcessAnnotatedTypeObserved()) {
+                // resolve the PAT observers upfront so that the event is not fired at all if there are none
+                return SlimAnnotatedTypeContext.of(type, null, resolver.resolveProcessAnnotatedTypeObservers(type.getJavaClass()), classTransformer);
+            }
             return SlimAnnotatedTypeContext.of(type, classTransformer);
         }
         return null;
@@ -0,0 +1,395 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.annotated.slim.SlimAnnotatedType;
+import org.jboss.weld.annotated.slim.SlimAnnotatedTypeContext;
+import org.jboss.weld.bean.AbstractClassBean;
+import org.jboss.weld.bean.AbstractProducerBean;
+import org.jboss.weld.bean.ManagedBean;
+import org.jboss.weld.bean.NewBean;
+import org.jboss.weld.bean.ProducerMethod;
+import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.ejb.EjbDescriptors;
+import org.jboss.weld.ejb.InternalEjbDescriptor;
+import org.jboss.weld.event.ObserverMethodImpl;
+import org.jboss.weld.exceptions.DeploymentException;
+import org.jboss.weld.interceptor.spi.model.InterceptionModel;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Redeploys a single bean archive of an initialized container without rebooting the container.
+ * <p>
+ * The archive is rescanned and a class is considered changed if it was added or removed, or if the resource loader of the
+ * archive now returns a different {@link Class} than the one loaded when the archive was deployed (i.e. the class was reloaded by
+ * a new class loader). All the classes loaded from the archive are compared, including decorators, interceptors, vetoed classes
+ * and classes which do not define a bean. Only the managed beans of the changed classes are replaced, together with their
+ * producers, observer methods and &#064;New beans. Container lifecycle events are fired for the changed types and beans only.
+ * <p>
+ * The instances of the replaced beans are destroyed in the active contexts while the rest of the application state is kept. Client
+ * proxies already injected into other beans resolve their bean again once beans were replaced, so that they no longer create
+ * instances of a replaced bean.
+ * The new beans are then validated together with the injection points of the other beans which may resolve to a removed or an
+ * added bean. If this fails, the previous beans are restored.
+ * <p>
+ * Session beans and beans of types added by extensions are left untouched. An archive cannot be redeployed incrementally if a
+ * changed class is a decorator or an interceptor or takes part in specialization. {@link javax.enterprise.inject.spi.AfterBeanDiscovery}
+ * and {@link javax.enterprise.inject.spi.AfterDeploymentValidation} are not fired again.
+ * <p>
+ * The beans are not swapped atomically, the application must not be used during a redeployment.
+ */
+class BeanArchiveRedeployment {
+
+    private final BeanDeployment beanDeployment;
+    private final Collection<BeanDeployment> beanDeployments;
+    private final BeanManagerImpl manager;
+    private final BeanDeployer deployer;
+    private final List<SlimAnnotatedTypeContext<?>> scannedTypes;
+
+    BeanArchiveRedeployment(BeanDeployment beanDeployment, Collection<BeanDeployment> beanDeployments) {
+        this.beanDeployment = beanDeployment;
+        this.beanDeployments = beanDeployments;
+        this.manager = beanDeployment.getBeanManager();
+        this.deployer = new BeanDeployer(manager, new EjbDescriptors(), manager.getServices());
+        this.scannedTypes = new ArrayList<SlimAnnotatedTypeContext<?>>();
+    }
+
+    void redeploy() {
+        SpecializationAndEnablementRegistry registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
+        // the registry is cleaned up after bootstrap but needs to know all the managers to tell whether an alternative is enabled
+        for (BeanDeployment deployment : beanDeployments) {
+            BeanDeployerEnvironment environment = deployment == beanDeployment ? deployer.getEnvironment() : deployment.getBeanDeployer().getEnvironment();
+            registry.registerEnvironment(deployment.getBeanManager(), environment, true);
+        }
+        try {
+            doRedeploy();
+        } finally {
+            deployer.cleanup();
+            manager.getInterceptorMetadataReader().cleanAfterBoot();
+            manager.getServices().cleanupAfterBoot();
+        }
+    }
+
+    private void doRedeploy() {
+        BeanDeployerEnvironment environment = deployer.getEnvironment();
+        Set<String> changedClasses = scanChangedClasses();
+        if (changedClasses.isEmpty()) {
+            BootstrapLogger.LOG.beanArchiveRedeployed(beanDeployment.getBeanDeploymentArchive(), 0, 0);
+            return;
+        }
+        checkSpecializedClasses(changedClasses);
+        checkDecoratorAndInterceptorClasses(changedClasses);
+
+        deployer.processAnnotatedTypes();
+        deployer.registerAnnotatedTypes();
+        deployer.createClassBeans();
+        if (!environment.getDecorators().isEmpty()) {
+            throw BootstrapLogger.LOG.beanArchiveRedeploymentNotSupported(beanDeployment.getBeanDeploymentArchive(),
+                    environment.getDecorators().iterator().next().getBeanClass());
+        }
+        if (!environment.getInterceptors().isEmpty()) {
+            throw BootstrapLogger.LOG.beanArchiveRedeploymentNotSupported(beanDeployment.getBeanDeploymentArchive(),
+                    environment.getInterceptors().iterator().next().getBeanClass());
+        }
+        deployer.processClassBeanAttributes();
+        deployer.createProducersAndObservers();
+        deployer.processProducerAttributes();
+        deployer.createNewBeans();
+
+        // find the beans replaced by the new ones
+        List<Bean<?>> oldBeans = new ArrayList<Bean<?>>();
+        Set<Bean<?>> oldClassBeans = Collections.newSetFromMap(new IdentityHashMap<Bean<?>, Boolean>());
+        Set<Class<?>> retainedNewBeanClasses = new HashSet<Class<?>>();
+        for (Bean<?> bean : manager.getBeans()) {
+            if (bean instanceof ManagedBean<?> && changedClasses.contains(bean.getBeanClass().getName())
+                    && (bean instanceof NewBean || isScannedManagedBean(bean))) {
+                oldBeans.add(bean);
+                oldClassBeans.add(bean);
+            } else if (bean instanceof NewBean) {
+                retainedNewBeanClasses.add(bean.getBeanClass());
+            }
+        }
+        for (Bean<?> bean : manager.getBeans()) {
+            if (bean instanceof AbstractProducerBean<?, ?, ?> && oldClassBeans.contains(((AbstractProducerBean<?, ?, ?>) bean).getDeclaringBean())) {
+                oldBeans.add(bean);
+            }
+        }
+        List<ObserverMethod<?>> oldObservers = new ArrayList<ObserverMethod<?>>();
+        for (ObserverMethod<?> observer : manager.getObservers()) {
+            if (observer instanceof ObserverMethodImpl<?, ?> && oldClassBeans.contains(((ObserverMethodImpl<?, ?>) observer).getDeclaringBean())) {
+                oldObservers.add(observer);
+            }
+        }
+        for (RIBean<?> bean : new ArrayList<RIBean<?>>(environment.getBeans())) {
+            if (bean instanceof NewBean && retainedNewBeanClasses.contains(bean.getBeanClass())) {
+                // the @New bean of an unchanged class is still deployed
+                environment.vetoBean((AbstractClassBean<?>) bean);
+            } else if ((bean instanceof AbstractClassBean<?> && ((AbstractClassBean<?>) bean).isSpecializing())
+                    || (bean instanceof ProducerMethod<?, ?> && ((ProducerMethod<?, ?>) bean).isSpecializing())) {
+                throw BootstrapLogger.LOG.beanArchiveRedeploymentNotSupported(beanDeployment.getBeanDeploymentArchive(), bean);
+            }
+        }
+
+        Map<SlimAnnotatedType<?>, InterceptionModel> oldInterceptionModels = null;
+        List<Bean<?>> newBeans = new ArrayList<Bean<?>>();
+        try {
+            destroyInstances(oldBeans);
+            oldInterceptionModels = removeInterceptionModels(oldClassBeans);
+            manager.removeObservers(oldObservers);
+            manager.removeBeans(oldBeans);
+            deployer.initializeBeans();
+            deployer.fireBeanEvents();
+            deployer.deployBeans();
+            deployer.initializeObserverMethods();
+            deployer.deployObserverMethods();
+            manager.clearObserverResolvers();
+            newBeans.addAll(environment.getBeans());
+            deployer.doAfterBeanDiscovery(newBeans);
+            validate(oldBeans, newBeans);
+        } catch (RuntimeException e) {
+            if (oldInterceptionModels != null) {
+                // the previous beans were removed already
+                rollback(oldBeans, oldObservers, oldInterceptionModels);
+            }
+            throw e;
+        }
+
+        manager.getClientProxyProvider().clear();
+        for (Bean<?> bean : newBeans) {
+            ((RIBean<?>) bean).cleanupAfterBoot();
+        }
+        rebuildBeanIdentifierIndex();
+        beanDeployment.setLoadedClasses(scannedTypes);
+        BootstrapLogger.LOG.beanArchiveRedeployed(beanDeployment.getBeanDeploymentArchive(), oldBeans.size(), newBeans.size());
+    }
+
+    /**
+     * Loads the classes of the archive and keeps the types of the changed classes only.
+     *
+     * @return the names of the changed classes
+     */
+    private Set<String> scanChangedClasses() {
+        Map<String, Class<?>> deployedClasses = beanDeployment.getLoadedClasses();
+        Set<String> ejbClasses = new HashSet<String>();
+        EjbDescriptors ejbDescriptors = beanDeployment.getBeanDeploymentArchive().getServices().get(EjbDescriptors.class);
+        if (ejbDescriptors != null) {
+            for (InternalEjbDescriptor<?> descriptor : ejbDescriptors) {
+                ejbClasses.add(descriptor.getBeanClass().getName());
+            }
+        }
+
+        deployer.addClasses(beanDeployment.obtainClasses());
+        Set<String> changedClasses = new HashSet<String>();
+        Set<String> scannedClasses = new HashSet<String>();
+        List<SlimAnnotatedTypeContext<?>> unchangedTypes = new ArrayList<SlimAnnotatedTypeContext<?>>();
+        scannedTypes.addAll(deployer.getEnvironment().getAnnotatedTypes());
+        for (SlimAnnotatedTypeContext<?> annotatedTypeContext : scannedTypes) {
+            Class<?> javaClass = annotatedTypeContext.getAnnotatedType().getJavaClass();
+            scannedClasses.add(javaClass.getName());
+            if (ejbClasses.contains(javaClass.getName()) || javaClass.equals(deployedClasses.get(javaClass.getName()))) {
+                unchangedTypes.add(annotatedTypeContext);
+            } else {
+                changedClasses.add(javaClass.getName());
+            }
+        }
+        deployer.getEnvironment().removeAnnotatedTypes(unchangedTypes);
+        for (String className : deployedClasses.keySet()) {
+            if (!scannedClasses.contains(className)) {
+                changedClasses.add(className);
+            }
+        }
+        return changedClasses;
+    }
+
+    /**
+     * Beans of types added by extensions are not replaced.
+     */
+    private static boolean isScannedManagedBean(Bean<?> bean) {
+        return bean instanceof ManagedBean<?> && !(bean instanceof NewBean)
+                && ((ManagedBean<?>) bean).getAnnotated().getIdentifier().getSuffix() == null;
+    }
+
+    /**
+     * Specialization is resolved once during bootstrap and cannot be resolved again for a single archive.
+     */
+    private void checkSpecializedClasses(Set<String> changedClasses) {
+        for (BeanDeployment deployment : beanDeployments) {
+            for (Bean<?> bean : deployment.getBeanManager().getBeans()) {
+                if (bean instanceof AbstractClassBean<?> && ((AbstractClassBean<?>) bean).isSpecializing()) {
+                    Class<?> specializedClass = bean.getBeanClass().getSuperclass();
+                    if (changedClasses.contains(bean.getBeanClass().getName()) || changedClasses.contains(specializedClass.getName())) {
+                        throw BootstrapLogger.LOG.beanArchiveRedeploymentNotSupported(beanDeployment.getBeanDeploymentArchive(), specializedClass);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Decorators and interceptors are resolved for all the beans of the container, they cannot be replaced or removed.
+     */
+    private void checkDecoratorAndInterceptorClasses(Set<String> changedClasses) {
+        List<Bean<?>> beans = new ArrayList<Bean<?>>(manager.getDecorators());
+        beans.addAll(manager.getInterceptors());
+        for (Bean<?> bean : beans) {
+            if (changedClasses.contains(bean.getBeanClass().getName())) {
+                throw BootstrapLogger.LOG.beanArchiveRedeploymentNotSupported(beanDeployment.getBeanDeploymentArchive(), bean.getBeanClass());
+            }
+        }
+    }
+
+    private void destroyInstances(Collection<Bean<?>> beans) {
+        for (Bean<?> bean : beans) {
+            Class<? extends Annotation> scope = bean.getScope();
+            if (!Dependent.class.equals(scope) && manager.isContextActive(scope)) {
+                Context context = manager.getUnwrappedContext(scope);
+                if (context instanceof AlterableContext) {
+                    ((AlterableContext) context).destroy(bean);
+                }
+            }
+        }
+    }
+
+    /**
+     * A replacement has an annotated type equal to the one of the bean it replaces, the interception model of the replaced bean
+     * would therefore be reused.
+     */
+    private Map<SlimAnnotatedType<?>, InterceptionModel> removeInterceptionModels(Collection<Bean<?>> classBeans) {
+        Map<SlimAnnotatedType<?>, InterceptionModel> models = new HashMap<SlimAnnotatedType<?>, InterceptionModel>();
+        for (Bean<?> bean : classBeans) {
+            SlimAnnotatedType<?> annotatedType = ((AbstractClassBean<?>) bean).getAnnotated();
+            InterceptionModel model = manager.getInterceptorModelRegistry().remove(annotatedType);
+            if (model != null) {
+                models.put(annotatedType, model);
+            }
+        }
+        return models;
+    }
+
+    /**
+     * Validates the new beans and the injection points of the other beans whose resolution may have changed. Injection points are
+     * matched against the removed and added beans by raw type, which over-approximates the injection points actually affected.
+     */
+    private void validate(List<Bean<?>> oldBeans, List<Bean<?>> newBeans) {
+        Validator validator = manager.getServices().get(Validator.class);
+        validator.validateBeans(newBeans, manager);
+        validator.validateObserverMethods(deployer.getEnvironment().getObservers(), manager);
+        validator.validateBeanNames(manager);
+
+        Set<Class<?>> rawTypes = new HashSet<Class<?>>();
+        addRawTypes(oldBeans, rawTypes);
+        addRawTypes(newBeans, rawTypes);
+        Set<Bean<?>> validatedBeans = Collections.newSetFromMap(new IdentityHashMap<Bean<?>, Boolean>());
+        validatedBeans.addAll(newBeans);
+        List<RuntimeException> problems = new ArrayList<RuntimeException>();
+        for (BeanDeployment deployment : beanDeployments) {
+            BeanManagerImpl beanManager = deployment.getBeanManager();
+            if (beanManager != manager && !beanManager.getAccessibleManagers().contains(manager)) {
+                continue;
+            }
+            for (Bean<?> bean : beanManager.getBeans()) {
+                if (validatedBeans.contains(bean)) {
+                    continue;
+                }
+                for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+                    if (rawTypes.contains(Reflections.getRawType(injectionPoint.getType()))) {
+                        try {
+                            validator.validateInjectionPoint(injectionPoint, beanManager);
+                        } catch (RuntimeException e) {
+                            problems.add(e);
+                        }
+                    }
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            if (problems.size() == 1) {
+                throw problems.get(0);
+            } else {
+                throw new DeploymentException(problems);
+            }
+        }
+    }
+
+    private static void addRawTypes(Collection<Bean<?>> beans, Set<Class<?>> rawTypes) {
+        for (Bean<?> bean : beans) {
+            for (Type type : bean.getTypes()) {
+                Class<?> rawType = Reflections.getRawType(type);
+                if (rawType != null && !Object.class.equals(rawType)) {
+                    rawTypes.add(rawType);
+                }
+            }
+        }
+    }
+
+    private void rollback(List<Bean<?>> oldBeans, List<ObserverMethod<?>> oldObservers, Map<SlimAnnotatedType<?>, InterceptionModel> oldInterceptionModels) {
+        List<ObserverMethod<?>> newObservers = new ArrayList<ObserverMethod<?>>();
+        for (ObserverInitializationContext<?, ?> observerInitializer : deployer.getEnvironment().getObservers()) {
+            newObservers.add(observerInitializer.getObserver());
+        }
+        List<Bean<?>> newBeans = new ArrayList<Bean<?>>(deployer.getEnvironment().getBeans());
+        destroyInstances(newBeans);
+        manager.removeObservers(newObservers);
+        manager.removeBeans(newBeans);
+        for (Bean<?> bean : newBeans) {
+            if (bean instanceof AbstractClassBean<?>) {
+                manager.getInterceptorModelRegistry().remove(((AbstractClassBean<?>) bean).getAnnotated());
+            }
+        }
+        manager.getInterceptorModelRegistry().putAll(oldInterceptionModels);
+        manager.addBeans(oldBeans);
+        manager.addObservers(oldObservers);
+        manager.clearObserverResolvers();
+        manager.getClientProxyProvider().clear();
+    }
+
+    private void rebuildBeanIdentifierIndex() {
+        BeanIdentifierIndex beanIdentifierIndex = manager.getServices().get(BeanIdentifierIndex.class);
+        if (beanIdentifierIndex != null) {
+            List<Bean<?>> beans = new ArrayList<Bean<?>>();
+            for (BeanDeployment deployment : beanDeployments) {
+                BeanManagerImpl beanManager = deployment.getBeanManager();
+                beans.addAll(beanManager.getBeans());
+                beans.addAll(beanManager.getDecorators());
+                beans.addAll(beanManager.getInterceptors());
+            }
+            beanIdentifierIndex.build(beans);
+        }
+    }
+}
@@ -146,7 +146,9 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
             }
         }
         // if FastProcessAnnotatedTypeResolver is not available, fall back to AnnotatedTypeLoader
-        return new AnnotatedTypeLoader(getManager(), classTransformer, containerLifecycleEvents);
+        final ReflectionProcessAnnotatedTypeResolver resolver = Container.instance(getManager()).deploymentManager().getServices()
+                .get(ReflectionProcessAnnotatedTypeResolver.class);
+        return new AnnotatedTypeLoader(getManager(), classTransformer, containerLifecycleEvents, resolver);
     }
 
     public void processAnnotatedTypes() {
@@ -23,9 +23,12 @@ import static java.util.Collections.emptyList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.enterprise.context.spi.Context;
 
+import org.jboss.weld.annotated.slim.SlimAnnotatedTypeContext;
 import org.jboss.weld.bean.builtin.BeanManagerBean;
 import org.jboss.weld.bean.builtin.BeanManagerImplBean;
 import org.jboss.weld.bean.builtin.BeanMetadataBean;
@@ -93,6 +96,11 @@ public class BeanDeployment {
     private final BeanManagerImpl beanManager;
     private final BeanDeployer beanDeployer;
     private final Collection<ContextHolder<? extends Context>> contexts;
+    /*
+     * The classes loaded from the archive, including vetoed classes and classes which do not define a bean. A redeployment
+     * compares them with the classes it loads to find the changed ones.
+     */
+    private volatile Map<String, Class<?>> loadedClasses = Collections.emptyMap();
 
     public BeanDeployment(BeanDeploymentArchive beanDeploymentArchive, BeanManagerImpl deploymentManager, ServiceRegistry deploymentServices, Collection<ContextHolder<? extends Context>> contexts) {
         this(beanDeploymentArchive, deploymentManager, deploymentServices, contexts, false);
@@ -207,6 +215,25 @@ public class BeanDeployment {
 
     public void createClasses() {
         beanDeployer.addClasses(obtainClasses());
+        setLoadedClasses(beanDeployer.getEnvironment().getAnnotatedTypes());
+    }
+
+    Map<String, Class<?>> getLoadedClasses() {
+        return loadedClasses;
+    }
+
+    /**
+     * Remembers the classes of the given types which were loaded from the archive, types added by extensions are ignored.
+     */
+    void setLoadedClasses(Collection<SlimAnnotatedTypeContext<?>> annotatedTypes) {
+        Map<String, Class<?>> classes = new HashMap<String, Class<?>>();
+        for (SlimAnnotatedTypeContext<?> annotatedTypeContext : annotatedTypes) {
+            if (annotatedTypeContext.getExtension() == null) {
+                Class<?> javaClass = annotatedTypeContext.getAnnotatedType().getJavaClass();
+                classes.put(javaClass.getName(), javaClass);
+            }
+        }
+        this.loadedClasses = WeldCollections.immutableMap(classes);
     }
 
     /**
@@ -17,28 +17,18 @@
 package org.jboss.weld.bootstrap;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
-import java.lang.reflect.WildcardType;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.ObserverMethod;
-import javax.enterprise.inject.spi.ProcessAnnotatedType;
 
-import org.jboss.weld.bootstrap.api.helpers.AbstractBootstrapService;
 import org.jboss.weld.event.ExtensionObserverMethodImpl;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
 import org.jboss.weld.resources.spi.ClassFileInfo;
 import org.jboss.weld.resources.spi.ClassFileServices;
-import org.jboss.weld.util.Types;
-import org.jboss.weld.util.reflection.Reflections;
 
 import com.google.common.base.Predicate;
-import com.google.common.collect.Sets;
 
 /**
  * ProcessAnnotatedType observer method resolver. It uses {@link ClassFileServices} for resolution and thus entirely avoids loading the classes which speeds up
@@ -52,7 +42,7 @@ import com.google.common.collect.Sets;
  * @author Jozef Hartinger
  *
  */
-public class FastProcessAnnotatedTypeResolver extends AbstractBootstrapService {
+public class FastProcessAnnotatedTypeResolver extends AbstractProcessAnnotatedTypeResolver<ClassFileInfo> {
 
     private static class ExactTypePredicate implements Predicate<ClassFileInfo> {
         private final Class<?> type;
@@ -110,92 +100,24 @@ public class FastProcessAnnotatedTypeResolver extends AbstractBootstrapService {
     }
 
     private final ClassFileServices classFileInfoServices;
-    private final Set<ExtensionObserverMethodImpl<?, ?>> catchAllObservers;
-    private final Map<ExtensionObserverMethodImpl<?, ?>, Predicate<ClassFileInfo>> observers;
 
     public FastProcessAnnotatedTypeResolver(ClassFileServices classFileInfoServices, Iterable<ObserverMethod<?>> observers)
             throws UnsupportedObserverMethodException {
+        super(observers);
         this.classFileInfoServices = classFileInfoServices;
-        this.catchAllObservers = Sets.newHashSet();
-        this.observers = new LinkedHashMap<ExtensionObserverMethodImpl<?, ?>, Predicate<ClassFileInfo>>();
-        for (ObserverMethod<?> o : observers) {
-            if (o instanceof ExtensionObserverMethodImpl<?, ?>) {
-                process((ExtensionObserverMethodImpl<?, ?>) o, o.getObservedType());
-            }
-        }
     }
 
-    private void process(ExtensionObserverMethodImpl<?, ?> observer, Type observedType) throws UnsupportedObserverMethodException {
-        if (Object.class.equals(observedType)) {
-            // void observe(Object event)
-            catchAllObservers.add(observer);
-        } else if (ProcessAnnotatedType.class.equals(observedType)) {
-            // void observe(ProcessAnnotatedType event)
-            catchAllObservers.add(observer);
-        } else if (observedType instanceof ParameterizedType) {
-            ParameterizedType type = (ParameterizedType) observedType;
-            if (ProcessAnnotatedType.class.equals(type.getRawType())) {
-                Type typeParameter = type.getActualTypeArguments()[0];
-                if (typeParameter instanceof Class<?>) {
-                    this.observers.put(observer, new ExactTypePredicate(Reflections.getRawType(typeParameter)));
-                } else if (typeParameter instanceof ParameterizedType) {
-                    // void observe(ProcessAnnotatedType<Iterable<?>> event)
-                    ParameterizedType parameterizedType = (ParameterizedType) typeParameter;
-                    for (Type t : parameterizedType.getActualTypeArguments()) {
-                        if (!Reflections.isUnboundedTypeVariable(t) && !Reflections.isUnboundedWildcard(t)) {
-                            return; // skip - this observer would never be invoked per spec
-                        }
-                        this.observers.put(observer, new ExactTypePredicate(Reflections.getRawType(typeParameter)));
-                    }
-                } else if (typeParameter instanceof WildcardType) {
-                    // void observe(ProcessAnnotatedType<?> event)
-                    WildcardType wildCard = (WildcardType) typeParameter;
-                    checkBounds(observer, wildCard.getUpperBounds());
-                    this.observers.put(observer, CompositePredicate.assignable(Types.getRawTypes(wildCard.getUpperBounds())));
-                } else if (typeParameter instanceof TypeVariable<?>) {
-                    // <T> void observe(ProcessAnnotatedType<T> event)
-                    TypeVariable<?> variable = (TypeVariable<?>) typeParameter;
-                    checkBounds(observer, variable.getBounds());
-                    this.observers.put(observer, CompositePredicate.assignable(Types.getRawTypes(variable.getBounds())));
-                }
-            }
-        } else if (observedType instanceof TypeVariable<?>) {
-            defaultRules(observer, observedType);
-        }
-    }
-
-    private void checkBounds(ExtensionObserverMethodImpl<?, ?> observer, Type[] bounds) throws UnsupportedObserverMethodException {
-        for (Type type : bounds) {
-            if (!(type instanceof Class<?>)) {
-                throw new UnsupportedObserverMethodException(observer);
-            }
-        }
+    @Override
+    protected Predicate<ClassFileInfo> exactType(Class<?> type) {
+        return new ExactTypePredicate(type);
     }
 
-    private void defaultRules(ExtensionObserverMethodImpl<?, ?> observer, Type observedType) throws UnsupportedObserverMethodException {
-        if (ProcessAnnotatedType.class.equals(observedType)) {
-            catchAllObservers.add(observer);
-        } else if (observedType instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType) observedType;
-            if (ProcessAnnotatedType.class.equals(parameterizedType.getRawType())) {
-                Type argument = parameterizedType.getActualTypeArguments()[0];
-                if (argument instanceof Class<?>) {
-                    this.observers.put(observer, new AssignableToPredicate(Reflections.getRawType(argument)));
-                } else {
-                    throw new UnsupportedObserverMethodException(observer);
-                }
-            }
-        } else if (observedType instanceof TypeVariable) {
-            final TypeVariable<?> typeVariable = (TypeVariable<?>) observedType;
-            if (Reflections.isUnboundedTypeVariable(observedType)) {
-                // <T> void observe(T event)
-                catchAllObservers.add(observer);
-            } else {
-                if (typeVariable.getBounds().length == 1) { // here we expect that a PAT impl only implements the PAT interface
-                    defaultRules(observer, typeVariable.getBounds()[0]);
-                }
-            }
+    @Override
+    protected Predicate<ClassFileInfo> assignableTo(Class<?>... types) {
+        if (types.length == 1) {
+            return new AssignableToPredicate(types[0]);
         }
+        return CompositePredicate.assignable(types);
     }
 
     /**
@@ -207,10 +129,10 @@ public class FastProcessAnnotatedTypeResolver extends AbstractBootstrapService {
      */
     public Set<ExtensionObserverMethodImpl<?, ?>> resolveProcessAnnotatedTypeObservers(String className) {
         Set<ExtensionObserverMethodImpl<?, ?>> result = new HashSet<ExtensionObserverMethodImpl<?, ?>>();
-        result.addAll(catchAllObservers);
+        result.addAll(getCatchAllObservers());
 
         ClassFileInfo classInfo = classFileInfoServices.getClassFileInfo(className);
-        for (Map.Entry<ExtensionObserverMethodImpl<?, ?>, Predicate<ClassFileInfo>> entry : observers.entrySet()) {
+        for (Map.Entry<ExtensionObserverMethodImpl<?, ?>, Predicate<ClassFileInfo>> entry : getObservers().entrySet()) {
             ExtensionObserverMethodImpl<?, ?> observer = entry.getKey();
             if (containsRequiredAnnotation(classInfo, observer) && entry.getValue().apply(classInfo)) {
                 result.add(observer);
@@ -230,10 +152,4 @@ public class FastProcessAnnotatedTypeResolver extends AbstractBootstrapService {
         }
         return false;
     }
-
-    @Override
-    public void cleanupAfterBoot() {
-        catchAllObservers.clear();
-        observers.clear();
-    }
 }
@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.bootstrap.events.RequiredAnnotationDiscovery;
+import org.jboss.weld.event.ExtensionObserverMethodImpl;
+import org.jboss.weld.resources.spi.ClassFileServices;
+
+import com.google.common.base.Predicate;
+
+/**
+ * ProcessAnnotatedType observer method resolver used when the integrator does not provide {@link ClassFileServices}. The observer
+ * methods are resolved by matching the loaded class against precomputed predicates, which is considerably cheaper than the default
+ * observer resolution performed for every discovered class. If no observer method is resolved for a class, the ProcessAnnotatedType
+ * event is not even created.
+ *
+ * The {@link javax.enterprise.inject.spi.WithAnnotations} filters are evaluated using {@link RequiredAnnotationDiscovery} and each
+ * required annotation is only looked up once per class, no matter how many observer methods require it.
+ */
+public class ReflectionProcessAnnotatedTypeResolver extends AbstractProcessAnnotatedTypeResolver<Class<?>> {
+
+    private static class ExactTypePredicate implements Predicate<Class<?>> {
+        private final Class<?> type;
+
+        public ExactTypePredicate(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean apply(Class<?> input) {
+            return type.equals(input);
+        }
+    }
+
+    private static class AssignableToPredicate implements Predicate<Class<?>> {
+
+        private final Class<?>[] types;
+
+        public AssignableToPredicate(Class<?>[] types) {
+            this.types = types;
+        }
+
+        @Override
+        public boolean apply(Class<?> input) {
+            for (Class<?> type : types) {
+                if (!type.isAssignableFrom(input)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final RequiredAnnotationDiscovery discovery;
+
+    public ReflectionProcessAnnotatedTypeResolver(RequiredAnnotationDiscovery discovery, Iterable<ObserverMethod<?>> observers)
+            throws UnsupportedObserverMethodException {
+        super(observers);
+        this.discovery = discovery;
+    }
+
+    @Override
+    protected Predicate<Class<?>> exactType(Class<?> type) {
+        return new ExactTypePredicate(type);
+    }
+
+    @Override
+    protected Predicate<Class<?>> assignableTo(Class<?>... types) {
+        return new AssignableToPredicate(types);
+    }
+
+    /**
+     * Resolves a set of {@code ProcessAnnotatedType} observer methods for the specified class. If no observer methods are resolved, an
+     * empty set is returned.
+     *
+     * @param javaClass the specified class
+     * @return the set of resolved ProcessAnnotatedType observer methods
+     */
+    public Set<ExtensionObserverMethodImpl<?, ?>> resolveProcessAnnotatedTypeObservers(Class<?> javaClass) {
+        Set<ExtensionObserverMethodImpl<?, ?>> result = new HashSet<ExtensionObserverMethodImpl<?, ?>>();
+        result.addAll(getCatchAllObservers());
+
+        // required annotations already looked up for this class
+        Map<Class<? extends Annotation>, Boolean> containedAnnotations = null;
+        for (Map.Entry<ExtensionObserverMethodImpl<?, ?>, Predicate<Class<?>>> entry : getObservers().entrySet()) {
+            ExtensionObserverMethodImpl<?, ?> observer = entry.getKey();
+            if (result.contains(observer) || !entry.getValue().apply(javaClass)) {
+                continue;
+            }
+            if (observer.getRequiredAnnotations().isEmpty()) {
+                result.add(observer);
+                continue;
+            }
+            if (containedAnnotations == null) {
+                containedAnnotations = new HashMap<Class<? extends Annotation>, Boolean>();
+            }
+            if (containsRequiredAnnotation(javaClass, observer, containedAnnotations)) {
+                result.add(observer);
+            }
+        }
+        return result;
+    }
+
+    private boolean containsRequiredAnnotation(Class<?> javaClass, ExtensionObserverMethodImpl<?, ?> observer,
+            Map<Class<? extends Annotation>, Boolean> containedAnnotations) {
+        for (Class<? extends Annotation> annotation : observer.getRequiredAnnotations()) {
+            Boolean contained = containedAnnotations.get(annotation);
+            if (contained == null) {
+                contained = discovery.containsAnnotation(javaClass, annotation);
+                containedAnnotations.put(annotation, contained);
+            }
+            if (contained) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
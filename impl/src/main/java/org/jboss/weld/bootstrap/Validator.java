@@ -314,7 +314,7 @@ public class Validator implements Service {
         }
         boolean newBean = (bean instanceof NewManagedBean<?>) || (bean instanceof NewSessionBean<?>);
         if (!newBean) {
-            checkScopeAnnotations(ij, beanManager.getServices().get(MetaAnnotationStore.class));
+            checkScopeAnnotations(ij, beanManager.getMetaAnnotationStore());
         }
         checkFacadeInjectionPoint(ij, Instance.class);
         checkFacadeInjectionPoint(ij, Event.class);
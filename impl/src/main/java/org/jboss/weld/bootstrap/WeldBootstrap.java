@@ -31,6 +31,7 @@ import org.jboss.weld.bootstrap.spi.Deployment;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.logging.BootstrapLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.util.ServiceLoader;
 import org.jboss.weld.xml.BeansXmlParser;
 
@@ -107,6 +108,20 @@ public class WeldBootstrap implements CDI11Bootstrap {
     }
 
 
+    /**
+     * Redeploys the given bean archive once the container is initialized, without rebooting the container. The archive is
+     * rescanned and only the beans of the classes which changed are replaced.
+     *
+     * @param beanDeploymentArchive the archive to redeploy
+     * @see WeldRuntime#redeploy(BeanDeploymentArchive)
+     */
+    public synchronized void redeploy(BeanDeploymentArchive beanDeploymentArchive) {
+        if (weldRuntime == null || weldStartup != null) {
+            throw BootstrapLogger.LOG.redeployingBeanArchiveBeforeContainerInitialized();
+        }
+        weldRuntime.redeploy(beanDeploymentArchive);
+    }
+
     @Override
     public synchronized void shutdown() {
         if (weldRuntime != null) {
@@ -126,6 +141,18 @@ public class WeldBootstrap implements CDI11Bootstrap {
         return beansXmlParser.parse(urls, removeDuplicates);
     }
 
+    /**
+     * Parses and merges the given descriptors. Integrators usually parse descriptors before the container is started, the
+     * executor is therefore supplied by the integrator. Multiple descriptors are parsed concurrently using the executor.
+     *
+     * @param urls the descriptors
+     * @param removeDuplicates whether duplicate entries in different descriptors should be removed
+     * @param executor the executor to use or null if the descriptors should be parsed sequentially
+     */
+    public BeansXml parse(Iterable<URL> urls, boolean removeDuplicates, ExecutorServices executor) {
+        return beansXmlParser.parse(urls, removeDuplicates, executor);
+    }
+
     @Override
     public BeansXml parse(URL url) {
         return beansXmlParser.parse(url);
@@ -27,7 +27,9 @@ import org.jboss.weld.bootstrap.events.BeforeShutdownImpl;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.context.ApplicationContext;
 import org.jboss.weld.context.SingletonContext;
+import org.jboss.weld.logging.BootstrapLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.ResolutionProfile;
 
 /**
  * @author Pete Muir
@@ -38,6 +40,7 @@ public class WeldRuntime {
 
     private BeanManagerImpl deploymentManager;
     private ConcurrentMap<BeanDeploymentArchive, BeanManagerImpl> bdaToBeanManagerMap;
+    private BeanDeploymentArchiveMapping bdaMapping;
     private String contextId;
 
     public WeldRuntime(String contextId, BeanManagerImpl deploymentManager, ConcurrentMap<BeanDeploymentArchive, BeanManagerImpl> bdaToBeanManagerMap) {
@@ -46,11 +49,36 @@ public class WeldRuntime {
         this.bdaToBeanManagerMap = bdaToBeanManagerMap;
     }
 
+    public WeldRuntime(String contextId, BeanManagerImpl deploymentManager, BeanDeploymentArchiveMapping bdaMapping) {
+        this(contextId, deploymentManager, bdaMapping.getBdaToBeanManagerMap());
+        this.bdaMapping = bdaMapping;
+    }
+
     public BeanManagerImpl getManager(BeanDeploymentArchive beanDeploymentArchive) {
         BeanManagerImpl beanManager = bdaToBeanManagerMap.get(beanDeploymentArchive);
         return beanManager == null ? null : beanManager.getCurrent();
     }
 
+    /**
+     * Redeploys the given bean archive without rebooting the container. Only the beans of the classes which changed since the
+     * archive was deployed are replaced, see {@link BeanArchiveRedeployment} for details.
+     * <p>
+     * Redeployments are serialized. The beans are removed and deployed again in steps, the application must therefore be quiesced
+     * during a redeployment: a request in flight may otherwise fail to resolve a bean which is being replaced.
+     *
+     * @param beanDeploymentArchive the archive to redeploy
+     */
+    public synchronized void redeploy(BeanDeploymentArchive beanDeploymentArchive) {
+        if (bdaMapping == null || !Container.instance(contextId).getState().equals(ContainerState.INITIALIZED)) {
+            throw BootstrapLogger.LOG.redeployingBeanArchiveBeforeContainerInitialized();
+        }
+        BeanDeployment beanDeployment = bdaMapping.getBeanDeployment(beanDeploymentArchive);
+        if (beanDeployment == null) {
+            throw BootstrapLogger.LOG.unknownBeanArchive(beanDeploymentArchive);
+        }
+        new BeanArchiveRedeployment(beanDeployment, bdaMapping.getBeanDeployments()).redeploy();
+    }
+
     public void shutdown() {
         try {
             // First, the container must destroy all contexts.
@@ -61,6 +89,10 @@ public class WeldRuntime {
                 // Finally, the container must fire an event of type BeforeShutdown.
                 BeforeShutdownImpl.fire(deploymentManager);
             } finally {
+                ResolutionProfile resolutionProfile = deploymentManager.getServices().get(ResolutionProfile.class);
+                if (resolutionProfile != null) {
+                    resolutionProfile.write();
+                }
                 Container container = Container.instance(contextId);
                 container.setState(ContainerState.SHUTDOWN);
                 container.cleanup();
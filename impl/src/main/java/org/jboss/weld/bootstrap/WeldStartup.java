@@ -36,6 +36,7 @@ import javax.enterprise.inject.spi.Interceptor;
 import javax.inject.Singleton;
 
 import org.jboss.weld.Container;
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.ContainerState;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeStore;
 import org.jboss.weld.annotated.slim.SlimAnnotatedTypeStoreImpl;
@@ -93,6 +94,7 @@ import org.jboss.weld.context.unbound.DependentContextImpl;
 import org.jboss.weld.context.unbound.RequestContextImpl;
 import org.jboss.weld.context.unbound.SingletonContextImpl;
 import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.ejb.EJBRequestScopeActivationSupport;
 import org.jboss.weld.ejb.spi.EjbServices;
 import org.jboss.weld.event.CurrentEventMetadata;
 import org.jboss.weld.event.GlobalObserverNotifierService;
@@ -107,6 +109,8 @@ import org.jboss.weld.manager.BeanManagerLookupService;
 import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.metadata.TypeStore;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metrics.RuntimeMetrics;
+import org.jboss.weld.resolution.ResolutionProfile;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.DefaultResourceLoader;
 import org.jboss.weld.resources.MemberTransformer;
@@ -118,6 +122,7 @@ import org.jboss.weld.resources.WeldClassLoaderResourceLoader;
 import org.jboss.weld.resources.spi.ClassFileServices;
 import org.jboss.weld.resources.spi.ResourceLoader;
 import org.jboss.weld.resources.spi.ScheduledExecutorServiceFactory;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
 import org.jboss.weld.serialization.ContextualStoreImpl;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.ProxyServices;
@@ -224,7 +229,7 @@ public class WeldStartup {
 
         Container.currentId.remove();
 
-        return new WeldRuntime(contextId, deploymentManager, bdaMapping.getBdaToBeanManagerMap());
+        return new WeldRuntime(contextId, deploymentManager, bdaMapping);
     }
 
     private void setupInitialServices() {
@@ -243,6 +248,11 @@ public class WeldStartup {
     }
 
     private void addImplementationServices(ServiceRegistry services) {
+        // needs to be registered before the resolvers are created
+        String resolutionProfile = SystemPropertiesConfiguration.INSTANCE.getResolutionProfile();
+        if (resolutionProfile != null && !services.contains(ResolutionProfile.class)) {
+            services.add(ResolutionProfile.class, new ResolutionProfile(ResolutionProfile.getFile(resolutionProfile, contextId)));
+        }
         services.add(SlimAnnotatedTypeStore.class, new SlimAnnotatedTypeStoreImpl());
         if (services.get(ClassTransformer.class) == null) {
             throw new IllegalStateException(ClassTransformer.class.getSimpleName() + " not installed.");
@@ -250,11 +260,19 @@ public class WeldStartup {
         services.add(MemberTransformer.class, new MemberTransformer(services.get(ClassTransformer.class)));
         services.add(MetaAnnotationStore.class, new MetaAnnotationStore(services.get(ClassTransformer.class)));
         services.add(ContextualStore.class, new ContextualStoreImpl(contextId));
+        // needs to be registered before any component that reports runtime metrics is created
+        if (SystemPropertiesConfiguration.INSTANCE.isRuntimeMetricsEnabled() && !services.contains(RuntimeMetrics.class)) {
+            services.add(RuntimeMetrics.class, new RuntimeMetrics(services.get(ContextualStore.class)));
+        }
         services.add(CurrentInjectionPoint.class, new CurrentInjectionPoint());
         services.add(SLSBInvocationInjectionPoint.class, new SLSBInvocationInjectionPoint());
         services.add(CurrentEventMetadata.class, new CurrentEventMetadata());
         services.add(SpecializationAndEnablementRegistry.class, new SpecializationAndEnablementRegistry());
         services.add(MissingDependenciesRegistry.class, new MissingDependenciesRegistry());
+        services.add(EJBRequestScopeActivationSupport.class, new EJBRequestScopeActivationSupport());
+        if (SystemPropertiesConfiguration.INSTANCE.isBeanIdentifierIndexEnabled() && !services.contains(BeanIdentifierIndex.class)) {
+            services.add(BeanIdentifierIndex.class, new BeanIdentifierIndex());
+        }
 
         GlobalObserverNotifierService observerNotificationService = new GlobalObserverNotifierService(services, contextId);
         services.add(GlobalObserverNotifierService.class, observerNotificationService);
@@ -301,8 +319,8 @@ public class WeldStartup {
     // needs to be resolved once extension beans are deployed
     private void installFastProcessAnnotatedTypeResolver(ServiceRegistry services) {
         ClassFileServices classFileServices = services.get(ClassFileServices.class);
+        final GlobalObserverNotifierService observers = services.get(GlobalObserverNotifierService.class);
         if (classFileServices != null) {
-            final GlobalObserverNotifierService observers = services.get(GlobalObserverNotifierService.class);
             try {
                 final FastProcessAnnotatedTypeResolver resolver = new FastProcessAnnotatedTypeResolver(classFileServices, observers.getAllObserverMethods());
                 services.add(FastProcessAnnotatedTypeResolver.class, resolver);
@@ -310,6 +328,16 @@ public class WeldStartup {
                 BootstrapLogger.LOG.notUsingFastResolver(e.getObserver());
                 return;
             }
+        } else {
+            // resolve the observers of loaded classes at least
+            try {
+                final ReflectionProcessAnnotatedTypeResolver resolver = new ReflectionProcessAnnotatedTypeResolver(
+                        services.get(RequiredAnnotationDiscovery.class), observers.getAllObserverMethods());
+                services.add(ReflectionProcessAnnotatedTypeResolver.class, resolver);
+            } catch (UnsupportedObserverMethodException e) {
+                BootstrapLogger.LOG.notUsingFastResolver(e.getObserver());
+                return;
+            }
         }
     }
 
@@ -431,6 +459,8 @@ public class WeldStartup {
             beanManager.getInterceptorMetadataReader().cleanAfterBoot();
             beanManager.getServices().cleanupAfterBoot();
             beanManager.cleanupAfterBoot();
+            // the deployment is validated so all the names are known now
+            beanManager.getNameBasedResolver().buildIndex();
             // clean up beans
             for (Bean<?> bean : beanManager.getBeans()) {
                 if (bean instanceof RIBean<?>) {
@@ -455,6 +485,46 @@ public class WeldStartup {
             beanDeployment.getBeanDeployer().cleanup();
         }
 
+        EJBRequestScopeActivationSupport ejbRequestScopeActivationSupport = deploymentManager.getServices().get(EJBRequestScopeActivationSupport.class);
+        if (ejbRequestScopeActivationSupport != null && deploymentManager.getServices().contains(EjbServices.class)) {
+            // resolve the metadata used by the EJB request scope activation interceptor of each archive containing EJBs
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                if (!beanDeployment.getBeanDeploymentArchive().getEjbs().isEmpty()) {
+                    ejbRequestScopeActivationSupport.resolve(beanDeployment.getBeanManager());
+                }
+            }
+        }
+
+        RuntimeMetrics metrics = deploymentManager.getServices().get(RuntimeMetrics.class);
+        if (metrics != null) {
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                metrics.registerBeans(beanDeployment.getBeanManager().getBeans());
+            }
+        }
+
+        BeanIdentifierIndex beanIdentifierIndex = deploymentManager.getServices().get(BeanIdentifierIndex.class);
+        if (beanIdentifierIndex != null) {
+            List<Bean<?>> beans = new ArrayList<Bean<?>>();
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                BeanManagerImpl beanManager = beanDeployment.getBeanManager();
+                beans.addAll(beanManager.getBeans());
+                beans.addAll(beanManager.getDecorators());
+                beans.addAll(beanManager.getInterceptors());
+            }
+            beanIdentifierIndex.build(beans);
+        }
+
+        ResolutionProfile resolutionProfile = deploymentManager.getServices().get(ResolutionProfile.class);
+        if (resolutionProfile != null) {
+            List<BeanManagerImpl> managers = new ArrayList<BeanManagerImpl>();
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                managers.add(beanDeployment.getBeanManager());
+            }
+            // warm up the caches cleared above before the container is marked as initialized
+            resolutionProfile.replay(deploymentManager, managers);
+            resolutionProfile.startRecording();
+        }
+
         getContainer().setState(ContainerState.INITIALIZED);
     }
 
@@ -480,7 +550,7 @@ public class WeldStartup {
         contexts.add(new ContextHolder<BoundConversationContext>(new BoundConversationContextImpl(contextId), BoundConversationContext.class, BoundLiteral.INSTANCE));
         contexts.add(new ContextHolder<BoundRequestContext>(new BoundRequestContextImpl(contextId), BoundRequestContext.class, BoundLiteral.INSTANCE));
         contexts.add(new ContextHolder<RequestContext>(new RequestContextImpl(contextId), RequestContext.class, UnboundLiteral.INSTANCE));
-        contexts.add(new ContextHolder<DependentContext>(new DependentContextImpl(services.get(ContextualStore.class)), DependentContext.class, UnboundLiteral.INSTANCE));
+        contexts.add(new ContextHolder<DependentContext>(new DependentContextImpl(services.get(ContextualStore.class), services.get(RuntimeMetrics.class)), DependentContext.class, UnboundLiteral.INSTANCE));
 
         if (Reflections.isClassLoadable(ServletApiAbstraction.SERVLET_CONTEXT_CLASS_NAME, WeldClassLoaderResourceLoader.INSTANCE)) {
             // Register the Http contexts if not in
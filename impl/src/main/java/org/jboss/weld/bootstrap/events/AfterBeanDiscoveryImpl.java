@@ -18,9 +18,15 @@ package org.jboss.weld.bootstrap.events;
 
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.AfterBeanDiscovery;
@@ -38,6 +44,7 @@ import org.jboss.weld.bean.attributes.ExternalBeanAttributesFactory;
 import org.jboss.weld.bootstrap.BeanDeploymentArchiveMapping;
 import org.jboss.weld.bootstrap.ContextHolder;
 import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.event.ObserverNotifier;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Observers;
@@ -46,6 +53,7 @@ import org.jboss.weld.util.bean.IsolatedForwardingBean;
 import org.jboss.weld.util.bean.IsolatedForwardingDecorator;
 import org.jboss.weld.util.bean.IsolatedForwardingInterceptor;
 import org.jboss.weld.util.bean.WrappedBeanHolder;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
 
 public class AfterBeanDiscoveryImpl extends AbstractBeanDiscoveryEvent implements AfterBeanDiscovery {
 
@@ -62,6 +70,59 @@ public class AfterBeanDiscoveryImpl extends AbstractBeanDiscoveryEvent implement
 
     private final SlimAnnotatedTypeStore slimAnnotatedTypeStore;
 
+    // components added by the observer being notified, per bean manager
+    private final Map<BeanManagerImpl, Registrations> registrations = new LinkedHashMap<BeanManagerImpl, Registrations>();
+    private boolean notifying;
+
+    /**
+     * The components added by an observer are registered once the observer returns, so that each bean manager and its resolvers
+     * are modified once per observer instead of once per component. The observers notified later see the components.
+     */
+    @Override
+    public void fire() {
+        ObserverNotifier notifier = getBeanManager().getGlobalLenientObserverNotifier();
+        Type eventType = new ParameterizedTypeImpl(getRawType(), getActualTypeArguments(), null);
+        try {
+            for (ObserverMethod<? super AfterBeanDiscoveryImpl> observer : notifier.<AfterBeanDiscoveryImpl>resolveObserverMethods(eventType,
+                    Collections.<Annotation>emptySet())) {
+                notifying = true;
+                try {
+                    notifier.notifyObserver(this, observer);
+                } finally {
+                    notifying = false;
+                    flush();
+                }
+            }
+        } catch (Exception e) {
+            getErrors().add(e);
+        }
+    }
+
+    private void flush() {
+        for (Entry<BeanManagerImpl, Registrations> entry : registrations.entrySet()) {
+            entry.getValue().register(entry.getKey());
+        }
+        registrations.clear();
+    }
+
+    private Registrations getRegistrations(BeanManagerImpl beanManager) {
+        Registrations result = registrations.get(beanManager);
+        if (result == null) {
+            result = new Registrations();
+            registrations.put(beanManager, result);
+        }
+        return result;
+    }
+
+    /**
+     * Components added outside of an observer notification are registered right away.
+     */
+    private void flushIfNotNotifying() {
+        if (!notifying) {
+            flush();
+        }
+    }
+
     public void addDefinitionError(Throwable t) {
         getErrors().add(t);
     }
@@ -86,27 +147,31 @@ public class AfterBeanDiscoveryImpl extends AbstractBeanDiscoveryEvent implement
                 throw BeanLogger.LOG.passivationCapableBeanHasNullId(bean);
             }
         }
+        Registrations pending = getRegistrations(beanManager);
         if (bean instanceof Interceptor<?>) {
-            beanManager.addInterceptor((Interceptor<?>) bean);
+            pending.interceptors.add((Interceptor<?>) bean);
         } else if (bean instanceof Decorator<?>) {
-            beanManager.addDecorator(CustomDecoratorWrapper.of((Decorator<?>) bean, beanManager));
+            pending.decorators.add(CustomDecoratorWrapper.of((Decorator<?>) bean, beanManager));
         } else {
-            beanManager.addBean(bean);
+            pending.beans.add(bean);
         }
         containerLifecycleEvents.fireProcessBean(beanManager, bean);
+        flushIfNotNotifying();
     }
 
     public void addContext(Context context) {
-        getBeanManager().addContext(context);
+        getRegistrations(getBeanManager()).contexts.add(context);
+        flushIfNotNotifying();
     }
 
     public void addObserverMethod(ObserverMethod<?> observerMethod) {
         BeanManagerImpl manager = getOrCreateBeanDeployment(observerMethod.getBeanClass()).getBeanManager();
         if (Observers.isObserverMethodEnabled(observerMethod, manager)) {
             ProcessObserverMethodImpl.fire(manager, observerMethod);
-            manager.addObserver(observerMethod);
+            getRegistrations(manager).observers.add(observerMethod);
         }
-        getOrCreateBeanDeployment(observerMethod.getBeanClass()).getBeanManager().addObserver(observerMethod);
+        getRegistrations(getOrCreateBeanDeployment(observerMethod.getBeanClass()).getBeanManager()).observers.add(observerMethod);
+        flushIfNotNotifying();
     }
 
     private <T> Bean<T> setBeanAttributes(final Bean<T> bean, final BeanAttributes<T> attributes) {
@@ -130,4 +195,23 @@ public class AfterBeanDiscoveryImpl extends AbstractBeanDiscoveryEvent implement
         Preconditions.checkArgumentNotNull(type, TYPE_ARGUMENT_NAME);
         return cast(slimAnnotatedTypeStore.get(type));
     }
+
+    private static class Registrations {
+
+        private final List<Bean<?>> beans = new ArrayList<Bean<?>>();
+        private final List<Interceptor<?>> interceptors = new ArrayList<Interceptor<?>>();
+        private final List<Decorator<?>> decorators = new ArrayList<Decorator<?>>();
+        private final List<ObserverMethod<?>> observers = new ArrayList<ObserverMethod<?>>();
+        private final List<Context> contexts = new ArrayList<Context>();
+
+        private void register(BeanManagerImpl beanManager) {
+            beanManager.addInterceptors(interceptors);
+            beanManager.addDecorators(decorators);
+            if (!beans.isEmpty()) {
+                beanManager.addBeans(beans);
+            }
+            beanManager.addObservers(observers);
+            beanManager.addContexts(contexts);
+        }
+    }
 }
@@ -34,7 +34,6 @@ import org.jboss.weld.literal.StereotypeLiteral;
 import org.jboss.weld.logging.BootstrapLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.TypeStore;
-import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.ReflectionCache;
 import org.jboss.weld.util.annotated.AnnotatedTypeWrapper;
@@ -52,7 +51,7 @@ public class BeforeBeanDiscoveryImpl extends AbstractAnnotatedTypeRegisteringEve
     public void addQualifier(Class<? extends Annotation> bindingType) {
         getTypeStore().add(bindingType, QualifierLiteral.INSTANCE);
         getBeanManager().getServices().get(ClassTransformer.class).clearAnnotationData(bindingType);
-        getBeanManager().getServices().get(MetaAnnotationStore.class).clearAnnotationData(bindingType);
+        getBeanManager().getMetaAnnotationStore().clearAnnotationData(bindingType);
     }
 
     public void addInterceptorBinding(Class<? extends Annotation> bindingType, Annotation... bindingTypeDef) {
@@ -62,7 +61,7 @@ public class BeforeBeanDiscoveryImpl extends AbstractAnnotatedTypeRegisteringEve
             typeStore.add(bindingType, a);
         }
         getBeanManager().getServices().get(ClassTransformer.class).clearAnnotationData(bindingType);
-        getBeanManager().getServices().get(MetaAnnotationStore.class).clearAnnotationData(bindingType);
+        getBeanManager().getMetaAnnotationStore().clearAnnotationData(bindingType);
     }
 
     public void addScope(Class<? extends Annotation> scopeType, boolean normal, boolean passivating) {
@@ -74,7 +73,7 @@ public class BeforeBeanDiscoveryImpl extends AbstractAnnotatedTypeRegisteringEve
             getTypeStore().add(scopeType, ScopeLiteral.INSTANCE);
         }
         getBeanManager().getServices().get(ClassTransformer.class).clearAnnotationData(scopeType);
-        getBeanManager().getServices().get(MetaAnnotationStore.class).clearAnnotationData(scopeType);
+        getBeanManager().getMetaAnnotationStore().clearAnnotationData(scopeType);
         getBeanManager().getServices().get(ReflectionCache.class).cleanup();
     }
 
@@ -85,7 +84,7 @@ public class BeforeBeanDiscoveryImpl extends AbstractAnnotatedTypeRegisteringEve
             typeStore.add(stereotype, a);
         }
         getBeanManager().getServices().get(ClassTransformer.class).clearAnnotationData(stereotype);
-        getBeanManager().getServices().get(MetaAnnotationStore.class).clearAnnotationData(stereotype);
+        getBeanManager().getMetaAnnotationStore().clearAnnotationData(stereotype);
     }
 
     @Override
@@ -115,6 +114,6 @@ public class BeforeBeanDiscoveryImpl extends AbstractAnnotatedTypeRegisteringEve
             annotation = new AnnotatedTypeWrapper<A>(annotation, requiredMetaAnnotation);
         }
         getBeanManager().getServices().get(ClassTransformer.class).addSyntheticAnnotation(annotation, getBeanManager().getId());
-        getBeanManager().getServices().get(MetaAnnotationStore.class).clearAnnotationData(annotation.getJavaClass());
+        getBeanManager().getMetaAnnotationStore().clearAnnotationData(annotation.getJavaClass());
     }
 }
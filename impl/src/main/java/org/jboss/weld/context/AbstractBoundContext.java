@@ -17,6 +17,8 @@
 package org.jboss.weld.context;
 
 import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.context.beanstore.SharedBoundBeanStore;
+import org.jboss.weld.logging.ContextLogger;
 
 /**
  * Base class for contexts using a thread local to store a bound bean context
@@ -26,10 +28,12 @@ import org.jboss.weld.context.beanstore.BoundBeanStore;
 public abstract class AbstractBoundContext<S> extends AbstractManagedContext implements BoundContext<S> {
 
     private final ThreadLocal<BoundBeanStore> beanStore;
+    private final ThreadLocal<S> pendingStorage;
 
     public AbstractBoundContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.beanStore = new ThreadLocal<BoundBeanStore>();
+        this.pendingStorage = new ThreadLocal<S>();
     }
 
     /**
@@ -54,10 +58,20 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
         }
     }
 
+    /**
+     * Gets the storage the context is going to be associated with once it is accessed for the first time in the current thread.
+     *
+     * @return the storage passed to {@link #activateLazily(Object)} or null if the context is not waiting to be initialized
+     */
+    protected S getPendingStorage() {
+        return pendingStorage.get();
+    }
+
     @Override
     public void cleanup() {
         super.cleanup();
         beanStore.remove();
+        pendingStorage.remove();
     }
 
     @Override
@@ -66,10 +80,43 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
         getBeanStore().attach();
     }
 
+    /**
+     * Activates the context in the current thread without associating it with the given storage. The context is associated and
+     * activated the first time it is accessed in the current thread. If it is never accessed, {@link #deactivate()} only clears the
+     * thread-local state.
+     *
+     * @param storage the storage to associate the context with upon first access
+     */
+    public void activateLazily(S storage) {
+        pendingStorage.set(storage);
+        setActive(true);
+    }
+
+    @Override
+    protected void checkContextInitialized() {
+        S storage = pendingStorage.get();
+        if (storage != null) {
+            pendingStorage.remove();
+            associate(storage);
+            activate();
+        }
+    }
+
     @Override
     public void deactivate() {
+        if (pendingStorage.get() != null) {
+            // the context was never accessed - there is no bean store to detach and no instance to destroy
+            cleanup();
+            return;
+        }
         getBeanStore().detach();
-        super.deactivate();
+        if (isShared()) {
+            // instances are destroyed by the last thread which releases the bean store
+            releaseBeanStore(!isValid());
+            setActive(false);
+        } else {
+            super.deactivate();
+        }
     }
 
     public boolean dissociate(S storage) {
@@ -84,4 +131,153 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
             return false;
         }
     }
+
+    /**
+     * Captures the state of this context in the current thread so that it can be restored in another thread using
+     * {@link #restore(BoundContextSnapshot)}. Threads which restore the snapshot share the contextual instances with the current
+     * thread - no instances are copied. From now on the bean store of the current thread is accessed in a thread-safe manner and
+     * its contextual instances are only destroyed once the current thread and all the threads which restored a snapshot release it.
+     *
+     * @return a snapshot which needs to be released exactly once
+     * @throws IllegalStateException if the context is not active in the current thread
+     */
+    public BoundContextSnapshot snapshot() {
+        if (!isActive()) {
+            throw ContextLogger.LOG.cannotSnapshotInactiveContext(this);
+        }
+        checkContextInitialized();
+        BoundBeanStore current = getBeanStore();
+        if (current == null) {
+            throw ContextLogger.LOG.noBeanStoreAvailable(this);
+        }
+        SharedBoundBeanStore shared;
+        if (current instanceof SharedBoundBeanStore) {
+            shared = (SharedBoundBeanStore) current;
+        } else {
+            // the current thread holds the initial reference
+            shared = new SharedBoundBeanStore(current);
+            setBeanStore(shared);
+        }
+        if (!shared.retain()) {
+            throw ContextLogger.LOG.snapshotAlreadyReleased(this);
+        }
+        return new BoundContextSnapshot(this, shared, getAssociation());
+    }
+
+    /**
+     * Activates the context in the current thread using the state captured by {@link #snapshot()}.
+     *
+     * @param snapshot the snapshot to restore
+     * @throws IllegalStateException if the context is already active in the current thread
+     */
+    public void restore(BoundContextSnapshot snapshot) {
+        if (isActive()) {
+            throw ContextLogger.LOG.cannotRestoreActiveContext(snapshot);
+        }
+        setBeanStore(snapshot.getBeanStore());
+        restoreAssociation(snapshot.getAssociation());
+        setActive(true);
+    }
+
+    /**
+     * Indicates whether the state captured by the given snapshot is already active in the current thread. This is the case if the
+     * snapshot is used by the thread which captured it, which must neither restore nor release it.
+     *
+     * @param snapshot the snapshot
+     * @return true if the context is active in the current thread with the bean store captured by the snapshot
+     */
+    public boolean isActive(BoundContextSnapshot snapshot) {
+        return isActive() && getBeanStore() == snapshot.getBeanStore();
+    }
+
+    /**
+     * Deactivates the context in the current thread and releases the reference held by the snapshot. If this is the last reference
+     * and the owning thread already requested destruction of the context, contextual instances are destroyed by the current thread.
+     *
+     * @param snapshot the snapshot previously restored in the current thread
+     */
+    public void release(BoundContextSnapshot snapshot) {
+        try {
+            releaseBeanStore(snapshot.getBeanStore(), false);
+        } finally {
+            try {
+                releaseAssociation();
+            } finally {
+                setBeanStore(null);
+                setActive(false);
+            }
+        }
+    }
+
+    /**
+     * Releases the reference held by a snapshot which is never going to be restored.
+     *
+     * @param snapshot the snapshot to discard
+     */
+    public void discard(BoundContextSnapshot snapshot) {
+        releaseBeanStore(snapshot.getBeanStore(), false);
+    }
+
+    /**
+     * Returns the state, other than the bean store, the context needs in order to be used in another thread. The returned object is
+     * captured by {@link #snapshot()} and passed to {@link #restoreAssociation(Object)} in the thread which restores the snapshot.
+     *
+     * @return the state to capture or null if the context needs none
+     */
+    protected Object getAssociation() {
+        return null;
+    }
+
+    /**
+     * Restores the state captured by {@link #getAssociation()} in the current thread, before the context is activated by
+     * {@link #restore(BoundContextSnapshot)}.
+     *
+     * @param association the captured state, may be null
+     */
+    protected void restoreAssociation(Object association) {
+    }
+
+    /**
+     * Clears the state restored by {@link #restoreAssociation(Object)} when {@link #release(BoundContextSnapshot)} deactivates the
+     * context in the current thread.
+     */
+    protected void releaseAssociation() {
+    }
+
+    /**
+     * Indicates whether the bean store of the current thread is shared with other threads.
+     */
+    protected boolean isShared() {
+        return getBeanStore() instanceof SharedBoundBeanStore;
+    }
+
+    /**
+     * Releases the reference the current thread holds to its bean store, if the bean store is shared, or destroys the contextual
+     * instances right away if requested and the bean store is not shared.
+     *
+     * @param destroy whether destruction of the contextual instances is requested
+     */
+    protected void releaseBeanStore(boolean destroy) {
+        BoundBeanStore current = getBeanStore();
+        if (current instanceof SharedBoundBeanStore) {
+            releaseBeanStore((SharedBoundBeanStore) current, destroy);
+        } else if (destroy) {
+            destroy();
+        }
+    }
+
+    private void releaseBeanStore(SharedBoundBeanStore shared, boolean destroy) {
+        if (destroy) {
+            shared.requestDestruction();
+        }
+        if (shared.release() && shared.isDestructionRequested()) {
+            BoundBeanStore previous = getBeanStore();
+            setBeanStore(shared);
+            try {
+                destroy();
+            } finally {
+                setBeanStore(previous);
+            }
+        }
+    }
 }
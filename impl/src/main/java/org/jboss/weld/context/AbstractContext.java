@@ -16,21 +16,39 @@
  */
 package org.jboss.weld.context;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.Container;
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.context.beanstore.LockedBean;
+import org.jboss.weld.context.beanstore.SharedBoundBeanStore;
 import org.jboss.weld.context.cache.RequestScopedBeanCache;
+import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.logging.ContextLogger;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.metrics.RuntimeMetrics;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 
 /**
@@ -45,17 +63,35 @@ import edu.umd.cs.findbugs.annotations.SuppressWarnings;
  */
 public abstract class AbstractContext implements AlterableContext {
 
+    // the minimum number of contextual instances for which the parallel destruction pays off
+    private static final int PARALLEL_DESTRUCTION_THRESHOLD = 32;
+
     private final boolean multithreaded;
 
+    private final String contextId;
+
     private final ServiceRegistry serviceRegistry;
 
+    private final ContextualStore contextualStore;
+
+    // null unless parallel context destruction is enabled
+    private final ExecutorServices executorServices;
+
+    // null unless runtime metrics are enabled
+    private final RuntimeMetrics metrics;
+
     /**
      * Constructor
      *
      */
     public AbstractContext(String contextId, boolean multithreaded) {
         this.multithreaded = multithreaded;
+        this.contextId = contextId;
         this.serviceRegistry = Container.instance(contextId).services();
+        this.metrics = serviceRegistry.get(RuntimeMetrics.class);
+        this.contextualStore = serviceRegistry.get(ContextualStore.class);
+        this.executorServices = SystemPropertiesConfiguration.INSTANCE.isParallelContextDestructionEnabled() ? serviceRegistry
+                .get(ExecutorServices.class) : null;
     }
 
     /**
@@ -86,7 +122,7 @@ public abstract class AbstractContext implements AlterableContext {
         } else if (creationalContext != null) {
             LockedBean lock = null;
             try {
-                if (multithreaded) {
+                if (multithreaded || beanStore instanceof SharedBoundBeanStore) {
                     lock = beanStore.lock(id);
                     beanInstance = beanStore.get(id);
                     if (beanInstance != null) {
@@ -95,8 +131,11 @@ public abstract class AbstractContext implements AlterableContext {
                 }
                 T instance = contextual.create(creationalContext);
                 if (instance != null) {
-                    beanInstance = new SerializableContextualInstanceImpl<Contextual<T>, T>(contextual, instance, creationalContext, serviceRegistry.get(ContextualStore.class));
+                    beanInstance = new SerializableContextualInstanceImpl<Contextual<T>, T>(contextual, instance, creationalContext, contextualStore);
                     getBeanStore().put(id, beanInstance);
+                    if (metrics != null) {
+                        metrics.instanceCreated(this, id);
+                    }
                 }
                 return instance;
             } finally {
@@ -130,20 +169,25 @@ public abstract class AbstractContext implements AlterableContext {
         ContextualInstance<?> beanInstance = getBeanStore().remove(id);
         if (beanInstance != null) {
             RequestScopedBeanCache.invalidate();
-            destroyContextualInstance(beanInstance);
+            destroyContextualInstance(id, beanInstance);
         }
     }
 
-    private <T> ContextualInstance<T> getContextualInstance(BeanIdentifier id) {
-        if (getBeanStore() == null) {
-            throw ContextLogger.LOG.noBeanStoreAvailable(this);
+    private <T> void destroyContextualInstance(BeanIdentifier id, ContextualInstance<T> instance) {
+        long start = (metrics != null) ? System.nanoTime() : 0L;
+        instance.getContextual().destroy(instance.getInstance(), instance.getCreationalContext());
+        ContextLogger.LOG.contextualInstanceRemoved(instance, this);
+        if (metrics != null) {
+            metrics.instanceDestructionCompleted(getBeanType(instance.getContextual()), System.nanoTime() - start);
+            metrics.instanceDestroyed(this, id);
         }
-        return getBeanStore().get(id);
     }
 
-    private <T> void destroyContextualInstance(ContextualInstance<T> instance) {
-        instance.getContextual().destroy(instance.getInstance(), instance.getCreationalContext());
-        ContextLogger.LOG.contextualInstanceRemoved(instance, this);
+    private static Class<?> getBeanType(Contextual<?> contextual) {
+        if (contextual instanceof Bean<?>) {
+            return ((Bean<?>) contextual).getBeanClass();
+        }
+        return contextual.getClass();
     }
 
     /**
@@ -154,10 +198,114 @@ public abstract class AbstractContext implements AlterableContext {
         if (getBeanStore() == null) {
             throw ContextLogger.LOG.noBeanStoreAvailable(this);
         }
-        for (BeanIdentifier id : getBeanStore()) {
-            destroyContextualInstance(getContextualInstance(id));
+        destroyContextualInstances(getBeanStore());
+    }
+
+    /**
+     * Destroys all the contextual instances held by the given bean store and clears it. Allows contexts which manage multiple
+     * bean stores to destroy a bean store other than the one returned by {@link #getBeanStore()}.
+     *
+     * @param beanStore the bean store
+     */
+    protected void destroyContextualInstances(BeanStore beanStore) {
+        if (executorServices != null && isParallelDestructionSupported() && !isBoundContextActive()) {
+            ContextDestructionPlan plan = new ContextDestructionPlan(beanStore);
+            if (plan.size() >= PARALLEL_DESTRUCTION_THRESHOLD && plan.getGroups().size() > 1) {
+                destroyContextualInstances(plan);
+                beanStore.clear();
+                return;
+            }
+        }
+        for (BeanIdentifier id : beanStore) {
+            ContextualInstance<?> instance = beanStore.get(id);
+            if (instance != null) {
+                destroyContextualInstance(id, instance);
+            }
+        }
+        beanStore.clear();
+    }
+
+    /**
+     * Destroys independent groups of contextual instances concurrently. The calling thread takes part in the destruction. Tasks
+     * which have not been started by the time the calling thread runs out of groups are cancelled so that the destruction never
+     * waits for a busy thread pool.
+     */
+    private void destroyContextualInstances(final ContextDestructionPlan plan) {
+        final Queue<int[]> groups = new ConcurrentLinkedQueue<int[]>(plan.getGroups());
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        int workers = Math.min(plan.getGroups().size() - 1, Runtime.getRuntime().availableProcessors());
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executorServices.getTaskExecutor().submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Thread thread = Thread.currentThread();
+                    ClassLoader previousTccl = thread.getContextClassLoader();
+                    thread.setContextClassLoader(tccl);
+                    try {
+                        destroyGroups(plan, groups);
+                    } finally {
+                        thread.setContextClassLoader(previousTccl);
+                    }
+                    return null;
+                }
+            }));
+        }
+        RuntimeException failure = null;
+        try {
+            destroyGroups(plan, groups);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (Future<Void> future : futures) {
+            if (future.cancel(false)) {
+                continue;
+            }
+            try {
+                Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : new WeldException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void destroyGroups(ContextDestructionPlan plan, Queue<int[]> groups) {
+        for (int[] group = groups.poll(); group != null; group = groups.poll()) {
+            for (int index : group) {
+                destroyContextualInstance(plan.getId(index), plan.getInstance(index));
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the contextual instances of this context may be destroyed by multiple threads. Worker threads only see the
+     * contexts which are active in every thread, the context must therefore be shared by all the threads and its bean store must
+     * be thread-safe. Parallel destruction is not supported by default.
+     */
+    protected boolean isParallelDestructionSupported() {
+        return false;
+    }
+
+    /**
+     * The destruction callbacks must see the same active contexts regardless of the thread they run on. The destruction is
+     * therefore only run in parallel if no context which is bound to the calling thread, e.g. a request or a session context, is
+     * active.
+     */
+    private boolean isBoundContextActive() {
+        for (List<Context> contexts : Container.instance(contextId).deploymentManager().getContexts().values()) {
+            for (Context context : contexts) {
+                if (context.isActive() && !Dependent.class.equals(context.getScope())
+                        && !(PassivatingContextWrapper.unwrap(context) instanceof AbstractSharedContext)) {
+                    return true;
+                }
+            }
         }
-        getBeanStore().clear();
+        return false;
     }
 
     /**
@@ -178,7 +326,7 @@ public abstract class AbstractContext implements AlterableContext {
     }
 
     protected BeanIdentifier getId(Contextual<?> contextual) {
-        return serviceRegistry.get(ContextualStore.class).putIfAbsent(contextual);
+        return contextualStore.putIfAbsent(contextual);
     }
 
     protected ServiceRegistry getServiceRegistry() {
@@ -27,10 +27,10 @@ import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -70,6 +70,8 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
     private final AtomicLong concurrentAccessTimeout;
 
     private final ThreadLocal<R> associated;
+    // the current conversation of a context restored from a snapshot, the context is not associated with a request in that thread
+    private final ThreadLocal<ManagedConversation> restoredConversation;
 
     private final BeanManagerImpl manager;
 
@@ -79,6 +81,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         this.defaultTimeout = new AtomicLong(DEFAULT_TIMEOUT);
         this.concurrentAccessTimeout = new AtomicLong(CONCURRENT_ACCESS_TIMEOUT);
         this.associated = new ThreadLocal<R>();
+        this.restoredConversation = new ThreadLocal<ManagedConversation>();
         this.manager = Container.instance(contextId).deploymentManager();
     }
 
@@ -140,7 +143,8 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             }
 
             if (getSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, false) == null) {
-                Map<String, ManagedConversation> conversations = new HashMap<String, ManagedConversation>();
+                // requests of the same session may access the conversations concurrently
+                Map<String, ManagedConversation> conversations = new ConcurrentHashMap<String, ManagedConversation>();
                 setRequestAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, conversations);
                 setSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, conversations, false);
             } else {
@@ -237,6 +241,12 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             if (conversation != null && !isExpired(conversation)) {
                 boolean lock = lock(conversation);
                 if (lock) {
+                    // the conversation may have been ended by the request which held the lock
+                    if (conversation.isTransient() || getConversationMap().get(cid) != conversation) {
+                        conversation.unlock();
+                        associateRequestWithNewConversation();
+                        throw ConversationLogger.LOG.noConversationFoundToRestore(cid);
+                    }
                     associateRequest(conversation);
                 } else {
                     // CDI 6.7.4 we must activate a new transient conversation before we throw the exception
@@ -266,7 +276,8 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
             }
 
             if (getCurrentConversation().isTransient()) {
-                destroy();
+                // if the bean store is shared with other threads, the last one destroys the instances
+                releaseBeanStore(true);
             } else {
                 try {
                     // Update the conversation timestamp
@@ -290,6 +301,7 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                 } finally {
                     getCurrentConversation().unlock();
                 }
+                releaseBeanStore(false);
             }
             setBeanStore(null);
             // Clean up any expired conversations
@@ -301,6 +313,10 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                     entryIterator.remove();
                 }
             }
+            if (getCurrentConversation().isTransient()) {
+                // the conversation may have been ended by this request, release the requests waiting for it
+                getCurrentConversation().unlock();
+            }
             // deactivate the context
             super.setActive(false);
         } else {
@@ -406,6 +422,20 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         return getConversationMap().get(id);
     }
 
+    /**
+     * Returns the long-running conversation with the given id, or null if there is no such conversation. Unlike
+     * {@link #getConversation(String)}, this method neither requires the context to be associated with the request nor creates a
+     * session, so that the conversation can be inspected before the context is associated.
+     */
+    public ManagedConversation peekConversation(R request, String id) {
+        Object conversations = getSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, false);
+        if (conversations instanceof Map<?, ?>) {
+            Map<String, ManagedConversation> map = cast(conversations);
+            return map.get(id);
+        }
+        return null;
+    }
+
     @Override
     public Collection<ManagedConversation> getConversations() {
         return getConversationMap().values();
@@ -428,6 +458,10 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     @Override
     public ManagedConversation getCurrentConversation() {
+        ManagedConversation restored = restoredConversation.get();
+        if (restored != null) {
+            return restored;
+        }
         checkIsAssociated();
         checkContextInitialized();
         if (!(getRequestAttribute(getRequest(), CURRENT_CONVERSATION_ATTRIBUTE_NAME) instanceof ManagedConversation)) {
@@ -510,6 +544,27 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     protected abstract S getSessionFromRequest(R request, boolean create);
 
+    /**
+     * Captures the current conversation, which holds the id and the state of the conversation. The request itself is not captured
+     * as the container may recycle it once the owning thread completes it. The conversation id generator and the conversations are
+     * therefore not available in a thread which restores the snapshot.
+     */
+    @Override
+    protected Object getAssociation() {
+        return getCurrentConversation();
+    }
+
+    @Override
+    protected void restoreAssociation(Object association) {
+        ManagedConversation conversation = cast(association);
+        this.restoredConversation.set(conversation);
+    }
+
+    @Override
+    protected void releaseAssociation() {
+        this.restoredConversation.remove();
+    }
+
     /**
      * Check if the context is currently associated
      *
@@ -52,6 +52,12 @@ public abstract class AbstractSharedContext extends AbstractContext {
         return true;
     }
 
+    @Override
+    protected boolean isParallelDestructionSupported() {
+        // the bean store is thread-safe and visible to all threads
+        return true;
+    }
+
     public void invalidate() {
         destroy();
     }
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import org.jboss.weld.context.beanstore.SharedBoundBeanStore;
+
+/**
+ * A handle to the state of an active {@link AbstractBoundContext} captured in one thread which can be restored in another thread.
+ * Obtained by calling {@link AbstractBoundContext#snapshot()}.
+ *
+ * <p>
+ * Each snapshot holds a reference to the shared bean store of the context and must be released exactly once, either by calling
+ * {@link AbstractBoundContext#release(BoundContextSnapshot)} in the thread where it was restored or by calling
+ * {@link AbstractBoundContext#discard(BoundContextSnapshot)} if it is never restored. Otherwise, contextual instances are never
+ * destroyed.
+ * </p>
+ */
+public class BoundContextSnapshot {
+
+    private final AbstractBoundContext<?> context;
+    private final SharedBoundBeanStore beanStore;
+    private final Object association;
+
+    BoundContextSnapshot(AbstractBoundContext<?> context, SharedBoundBeanStore beanStore, Object association) {
+        this.context = context;
+        this.beanStore = beanStore;
+        this.association = association;
+    }
+
+    public AbstractBoundContext<?> getContext() {
+        return context;
+    }
+
+    SharedBoundBeanStore getBeanStore() {
+        return beanStore;
+    }
+
+    Object getAssociation() {
+        return association;
+    }
+
+    /**
+     * Activates the captured context state in the current thread. Shortcut for {@link AbstractBoundContext#restore(BoundContextSnapshot)}.
+     */
+    public void restore() {
+        context.restore(this);
+    }
+
+    /**
+     * Deactivates the captured context state in the current thread. Shortcut for {@link AbstractBoundContext#release(BoundContextSnapshot)}.
+     */
+    public void release() {
+        context.release(this);
+    }
+
+    @Override
+    public String toString() {
+        return "BoundContextSnapshot of " + context + " with " + beanStore;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Provider;
+
+import org.jboss.weld.bean.AbstractProducerBean;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Splits the contextual instances held by a bean store into groups which can be destroyed independently of each other.
+ * <p>
+ * Two instances end up in the same group if the bean of one of them may inject the bean of the other one, or if one of them is a
+ * producer declared by the other one. Injection points are matched against bean types by raw type only and qualifiers are ignored,
+ * which over-approximates the actual dependencies. All the instances of contextuals which are not beans form a single group as
+ * their dependencies are unknown. Within a group, instances are kept in the iteration order of the bean store and are meant to be
+ * destroyed sequentially. Distinct groups may be destroyed concurrently.
+ */
+class ContextDestructionPlan {
+
+    private final List<BeanIdentifier> ids;
+    private final List<ContextualInstance<?>> instances;
+    private final List<int[]> groups;
+
+    ContextDestructionPlan(BeanStore beanStore) {
+        this.ids = new ArrayList<BeanIdentifier>();
+        this.instances = new ArrayList<ContextualInstance<?>>();
+        for (BeanIdentifier id : beanStore) {
+            ContextualInstance<?> instance = beanStore.get(id);
+            if (instance != null) {
+                ids.add(id);
+                instances.add(instance);
+            }
+        }
+        this.groups = computeGroups();
+    }
+
+    private List<int[]> computeGroups() {
+        int size = instances.size();
+        int[] parents = new int[size];
+        Map<Contextual<?>, Integer> indexes = new IdentityHashMap<Contextual<?>, Integer>();
+        Map<Class<?>, List<Integer>> beansByRawType = new HashMap<Class<?>, List<Integer>>();
+        int firstNonBean = -1;
+        Contextual<?>[] contextuals = new Contextual<?>[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+            Contextual<?> contextual = unwrap(instances.get(i).getContextual());
+            contextuals[i] = contextual;
+            indexes.put(contextual, i);
+            if (contextual instanceof Bean<?>) {
+                for (Type type : ((Bean<?>) contextual).getTypes()) {
+                    Class<?> rawType = Reflections.getRawType(type);
+                    if (rawType != null && !Object.class.equals(rawType)) {
+                        List<Integer> beans = beansByRawType.get(rawType);
+                        if (beans == null) {
+                            beans = new ArrayList<Integer>();
+                            beansByRawType.put(rawType, beans);
+                        }
+                        beans.add(i);
+                    }
+                }
+            } else if (firstNonBean < 0) {
+                firstNonBean = i;
+            } else {
+                union(parents, firstNonBean, i);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            Contextual<?> contextual = contextuals[i];
+            if (!(contextual instanceof Bean<?>)) {
+                continue;
+            }
+            if (contextual instanceof AbstractProducerBean<?, ?, ?>) {
+                Integer declaringBean = indexes.get(((AbstractProducerBean<?, ?, ?>) contextual).getDeclaringBean());
+                if (declaringBean != null) {
+                    union(parents, i, declaringBean);
+                }
+            }
+            for (InjectionPoint injectionPoint : ((Bean<?>) contextual).getInjectionPoints()) {
+                Class<?> rawType = getRequiredRawType(injectionPoint.getType());
+                if (rawType == null || Object.class.equals(rawType)) {
+                    // may depend on anything
+                    for (int j = 0; j < size; j++) {
+                        union(parents, i, j);
+                    }
+                    break;
+                }
+                List<Integer> beans = beansByRawType.get(rawType);
+                if (beans != null) {
+                    for (Integer bean : beans) {
+                        union(parents, i, bean);
+                    }
+                }
+            }
+        }
+        Map<Integer, List<Integer>> members = new HashMap<Integer, List<Integer>>();
+        List<List<Integer>> ordered = new ArrayList<List<Integer>>();
+        for (int i = 0; i < size; i++) {
+            Integer root = find(parents, i);
+            List<Integer> group = members.get(root);
+            if (group == null) {
+                group = new ArrayList<Integer>();
+                members.put(root, group);
+                ordered.add(group);
+            }
+            group.add(i);
+        }
+        List<int[]> result = new ArrayList<int[]>(ordered.size());
+        for (List<Integer> group : ordered) {
+            int[] array = new int[group.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = group.get(i);
+            }
+            result.add(array);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Bean stores hold serializable wrappers of the contextuals, the plan needs the contextuals themselves.
+     */
+    private static Contextual<?> unwrap(Contextual<?> contextual) {
+        if (contextual instanceof SerializableContextual<?, ?>) {
+            return ((SerializableContextual<?, ?>) contextual).get();
+        }
+        return contextual;
+    }
+
+    /**
+     * Dynamic lookups through {@link Instance} and {@link Provider} are matched by the required type.
+     */
+    private static Class<?> getRequiredRawType(Type type) {
+        Class<?> rawType = Reflections.getRawType(type);
+        if ((Instance.class.equals(rawType) || Provider.class.equals(rawType)) && type instanceof ParameterizedType) {
+            return Reflections.getRawType(((ParameterizedType) type).getActualTypeArguments()[0]);
+        }
+        return rawType;
+    }
+
+    private static int find(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parents, int i, int j) {
+        int rootI = find(parents, i);
+        int rootJ = find(parents, j);
+        if (rootI != rootJ) {
+            parents[rootJ] = rootI;
+        }
+    }
+
+    int size() {
+        return instances.size();
+    }
+
+    /**
+     * @return the groups of instances, each one represented by the indexes of its instances
+     */
+    List<int[]> getGroups() {
+        return groups;
+    }
+
+    BeanIdentifier getId(int index) {
+        return ids.get(index);
+    }
+
+    ContextualInstance<?> getInstance(int index) {
+        return instances.get(index);
+    }
+}
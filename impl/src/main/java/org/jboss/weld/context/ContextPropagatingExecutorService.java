@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * <p>
+ * An {@link ExecutorService} decorator which propagates the active request and conversation contexts of the submitting thread to
+ * the tasks. When a task is submitted, a {@link BoundContextSnapshot} of each active {@link AbstractBoundContext} of the given
+ * scopes is captured. The snapshots are restored before the task runs and released once it completes. The tasks therefore see
+ * the same contextual instances as the submitting thread and the instances are destroyed once the submitting thread and all the
+ * tasks are done with them.
+ * </p>
+ *
+ * <p>
+ * A task run by the submitting thread itself, e.g. by an executor with a caller-runs policy, uses the contexts which are already
+ * active in the thread.
+ * </p>
+ *
+ * <p>
+ * Tasks which never run (e.g. those returned by {@link #shutdownNow()}) never release their snapshots, which prevents the
+ * contextual instances from being destroyed.
+ * </p>
+ */
+public class ContextPropagatingExecutorService extends AbstractExecutorService {
+
+    @SuppressWarnings("unchecked")
+    private static final List<Class<? extends Annotation>> DEFAULT_SCOPES = ImmutableList.<Class<? extends Annotation>>of(RequestScoped.class, ConversationScoped.class);
+
+    private final ExecutorService delegate;
+    private final BeanManagerImpl manager;
+    private final List<Class<? extends Annotation>> scopes;
+
+    public ContextPropagatingExecutorService(ExecutorService delegate, BeanManagerImpl manager) {
+        this(delegate, manager, DEFAULT_SCOPES);
+    }
+
+    public ContextPropagatingExecutorService(ExecutorService delegate, BeanManagerImpl manager, List<Class<? extends Annotation>> scopes) {
+        this.delegate = delegate;
+        this.manager = manager;
+        this.scopes = ImmutableList.copyOf(scopes);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        List<BoundContextSnapshot> snapshots = captureSnapshots();
+        if (snapshots.isEmpty()) {
+            delegate.execute(command);
+            return;
+        }
+        try {
+            delegate.execute(new ContextPropagatingRunnable(command, snapshots));
+        } catch (RuntimeException e) {
+            discard(snapshots);
+            throw e;
+        }
+    }
+
+    private List<BoundContextSnapshot> captureSnapshots() {
+        List<BoundContextSnapshot> snapshots = null;
+        try {
+            for (Class<? extends Annotation> scope : scopes) {
+                if (manager.isContextActive(scope)) {
+                    Context context = manager.getUnwrappedContext(scope);
+                    if (context instanceof AbstractBoundContext<?>) {
+                        if (snapshots == null) {
+                            snapshots = new ArrayList<BoundContextSnapshot>(scopes.size());
+                        }
+                        snapshots.add(((AbstractBoundContext<?>) context).snapshot());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            if (snapshots != null) {
+                discard(snapshots);
+            }
+            throw e;
+        }
+        if (snapshots == null) {
+            return Collections.emptyList();
+        }
+        return snapshots;
+    }
+
+    private static void discard(List<BoundContextSnapshot> snapshots) {
+        for (BoundContextSnapshot snapshot : snapshots) {
+            snapshot.getContext().discard(snapshot);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private static class ContextPropagatingRunnable implements Runnable {
+
+        private final Runnable delegate;
+        private final List<BoundContextSnapshot> snapshots;
+
+        private ContextPropagatingRunnable(Runnable delegate, List<BoundContextSnapshot> snapshots) {
+            this.delegate = delegate;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public void run() {
+            boolean[] restored = new boolean[snapshots.size()];
+            try {
+                for (int i = 0; i < snapshots.size(); i++) {
+                    BoundContextSnapshot snapshot = snapshots.get(i);
+                    // the task may run in the submitting thread (e.g. caller-runs policy) where the context is still active
+                    if (!snapshot.getContext().isActive(snapshot)) {
+                        snapshot.restore();
+                        restored[i] = true;
+                    }
+                }
+                delegate.run();
+            } finally {
+                // release in the reverse order, snapshots which were not restored are discarded
+                for (int i = snapshots.size() - 1; i >= 0; i--) {
+                    BoundContextSnapshot snapshot = snapshots.get(i);
+                    if (restored[i]) {
+                        snapshot.release();
+                    } else {
+                        snapshot.getContext().discard(snapshot);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
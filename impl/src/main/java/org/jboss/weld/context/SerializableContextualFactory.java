@@ -16,6 +16,12 @@
  */
 package org.jboss.weld.context;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 
 import javax.enterprise.context.spi.Contextual;
@@ -24,6 +30,7 @@ import javax.enterprise.inject.spi.PassivationCapable;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bean.ForwardingBean;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
@@ -91,6 +98,12 @@ public class SerializableContextualFactory {
             this.cached = contextual;
         }
 
+        // used when restoring an indexed holder
+        private SerializableContextualHolder(String contextId, BeanIdentifier id) {
+            this.contextId = contextId;
+            this.id = id;
+        }
+
         protected BeanIdentifier getId(C contextual, ContextualStore contextualStore) {
             return contextualStore.putIfAbsent(contextual);
         }
@@ -120,6 +133,85 @@ public class SerializableContextualFactory {
             }
         }
 
+        /**
+         * If the {@link BeanIdentifierIndex} is enabled and contains the identifier of the contextual, the position in the index is
+         * serialized instead of the identifier. Otherwise, this holder is serialized as is.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            if (serializable == null && id != null) {
+                BeanIdentifierIndex index = Container.instance(contextId).services().get(BeanIdentifierIndex.class);
+                if (index != null) {
+                    Integer position = index.getIndex(id);
+                    if (position != null) {
+                        return new IndexedContextualHolder(contextId, index.getIndexHash(), position);
+                    }
+                }
+            }
+            return this;
+        }
+
+    }
+
+    /**
+     * Compact serialized form of a {@link SerializableContextualHolder} which refers to a bean by its position in the
+     * {@link BeanIdentifierIndex}. The hash of the index is verified when the holder is read, as the position is only
+     * meaningful in an identical deployment.
+     */
+    private static final class IndexedContextualHolder implements Externalizable {
+
+        private static final long serialVersionUID = 3411287421394516519L;
+
+        private static final byte FORMAT_VERSION = 1;
+
+        private String contextId;
+        private long indexHash;
+        private int position;
+
+        public IndexedContextualHolder() {
+            // required by Externalizable
+        }
+
+        private IndexedContextualHolder(String contextId, long indexHash, int position) {
+            this.contextId = contextId;
+            this.indexHash = indexHash;
+            this.position = position;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(contextId);
+            out.writeLong(indexHash);
+            out.writeInt(position);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new InvalidObjectException("Unsupported serialized contextual format version " + version);
+            }
+            this.contextId = in.readUTF();
+            this.indexHash = in.readLong();
+            this.position = in.readInt();
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            BeanIdentifierIndex index = Container.instance(contextId).services().get(BeanIdentifierIndex.class);
+            if (index == null || !index.isBuilt()) {
+                throw new InvalidObjectException("Unable to restore serialized contextual at position " + position + " - bean identifier index not available");
+            }
+            if (index.getIndexHash() != indexHash) {
+                throw new InvalidObjectException("Unable to restore serialized contextual at position " + position + " - bean identifier index mismatch, expected hash "
+                        + indexHash + " but was " + index.getIndexHash());
+            }
+            BeanIdentifier id = index.getIdentifier(position);
+            if (id == null) {
+                throw new InvalidObjectException("Unable to restore serialized contextual - invalid position " + position);
+            }
+            return new SerializableContextualHolder<Contextual<Object>, Object>(contextId, id);
+        }
+
     }
 
     private abstract static class AbstractSerializableBean<B extends Bean<I>, I> extends ForwardingBean<I> implements SerializableContextual<B, I> {
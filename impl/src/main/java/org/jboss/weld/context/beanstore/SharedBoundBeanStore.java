@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * <p>
+ * A thread-safe view of a {@link BoundBeanStore} which is shared by multiple threads. This is used when an active context is
+ * propagated from the thread that owns the bean store to other threads (see
+ * {@link org.jboss.weld.context.AbstractBoundContext#snapshot()}). All the threads see the same contextual instances, no
+ * instances are copied.
+ * </p>
+ *
+ * <p>
+ * The bean store is reference-counted. The owning thread holds the initial reference and every propagated snapshot holds an
+ * additional one. Contextual instances are only destroyed once the last reference is released.
+ * </p>
+ */
+public class SharedBoundBeanStore implements BoundBeanStore {
+
+    private final BoundBeanStore delegate;
+    private final LockStore lockStore;
+    private final AtomicInteger references;
+    private volatile boolean destructionRequested;
+
+    public SharedBoundBeanStore(BoundBeanStore delegate) {
+        this.delegate = delegate;
+        this.lockStore = new LockStore();
+        this.references = new AtomicInteger(1);
+    }
+
+    /**
+     * Acquires an additional reference.
+     *
+     * @return true if the reference was acquired, false if the bean store has already been released by all the threads
+     */
+    public boolean retain() {
+        for (;;) {
+            int current = references.get();
+            if (current == 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference.
+     *
+     * @return true if this was the last reference, false otherwise
+     */
+    public boolean release() {
+        return references.decrementAndGet() == 0;
+    }
+
+    /**
+     * Requests destruction of the contextual instances. The instances are destroyed by the thread which releases the last
+     * reference.
+     */
+    public void requestDestruction() {
+        this.destructionRequested = true;
+    }
+
+    public boolean isDestructionRequested() {
+        return destructionRequested;
+    }
+
+    public BoundBeanStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public synchronized <T> ContextualInstance<T> get(BeanIdentifier id) {
+        return delegate.get(id);
+    }
+
+    @Override
+    public synchronized boolean contains(BeanIdentifier id) {
+        return delegate.contains(id);
+    }
+
+    @Override
+    public synchronized void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public synchronized Iterator<BeanIdentifier> iterator() {
+        List<BeanIdentifier> ids = new ArrayList<BeanIdentifier>();
+        for (BeanIdentifier id : delegate) {
+            ids.add(id);
+        }
+        return ids.iterator();
+    }
+
+    @Override
+    public synchronized <T> void put(BeanIdentifier id, ContextualInstance<T> contextualInstance) {
+        delegate.put(id, contextualInstance);
+    }
+
+    @Override
+    public LockedBean lock(BeanIdentifier id) {
+        return lockStore.lock(id);
+    }
+
+    @Override
+    public synchronized <T> ContextualInstance<T> remove(BeanIdentifier id) {
+        return delegate.remove(id);
+    }
+
+    @Override
+    public synchronized boolean detach() {
+        return delegate.detach();
+    }
+
+    @Override
+    public synchronized boolean attach() {
+        return delegate.attach();
+    }
+
+    @Override
+    public synchronized boolean isAttached() {
+        return delegate.isAttached();
+    }
+
+    @Override
+    public String toString() {
+        return "shared " + delegate;
+    }
+}
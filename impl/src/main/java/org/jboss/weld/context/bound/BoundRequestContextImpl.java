@@ -48,6 +48,16 @@ public class BoundRequestContextImpl extends AbstractBoundContext<Map<String, Ob
         }
     }
 
+    @Override
+    protected void restoreAssociation(Object association) {
+        RequestScopedBeanCache.beginRequest();
+    }
+
+    @Override
+    protected void releaseAssociation() {
+        RequestScopedBeanCache.endRequest();
+    }
+
     @Override
     public void invalidate() {
         super.invalidate();
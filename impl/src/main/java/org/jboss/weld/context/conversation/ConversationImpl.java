@@ -17,6 +17,8 @@
 package org.jboss.weld.context.conversation;
 
 import java.io.Serializable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -43,6 +45,8 @@ public class ConversationImpl implements ManagedConversation, Serializable {
     private long timeout;
 
     private final ReentrantLock concurrencyLock;
+    // created lazily, only used if requests wait for the conversation asynchronously
+    private transient volatile Queue<Runnable> unlockCallbacks;
     private long lastUsed;
 
     private BeanManagerImpl manager;
@@ -184,7 +188,55 @@ public class ConversationImpl implements ManagedConversation, Serializable {
         } else {
             ConversationLogger.LOG.illegalConversationUnlockAttempt(this, "not owner");
         }
-        return !concurrencyLock.isLocked();
+        if (!concurrencyLock.isLocked()) {
+            runUnlockCallbacks();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if the conversation is locked by a request
+     */
+    public boolean isLocked() {
+        return concurrencyLock.isLocked();
+    }
+
+    /**
+     * Registers a callback to be run once the conversation is unlocked. The callback is run by the thread which unlocks the
+     * conversation, or immediately if the conversation is not locked any more. This allows a request to wait for a busy
+     * conversation without blocking a thread.
+     *
+     * @param callback the callback which should not block
+     */
+    public void runWhenUnlocked(Runnable callback) {
+        getUnlockCallbacks().add(callback);
+        // the conversation may have been unlocked before the callback was registered
+        if (!concurrencyLock.isLocked()) {
+            runUnlockCallbacks();
+        }
+    }
+
+    private synchronized Queue<Runnable> getUnlockCallbacks() {
+        if (unlockCallbacks == null) {
+            unlockCallbacks = new ConcurrentLinkedQueue<Runnable>();
+        }
+        return unlockCallbacks;
+    }
+
+    private void runUnlockCallbacks() {
+        Queue<Runnable> callbacks = unlockCallbacks;
+        if (callbacks == null) {
+            return;
+        }
+        for (Runnable callback = callbacks.poll(); callback != null; callback = callbacks.poll()) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                // e.g. the waiting request timed out in the meantime
+                ConversationLogger.LOG.unableToResumeRequestForConversation(id, e);
+            }
+        }
     }
 
     private void verifyConversationContextActive() {
@@ -28,7 +28,9 @@ import javax.enterprise.context.RequestScoped;
 import javax.servlet.http.HttpServletRequest;
 
 import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
+import org.jboss.weld.context.beanstore.SharedBoundBeanStore;
 import org.jboss.weld.context.beanstore.SimpleNamingScheme;
 import org.jboss.weld.context.beanstore.http.RequestBeanStore;
 import org.jboss.weld.context.cache.RequestScopedBeanCache;
@@ -71,13 +73,31 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
         }
     }
 
+    @Override
+    protected void restoreAssociation(Object association) {
+        RequestScopedBeanCache.beginRequest();
+    }
+
+    @Override
+    protected void releaseAssociation() {
+        RequestScopedBeanCache.endRequest();
+    }
+
     public Class<? extends Annotation> getScope() {
         return RequestScoped.class;
     }
 
     public HttpServletRequest getHttpServletRequest() {
-        if (getBeanStore() instanceof RequestBeanStore) {
-            return Reflections.<RequestBeanStore>cast(getBeanStore()).getRequest();
+        HttpServletRequest pending = getPendingStorage();
+        if (pending != null) {
+            return pending;
+        }
+        BoundBeanStore beanStore = getBeanStore();
+        if (beanStore instanceof SharedBoundBeanStore) {
+            beanStore = Reflections.<SharedBoundBeanStore>cast(beanStore).getDelegate();
+        }
+        if (beanStore instanceof RequestBeanStore) {
+            return Reflections.<RequestBeanStore>cast(beanStore).getRequest();
         }
         return null;
     }
@@ -38,6 +38,8 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
     }
 
     public boolean destroy(HttpSession session) {
+        // a lazily activated context has to be associated with the request first, otherwise it would be destroyed as if outside of a request
+        checkContextInitialized();
         if (getBeanStore() == null) {
             try {
                 HttpConversationContext conversationContext = getConversationContext();
@@ -88,7 +88,8 @@ public class LazyHttpConversationContextImpl extends HttpConversationContextImpl
 
     @Override
     protected void checkContextInitialized() {
-        if (!isInitialized()) {
+        // a context restored from a snapshot in another thread is initialized by the owning thread
+        if (!isInitialized() && !isShared()) {
             initialize(ConversationContextActivator.determineConversationId(getRequest(), getParameterName()));
         }
     }
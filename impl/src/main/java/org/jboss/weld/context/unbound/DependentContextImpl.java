@@ -40,6 +40,7 @@ import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.exceptions.UnsupportedOperationException;
 import org.jboss.weld.injection.producer.AbstractMemberProducer;
 import org.jboss.weld.injection.producer.BasicInjectionTarget;
+import org.jboss.weld.metrics.RuntimeMetrics;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
 /**
@@ -50,9 +51,16 @@ import org.jboss.weld.serialization.spi.ContextualStore;
 public class DependentContextImpl implements DependentContext {
 
     private final ContextualStore contextualStore;
+    // null unless runtime metrics are enabled
+    private final RuntimeMetrics metrics;
 
     public DependentContextImpl(ContextualStore contextualStore) {
+        this(contextualStore, null);
+    }
+
+    public DependentContextImpl(ContextualStore contextualStore, RuntimeMetrics metrics) {
         this.contextualStore = contextualStore;
+        this.metrics = metrics;
     }
 
     /**
@@ -67,6 +75,9 @@ public class DependentContextImpl implements DependentContext {
         }
         if (creationalContext != null) {
             T instance = contextual.create(creationalContext);
+            if (metrics != null) {
+                metrics.dependentInstanceCreated(this, contextual);
+            }
             if (creationalContext instanceof WeldCreationalContext<?>) {
                 addDependentInstance(instance, contextual, (WeldCreationalContext<T>) creationalContext);
             }
@@ -22,6 +22,7 @@ import javax.interceptor.InvocationContext;
 
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.ejb.EjbRequestContext;
+import org.jboss.weld.ejb.EJBRequestScopeActivationSupport.RequestScopeActivation;
 import org.jboss.weld.literal.DestroyedLiteral;
 import org.jboss.weld.literal.InitializedLiteral;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -40,6 +41,8 @@ import org.jboss.weld.manager.BeanManagerImpl;
 public abstract class AbstractEJBRequestScopeActivationInterceptor implements Serializable {
     private static final long serialVersionUID = 7327757031821596782L;
 
+    private transient volatile RequestScopeActivation activation;
+
     public Object aroundInvoke(InvocationContext invocation) throws Exception {
 
         if (isRequestContextActive()) {
@@ -51,7 +54,7 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
                 requestContext.activate();
                 try {
                     // An event with qualifier @Initialized(RequestScoped.class) is fired when the request context is initialized
-                    getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), InitializedLiteral.REQUEST);
+                    fireRequestInitialized();
                     return invocation.proceed();
                 } finally {
                     requestContext.invalidate();
@@ -60,12 +63,16 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
             } finally {
                 requestContext.dissociate(invocation);
                 // An event with qualifier @Destroyed(RequestScoped.class) when the request context is destroyed
-                getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), DestroyedLiteral.REQUEST);
+                fireRequestDestroyed();
             }
         }
     }
 
     protected boolean isRequestContextActive() {
+        RequestScopeActivation activation = getActivation();
+        if (activation != null) {
+            return activation.isRequestContextActive();
+        }
         for (RequestContext requestContext : getBeanManager().instance().select(RequestContext.class)) {
             if (requestContext.isActive()) {
                 return true;
@@ -75,10 +82,48 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
     }
 
     protected EjbRequestContext getEjbRequestContext() {
+        RequestScopeActivation activation = getActivation();
+        if (activation != null) {
+            return activation.getEjbRequestContext();
+        }
         return getBeanManager().instance().select(EjbRequestContext.class).get();
     }
 
-    protected abstract BeanManagerImpl getBeanManager();
-}
+    private void fireRequestInitialized() {
+        RequestScopeActivation activation = getActivation();
+        if (activation != null) {
+            activation.fireRequestInitialized();
+        } else {
+            getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), InitializedLiteral.REQUEST);
+        }
+    }
 
+    private void fireRequestDestroyed() {
+        RequestScopeActivation activation = getActivation();
+        if (activation != null) {
+            activation.fireRequestDestroyed();
+        } else {
+            getBeanManager().getGlobalLenientObserverNotifier().fireEvent(new Object(), DestroyedLiteral.REQUEST);
+        }
+    }
+
+    /**
+     * Returns the resolved request scope activation metadata or null if {@link EJBRequestScopeActivationSupport} is not
+     * available, in which case everything is resolved dynamically.
+     */
+    private RequestScopeActivation getActivation() {
+        RequestScopeActivation activation = this.activation;
+        if (activation == null) {
+            BeanManagerImpl manager = getBeanManager();
+            EJBRequestScopeActivationSupport support = manager.getServices().get(EJBRequestScopeActivationSupport.class);
+            if (support == null) {
+                return null;
+            }
+            activation = support.getActivation(manager);
+            this.activation = activation;
+        }
+        return activation;
+    }
 
+    protected abstract BeanManagerImpl getBeanManager();
+}
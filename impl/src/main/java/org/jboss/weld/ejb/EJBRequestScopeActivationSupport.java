@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.ejb;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.ejb.EjbRequestContext;
+import org.jboss.weld.event.FastEvent;
+import org.jboss.weld.event.ObserverNotifier;
+import org.jboss.weld.literal.DestroyedLiteral;
+import org.jboss.weld.literal.InitializedLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Holds what {@link AbstractEJBRequestScopeActivationInterceptor} needs on every EJB invocation: the request contexts to check
+ * for activity, the {@link EjbRequestContext} and the request context lifecycle events. These are resolved per
+ * {@link BeanManagerImpl}, eagerly for the bean archives containing EJBs once the deployment is validated (see
+ * {@link #resolve(BeanManagerImpl)}) and on the first invocation for any other bean manager. The request context lifecycle
+ * events are only fired if there is an observer for them.
+ *
+ * @see AbstractEJBRequestScopeActivationInterceptor
+ */
+public class EJBRequestScopeActivationSupport implements Service {
+
+    private final ConcurrentMap<BeanManagerImpl, RequestScopeActivation> activations = new ConcurrentHashMap<BeanManagerImpl, RequestScopeActivation>();
+
+    /**
+     * Resolves the request scope activation metadata of the given bean manager.
+     */
+    public void resolve(BeanManagerImpl manager) {
+        activations.put(manager, new RequestScopeActivation(manager));
+    }
+
+    RequestScopeActivation getActivation(BeanManagerImpl manager) {
+        RequestScopeActivation activation = activations.get(manager);
+        if (activation == null) {
+            activation = new RequestScopeActivation(manager);
+            RequestScopeActivation previous = activations.putIfAbsent(manager, activation);
+            if (previous != null) {
+                activation = previous;
+            }
+        }
+        return activation;
+    }
+
+    @Override
+    public void cleanup() {
+        activations.clear();
+    }
+
+    static class RequestScopeActivation {
+
+        private final List<RequestContext> requestContexts;
+        private final EjbRequestContext ejbRequestContext;
+        private final FastEvent<Object> requestInitializedEvent;
+        private final FastEvent<Object> requestDestroyedEvent;
+
+        RequestScopeActivation(BeanManagerImpl manager) {
+            this.requestContexts = ImmutableList.copyOf(manager.instance().select(RequestContext.class));
+            this.ejbRequestContext = manager.instance().select(EjbRequestContext.class).get();
+            ObserverNotifier notifier = manager.getGlobalLenientObserverNotifier();
+            this.requestInitializedEvent = createEvent(manager, notifier, InitializedLiteral.REQUEST);
+            this.requestDestroyedEvent = createEvent(manager, notifier, DestroyedLiteral.REQUEST);
+        }
+
+        private static FastEvent<Object> createEvent(BeanManagerImpl manager, ObserverNotifier notifier, Annotation qualifier) {
+            if (notifier.resolveObserverMethods(notifier.buildEventResolvable(Object.class, qualifier)).isEmpty()) {
+                return null;
+            }
+            return FastEvent.of(Object.class, manager, notifier, qualifier);
+        }
+
+        boolean isRequestContextActive() {
+            for (RequestContext requestContext : requestContexts) {
+                if (requestContext.isActive()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        EjbRequestContext getEjbRequestContext() {
+            return ejbRequestContext;
+        }
+
+        void fireRequestInitialized() {
+            if (requestInitializedEvent != null) {
+                requestInitializedEvent.fire(new Object());
+            }
+        }
+
+        void fireRequestDestroyed() {
+            if (requestDestroyedEvent != null) {
+                requestDestroyedEvent.fire(new Object());
+            }
+        }
+    }
+}
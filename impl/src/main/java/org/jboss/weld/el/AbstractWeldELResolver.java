@@ -19,6 +19,7 @@ package org.jboss.weld.el;
 import java.beans.FeatureDescriptor;
 import java.lang.annotation.Annotation;
 import java.util.Iterator;
+import java.util.Set;
 
 import javax.el.ELContext;
 import javax.el.ELResolver;
@@ -61,12 +62,14 @@ public abstract class AbstractWeldELResolver extends ELResolver {
             ElLogger.LOG.propertyLookup(propertyString);
             Namespace namespace = null;
             if (base == null) {
-                if (beanManager.getRootNamespace().contains(propertyString)) {
-                    Object value = beanManager.getRootNamespace().get(propertyString);
+                Namespace rootNamespace = beanManager.getRootNamespace();
+                if (rootNamespace.contains(propertyString)) {
+                    Object value = rootNamespace.get(propertyString);
                     context.setPropertyResolved(true);
                     ElLogger.LOG.propertyResolved(propertyString, value);
                     return value;
                 }
+                namespace = rootNamespace;
             } else if (base instanceof Namespace) {
                 namespace = (Namespace) base;
                 // We're definitely the responsible party
@@ -81,14 +84,13 @@ public abstract class AbstractWeldELResolver extends ELResolver {
                 // let the standard EL resolver chain handle the property
                 return null;
             }
-            final String name;
-            if (namespace != null) {
+            // Try the beans held by the namespace first
+            Set<Bean<?>> beans = namespace.getBeans(propertyString);
+            if (beans == null) {
                 // Try looking in the manager for a bean
-                name = namespace.qualifyName(propertyString);
-            } else {
-                name = propertyString;
+                beans = beanManager.getBeans(namespace.qualifyName(propertyString));
             }
-            Object value = lookup(beanManager, context, name);
+            Object value = lookup(beanManager, context, beans);
             if (value != null) {
                 context.setPropertyResolved(true);
                 ElLogger.LOG.propertyResolved(propertyString, value);
@@ -98,8 +100,8 @@ public abstract class AbstractWeldELResolver extends ELResolver {
         return null;
     }
 
-    private Object lookup(BeanManagerImpl beanManager, ELContext context, String name) {
-        final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+    private Object lookup(BeanManagerImpl beanManager, ELContext context, Set<Bean<?>> beans) {
+        final Bean<?> bean = beanManager.resolve(beans);
         if (bean == null) {
             return null;
         }
@@ -16,11 +16,19 @@
  */
 package org.jboss.weld.el;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
 
 /**
  * A namespace for bean names
+ * <p>
+ * A namespace hierarchy may also hold the resolved beans of each bean name, in which case it forms a trie of bean names: the beans
+ * named <code>a.b.c</code> are held by the namespace <code>a.b</code> under the key <code>c</code>.
  *
  * @author Gavin King
  */
@@ -28,6 +36,8 @@ public class Namespace {
     private final String qualifiedName;
     private final String name;
     private final Map<String, Namespace> children;
+    // the resolved beans of the names qualified by this namespace, null if the hierarchy does not hold beans
+    private final Map<String, Set<Bean<?>>> beans;
 
     /**
      * Create a new namespace hierarchy
@@ -35,26 +45,55 @@ public class Namespace {
      * @param namespace
      */
     public Namespace(Iterable<String> namespaces) {
-        this(null, null);
+        this(null, null, false);
+        for (String namespace : namespaces) {
+            putNamespace(namespace);
+        }
+    }
+
+    /**
+     * Create a new namespace hierarchy which also holds the given resolved beans
+     *
+     * @param namespaces
+     * @param resolvedBeans the resolved beans for each bean name
+     */
+    public Namespace(Iterable<String> namespaces, Map<String, Set<Bean<?>>> resolvedBeans) {
+        this(null, null, true);
         for (String namespace : namespaces) {
-            String[] hierarchy = namespace.split("\\.");
-            Namespace n = this;
-            for (String s : hierarchy) {
-                n = n.putIfAbsent(s);
-            }
+            putNamespace(namespace);
+        }
+        for (Entry<String, Set<Bean<?>>> entry : resolvedBeans.entrySet()) {
+            String beanName = entry.getKey();
+            int lastDot = beanName.lastIndexOf('.');
+            Namespace namespace = lastDot > 0 ? putNamespace(beanName.substring(0, lastDot)) : this;
+            namespace.beans.put(beanName.substring(lastDot + 1), entry.getValue());
         }
     }
 
     protected Namespace(String name, String qualifiedName) {
+        this(name, qualifiedName, false);
+    }
+
+    private Namespace(String name, String qualifiedName, boolean holdsBeans) {
         this.name = name;
         this.qualifiedName = qualifiedName;
         this.children = new HashMap<String, Namespace>();
+        this.beans = holdsBeans ? new HashMap<String, Set<Bean<?>>>() : null;
+    }
+
+    private Namespace putNamespace(String namespace) {
+        String[] hierarchy = namespace.split("\\.");
+        Namespace n = this;
+        for (String s : hierarchy) {
+            n = n.putIfAbsent(s);
+        }
+        return n;
     }
 
     private Namespace putIfAbsent(String key) {
         Namespace result = children.get(key);
         if (result == null) {
-            result = new Namespace(key, qualifyName(key));
+            result = new Namespace(key, qualifyName(key), beans != null);
             children.put(key, result);
         }
         return result;
@@ -68,6 +107,20 @@ public class Namespace {
         return children.containsKey(key);
     }
 
+    /**
+     * Returns the resolved beans of the name qualified by this namespace with the given key.
+     *
+     * @param key the last segment of the bean name
+     * @return the resolved beans, or <code>null</code> if this namespace hierarchy does not hold beans
+     */
+    public Set<Bean<?>> getBeans(String key) {
+        if (beans == null) {
+            return null;
+        }
+        Set<Bean<?>> result = beans.get(key);
+        return result == null ? Collections.<Bean<?>>emptySet() : result;
+    }
+
     public String getQualifiedName() {
         return qualifiedName;
     }
@@ -27,6 +27,7 @@ import org.jboss.weld.bootstrap.api.BootstrapService;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.resolution.ResolutionProfile;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
 import org.jboss.weld.resources.SharedObjectCache;
 
@@ -57,7 +58,7 @@ public class GlobalObserverNotifierService implements BootstrapService {
     public GlobalObserverNotifierService(ServiceRegistry services, String contextId) {
         this.beanManagers = new CopyOnWriteArraySet<BeanManagerImpl>();
         TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class), services.get(SharedObjectCache.class),
-                createGlobalObserverMethodIterable(beanManagers));
+                createGlobalObserverMethodIterable(beanManagers), services.get(ResolutionProfile.class));
         this.globalLenientObserverNotifier = ObserverNotifier.of(contextId, resolver, services, false);
         this.globalStrictObserverNotifier = ObserverNotifier.of(contextId, resolver, services, true);
     }
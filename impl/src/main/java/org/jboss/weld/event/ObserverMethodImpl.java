@@ -54,7 +54,6 @@ import org.jboss.weld.injection.attributes.SpecialParameterInjectionPoint;
 import org.jboss.weld.injection.attributes.WeldInjectionPointAttributes;
 import org.jboss.weld.logging.EventLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.util.Observers;
 import org.jboss.weld.util.reflection.HierarchyDiscovery;
 
@@ -100,7 +99,7 @@ public class ObserverMethodImpl<T, X> implements ObserverMethod<T> {
         EnhancedAnnotatedParameter<?, ? super X> eventParameter = observer.getEnhancedParameters(Observes.class).get(0);
         this.eventType = new HierarchyDiscovery(declaringBean.getBeanClass()).resolveType(eventParameter.getBaseType());
         this.id = createId(observer, declaringBean);
-        this.bindings = manager.getServices().get(SharedObjectCache.class)
+        this.bindings = manager.getSharedObjectCache()
                 .getSharedSet(observer.getEnhancedParameters(Observes.class).get(0).getMetaAnnotations(Qualifier.class));
         Observes observesAnnotation = observer.getEnhancedParameters(Observes.class).get(0).getAnnotation(Observes.class);
         this.reception = observesAnnotation.notifyObserver();
@@ -23,11 +23,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Set;
 
+import javax.enterprise.inject.spi.EventMetadata;
 import javax.enterprise.inject.spi.ObserverMethod;
 
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.injection.ThreadLocalStackService.ThreadLocalStack;
 import org.jboss.weld.literal.AnyLiteral;
 import org.jboss.weld.logging.UtilLogger;
+import org.jboss.weld.metrics.RuntimeMetrics;
 import org.jboss.weld.resolution.Resolvable;
 import org.jboss.weld.resolution.ResolvableBuilder;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
@@ -74,12 +77,15 @@ public class ObserverNotifier {
     private final boolean strict;
     protected final CurrentEventMetadata currentEventMetadata;
     private final LoadingCache<Type, RuntimeException> eventTypeCheckCache;
+    // null unless runtime metrics are enabled
+    private final RuntimeMetrics metrics;
 
     protected ObserverNotifier(TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         this.resolver = resolver;
         this.sharedObjectCache = services.get(SharedObjectCache.class);
         this.strict = strict;
         this.currentEventMetadata = services.get(CurrentEventMetadata.class);
+        this.metrics = services.get(RuntimeMetrics.class);
         if (strict) {
             eventTypeCheckCache = CacheBuilder.newBuilder().build(new EventTypeCheck());
         } else {
@@ -118,13 +124,14 @@ public class ObserverNotifier {
     }
 
     public <T> void notifyObservers(final EventPacket<T> eventPacket, final Set<ObserverMethod<? super T>> observers) {
-        currentEventMetadata.push(eventPacket);
+        final ThreadLocalStack<EventMetadata> stack = currentEventMetadata.getStack();
+        stack.push(eventPacket);
         try {
             for (ObserverMethod<? super T> observer : observers) {
                 notifyObserver(eventPacket, observer);
             }
         } finally {
-            currentEventMetadata.pop();
+            stack.pop();
         }
     }
 
@@ -136,7 +143,7 @@ public class ObserverNotifier {
 
     public Resolvable buildEventResolvable(Type eventType, Set<Annotation> qualifiers) {
         // We can always cache as this is only ever called by Weld where we avoid non-static inner classes for annotation literals
-        Set<Type> typeClosure = sharedObjectCache.getTypeClosureHolder(eventType).get();
+        Set<Type> typeClosure = sharedObjectCache.getTypeClosure(eventType);
         return new ResolvableBuilder(resolver.getMetaAnnotationStore())
             .addTypes(typeClosure)
             .addType(Object.class)
@@ -148,7 +155,7 @@ public class ObserverNotifier {
     public Resolvable buildEventResolvable(Type eventType, Annotation... qualifiers) {
         // We can always cache as this is only ever called by Weld where we avoid non-static inner classes for annotation literals
         return new ResolvableBuilder(resolver.getMetaAnnotationStore())
-            .addTypes(sharedObjectCache.getTypeClosureHolder(eventType).get())
+            .addTypes(sharedObjectCache.getTypeClosure(eventType))
             .addType(Object.class)
             .addQualifiers(qualifiers)
             .addQualifierIfAbsent(AnyLiteral.INSTANCE)
@@ -170,8 +177,20 @@ public class ObserverNotifier {
         notifyObserver(eventPacket.getPayload(), observer);
     }
 
-    protected <T> void notifyObserver(final T event, final ObserverMethod<? super T> observer) {
-        observer.notify(event);
+    /**
+     * Notifies a single observer, e.g. so that a container lifecycle event can act between the notifications of its observers.
+     */
+    public <T> void notifyObserver(final T event, final ObserverMethod<? super T> observer) {
+        if (metrics == null) {
+            observer.notify(event);
+        } else {
+            final long start = System.nanoTime();
+            try {
+                observer.notify(event);
+            } finally {
+                metrics.observerNotified(observer, System.nanoTime() - start);
+            }
+        }
     }
 
     public void checkEventObjectType(Object event) {
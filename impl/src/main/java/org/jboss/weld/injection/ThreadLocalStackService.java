@@ -17,16 +17,90 @@
 package org.jboss.weld.injection;
 
 import java.util.EmptyStackException;
-import java.util.Stack;
 
 import org.jboss.weld.bootstrap.api.Service;
 
+/**
+ * Holds a stack per thread. The stack of a thread is created when first used and stays installed afterwards so that pushing and
+ * popping does not allocate. Callers which push and pop on a hot path should obtain the stack of the current thread once using
+ * {@link #getStack()} and operate on it directly to avoid repeated thread local lookups.
+ * <p>
+ * Popped elements are not retained and the stack does not refer to the thread local, which belongs to this service. Once the
+ * service of a container is no longer reachable, the stacks left on pooled threads therefore become stale thread local entries,
+ * which are expunged by the threads, instead of pinning the container. {@link #cleanup()} removes the stack of the calling thread.
+ *
+ * @param <T> the type of the elements
+ */
 public class ThreadLocalStackService<T> implements Service {
 
-    private final ThreadLocal<Stack<T>> threadLocalStack;
+    /**
+     * An array-backed stack confined to a single thread and therefore not synchronized.
+     *
+     * @param <T> the type of the elements
+     */
+    public static final class ThreadLocalStack<T> {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private Object[] elements;
+        private int size;
+
+        private ThreadLocalStack() {
+            this.elements = new Object[INITIAL_CAPACITY];
+        }
+
+        public void push(T item) {
+            if (size == elements.length) {
+                Object[] copy = new Object[size * 2];
+                System.arraycopy(elements, 0, copy, 0, size);
+                elements = copy;
+            }
+            elements[size++] = item;
+        }
+
+        /**
+         * @throws EmptyStackException if the stack is empty
+         */
+        @SuppressWarnings("unchecked")
+        public T pop() {
+            if (size == 0) {
+                throw new EmptyStackException();
+            }
+            T item = (T) elements[--size];
+            // do not retain the element
+            elements[size] = null;
+            return item;
+        }
+
+        /**
+         * @return the element on the top of the stack or null if the stack is empty
+         */
+        @SuppressWarnings("unchecked")
+        public T peek() {
+            return size == 0 ? null : (T) elements[size - 1];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    private final ThreadLocal<ThreadLocalStack<T>> threadLocalStack;
 
     public ThreadLocalStackService() {
-        this.threadLocalStack = new ThreadLocal<Stack<T>>();
+        this.threadLocalStack = new ThreadLocal<ThreadLocalStack<T>>();
+    }
+
+    /**
+     * @return the stack of the current thread
+     */
+    public ThreadLocalStack<T> getStack() {
+        ThreadLocalStack<T> stack = threadLocalStack.get();
+        if (stack == null) {
+            stack = new ThreadLocalStack<T>();
+            threadLocalStack.set(stack);
+        }
+        return stack;
     }
 
     /**
@@ -38,26 +112,11 @@ public class ThreadLocalStackService<T> implements Service {
      * @return the injection point added, or null if previous existed did not exist
      */
     public void push(T item) {
-        Stack<T> stack = threadLocalStack.get();
-        if (stack == null) {
-            stack = new Stack<T>();
-            threadLocalStack.set(stack);
-        }
-        stack.push(item);
+        getStack().push(item);
     }
 
     public T pop() {
-        Stack<T> stack = threadLocalStack.get();
-        if (stack == null) {
-            throw new EmptyStackException();
-        }
-        try {
-            return stack.pop();
-        } finally {
-            if (stack.isEmpty()) {
-                threadLocalStack.remove();
-            }
-        }
+        return getStack().pop();
     }
 
     /**
@@ -66,19 +125,13 @@ public class ThreadLocalStackService<T> implements Service {
      * @return the current injection point
      */
     public T peek() {
-        Stack<T> stack = threadLocalStack.get();
-        if (stack == null) {
-            return null;
-        }
-        if (!stack.empty()) {
-            return stack.peek();
-        } else {
-            return null;
-        }
+        // a thread which never pushed does not get a stack installed
+        ThreadLocalStack<T> stack = threadLocalStack.get();
+        return stack == null ? null : stack.peek();
     }
 
     public void cleanup() {
-
+        threadLocalStack.remove();
     }
 
 }
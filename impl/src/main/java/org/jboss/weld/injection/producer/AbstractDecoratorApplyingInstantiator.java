@@ -25,14 +25,13 @@ import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
 import org.jboss.weld.bean.proxy.DecorationHelper;
+import org.jboss.weld.bean.proxy.DecoratorChain;
 import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.bean.proxy.ProxyObject;
 import org.jboss.weld.bean.proxy.TargetBeanInstance;
 import org.jboss.weld.exceptions.WeldException;
-import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.serialization.spi.ContextualStore;
 
 /**
  * Common functionality for an instantiator capable of applying decorators to a given instance.
@@ -45,21 +44,19 @@ import org.jboss.weld.serialization.spi.ContextualStore;
 public abstract class AbstractDecoratorApplyingInstantiator<T> extends ForwardingInstantiator<T> {
 
     private final Bean<T> bean;
-    private final Class<T> proxyClass;
-    private final List<Decorator<?>> decorators;
+    private final DecoratorChain<T> decoratorChain;
 
     public AbstractDecoratorApplyingInstantiator(String contextId, Instantiator<T> delegate, Bean<T> bean, List<Decorator<?>> decorators) {
         super(delegate);
         this.bean = bean;
-        this.decorators = decorators;
         ProxyFactory<T> factory = new ProxyFactory<T>(contextId, bean.getBeanClass(), bean.getTypes(), bean);
-        // eagerly generate the proxy class
-        this.proxyClass = factory.getProxyClass();
+        // eagerly generate the proxy class and compute the decorator chain
+        this.decoratorChain = new DecoratorChain<T>(bean, factory.getProxyClass(), decorators);
     }
 
     @Override
     public T newInstance(CreationalContext<T> ctx, BeanManagerImpl manager) {
-        InjectionPoint originalInjectionPoint = manager.getServices().get(CurrentInjectionPoint.class).peek();
+        InjectionPoint originalInjectionPoint = manager.getCurrentInjectionPoint().peek();
         return applyDecorators(delegate().newInstance(ctx, manager), ctx, originalInjectionPoint, manager);
     }
 
@@ -67,7 +64,7 @@ public abstract class AbstractDecoratorApplyingInstantiator<T> extends Forwardin
 
     protected T getOuterDelegate(T instance, CreationalContext<T> creationalContext, InjectionPoint originalInjectionPoint, BeanManagerImpl manager) {
         TargetBeanInstance beanInstance = new TargetBeanInstance(bean, instance);
-        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass, manager, manager.getServices().get(ContextualStore.class), decorators);
+        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, decoratorChain, manager, manager.getContextualStore());
         DecorationHelper.push(decorationHelper);
         try {
             final T outerDelegate = decorationHelper.getNextDelegate(originalInjectionPoint, creationalContext);
@@ -90,11 +87,11 @@ public abstract class AbstractDecoratorApplyingInstantiator<T> extends Forwardin
     }
 
     public Class<T> getProxyClass() {
-        return proxyClass;
+        return decoratorChain.getProxyClass();
     }
 
     public List<Decorator<?>> getDecorators() {
-        return decorators;
+        return decoratorChain.getDecorators();
     }
 
     @Override
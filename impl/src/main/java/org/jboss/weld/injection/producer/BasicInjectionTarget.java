@@ -82,7 +82,7 @@ public class BasicInjectionTarget<T> extends AbstractProducer<T> implements Inje
 
     @Override
     public T produce(CreationalContext<T> ctx) {
-        return instantiator.newInstance(ctx, beanManager);
+        return getInstantiator().newInstance(ctx, beanManager);
     }
 
     @Override
@@ -92,12 +92,12 @@ public class BasicInjectionTarget<T> extends AbstractProducer<T> implements Inje
 
     @Override
     public void postConstruct(T instance) {
-        invoker.postConstruct(instance, instantiator);
+        invoker.postConstruct(instance, getInstantiator());
     }
 
     @Override
     public void preDestroy(T instance) {
-        invoker.preDestroy(instance, instantiator);
+        invoker.preDestroy(instance, getInstantiator());
     }
 
     @Override
@@ -127,11 +127,11 @@ public class BasicInjectionTarget<T> extends AbstractProducer<T> implements Inje
     }
 
     public boolean hasInterceptors() {
-        return instantiator.hasInterceptorSupport();
+        return getInstantiator().hasInterceptorSupport();
     }
 
     public boolean hasDecorators() {
-        return instantiator.hasDecoratorSupport();
+        return getInstantiator().hasDecoratorSupport();
     }
 
     protected void initializeAfterBeanDiscovery(EnhancedAnnotatedType<T> annotatedType) {
@@ -25,6 +25,7 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.Decorator;
 import javax.enterprise.inject.spi.Interceptor;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedConstructor;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedType;
@@ -43,10 +44,15 @@ import org.jboss.weld.resources.ClassTransformer;
 public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
 
     private final Bean<T> bean;
+    private final boolean lazyInitialization;
+
+    private volatile DeferredInstantiatorInitialization<T> deferredInitialization;
+    private boolean initializingInstantiator;
 
     public BeanInjectionTarget(EnhancedAnnotatedType<T> type, Bean<T> bean, BeanManagerImpl beanManager) {
         super(type, bean, beanManager);
         this.bean = bean;
+        this.lazyInitialization = SystemPropertiesConfiguration.INSTANCE.isLazyBeanInitializationEnabled();
     }
 
     @Override
@@ -118,6 +124,18 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
             checkDecoratedMethods(annotatedType, decorators);
         }
 
+        boolean hasConstructorInterceptors = interceptionModel != null && interceptionModel.hasExternalConstructorInterceptors();
+        if (lazyInitialization && getBean() != null && (hasNonConstructorInterceptors || hasDecorators || hasConstructorInterceptors)) {
+            // the interception model and decorators are known (and validated) already, only defer building the instantiator chain
+            this.deferredInitialization = new DeferredInstantiatorInitialization<T>(annotatedType, interceptionModel, decorators);
+        } else {
+            initializeInstantiator(annotatedType, interceptionModel, decorators);
+        }
+    }
+
+    private void initializeInstantiator(EnhancedAnnotatedType<T> annotatedType, InterceptionModel interceptionModel, List<Decorator<?>> decorators) {
+        boolean hasNonConstructorInterceptors = interceptionModel != null && (interceptionModel.hasExternalNonConstructorInterceptors() || interceptionModel.hasTargetClassInterceptors());
+        boolean hasDecorators = decorators != null && !decorators.isEmpty();
         if (hasNonConstructorInterceptors || hasDecorators) {
             if (!(getInstantiator() instanceof DefaultInstantiator<?>)) {
                 throw new java.lang.IllegalStateException("Unexpected instantiator " + getInstantiator());
@@ -137,6 +155,42 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
         }
     }
 
+    /**
+     * Builds the instantiator chain deferred by {@link #initializeAfterBeanDiscovery(EnhancedAnnotatedType)}. Once the chain is
+     * built, the volatile read of {@link #deferredInitialization} is the only overhead left.
+     * <p>
+     * Problems which are only detected when the enhanced subclass is generated (e.g. a {@link org.jboss.weld.serialization.spi.ProxyServices}
+     * failure) are therefore not reported during deployment but when the first instance of the bean is created. If building the
+     * chain fails, the partially built chain is discarded so that every subsequent attempt fails the same way.
+     */
+    private void initializeDeferredInstantiator() {
+        synchronized (this) {
+            DeferredInstantiatorInitialization<T> deferred = this.deferredInitialization;
+            // the building thread itself calls getInstantiator() while assembling the chain
+            if (deferred != null && !initializingInstantiator) {
+                initializingInstantiator = true;
+                Instantiator<T> original = super.getInstantiator();
+                try {
+                    initializeInstantiator(deferred.annotatedType, deferred.interceptionModel, deferred.decorators);
+                    this.deferredInitialization = null;
+                } catch (RuntimeException e) {
+                    setInstantiator(original);
+                    throw e;
+                } finally {
+                    initializingInstantiator = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Instantiator<T> getInstantiator() {
+        if (deferredInitialization != null) {
+            initializeDeferredInstantiator();
+        }
+        return super.getInstantiator();
+    }
+
     protected void setupConstructorInterceptionInstantiator(InterceptionModel interceptionModel) {
         if (interceptionModel != null && interceptionModel.hasExternalConstructorInterceptors()) {
             setInstantiator(new ConstructorInterceptionInstantiator<T>(getInstantiator(), interceptionModel, getType()));
@@ -202,4 +256,20 @@ public class BeanInjectionTarget<T> extends BasicInjectionTarget<T> {
     public Bean<T> getBean() {
         return bean;
     }
+
+    /**
+     * Holds the metadata needed to build the instantiator chain of a bean until its first instance is created.
+     */
+    private static class DeferredInstantiatorInitialization<T> {
+
+        private final EnhancedAnnotatedType<T> annotatedType;
+        private final InterceptionModel interceptionModel;
+        private final List<Decorator<?>> decorators;
+
+        private DeferredInstantiatorInitialization(EnhancedAnnotatedType<T> annotatedType, InterceptionModel interceptionModel, List<Decorator<?>> decorators) {
+            this.annotatedType = annotatedType;
+            this.interceptionModel = interceptionModel;
+            this.decorators = decorators;
+        }
+    }
 }
@@ -44,7 +44,7 @@ public class StatelessSessionBeanInjector<T> extends DefaultInjector<T> {
 
     public StatelessSessionBeanInjector(EnhancedAnnotatedType<T> type, Bean<T> bean, BeanManagerImpl beanManager) {
         super(type, bean, beanManager);
-        this.currentInjectionPoint = beanManager.getServices().get(CurrentInjectionPoint.class);
+        this.currentInjectionPoint = beanManager.getCurrentInjectionPoint();
     }
 
     @Override
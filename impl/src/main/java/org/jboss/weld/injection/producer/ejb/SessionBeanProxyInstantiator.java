@@ -17,6 +17,7 @@
 package org.jboss.weld.injection.producer.ejb;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 
@@ -33,7 +34,8 @@ import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.injection.producer.Instantiator;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.security.NewInstanceAction;
+import org.jboss.weld.security.GetDeclaredConstructorAction;
+import org.jboss.weld.security.SetAccessibleAction;
 
 /**
  * Instantiator implementation that instantiates a proxy for a session bean.
@@ -43,28 +45,34 @@ import org.jboss.weld.security.NewInstanceAction;
 public class SessionBeanProxyInstantiator<T> implements Instantiator<T> {
 
     private final Class<T> proxyClass;
+    private final Constructor<T> proxyConstructor;
     private final SessionBean<T> bean;
 
     public SessionBeanProxyInstantiator(EnhancedAnnotatedType<T> type, SessionBean<T> bean) {
         this.bean = bean;
         this.proxyClass = new EnterpriseProxyFactory<T>(type.getJavaClass(), bean).getProxyClass();
+        try {
+            // look up the constructor once so that creating a proxy does not require a privileged action
+            Constructor<T> constructor = AccessController.doPrivileged(GetDeclaredConstructorAction.of(proxyClass));
+            this.proxyConstructor = AccessController.doPrivileged(SetAccessibleAction.of(constructor));
+        } catch (PrivilegedActionException e) {
+            throw new WeldException(BeanLogger.LOG.proxyInstantiationFailed(this), e.getCause());
+        }
     }
 
     @Override
     public T newInstance(CreationalContext<T> ctx, BeanManagerImpl manager) {
         try {
-            T instance = AccessController.doPrivileged(NewInstanceAction.of(proxyClass));
+            T instance = proxyConstructor.newInstance();
             ctx.push(instance);
             ProxyFactory.setBeanInstance(bean.getBeanManager().getContextId(), instance, createEnterpriseTargetBeanInstance(), bean);
             return instance;
-        } catch (PrivilegedActionException e) {
-            if (e.getCause() instanceof InstantiationException) {
-                throw new WeldException(BeanLogger.LOG.proxyInstantiationFailed(this), e.getCause());
-            } else if (e.getCause() instanceof IllegalAccessException) {
-                throw new WeldException(BeanLogger.LOG.proxyInstantiationBeanAccessFailed(this), e.getCause());
-            } else {
-                throw new WeldException(e.getCause());
-            }
+        } catch (InstantiationException e) {
+            throw new WeldException(BeanLogger.LOG.proxyInstantiationFailed(this), e);
+        } catch (IllegalAccessException e) {
+            throw new WeldException(BeanLogger.LOG.proxyInstantiationBeanAccessFailed(this), e);
+        } catch (InvocationTargetException e) {
+            throw new WeldException(e.getCause());
         } catch (Exception e) {
             throw BeanLogger.LOG.ejbNotFound(proxyClass, e);
         }
@@ -2,12 +2,12 @@ package org.jboss.weld.interceptor.proxy;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
-import java.security.AccessController;
 
 import org.jboss.weld.bean.proxy.MethodHandler;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
 import org.jboss.weld.interceptor.util.InterceptionUtils;
-import org.jboss.weld.security.SetAccessibleAction;
+import org.jboss.weld.metrics.RuntimeMetrics;
+import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * @author Marius Bogoevici
@@ -17,14 +17,17 @@ import org.jboss.weld.security.SetAccessibleAction;
 public class InterceptorMethodHandler implements MethodHandler, Serializable {
 
     private final InterceptionContext ctx;
+    // null unless runtime metrics are enabled, not restored after deserialization
+    private final transient RuntimeMetrics metrics;
 
     public InterceptorMethodHandler(InterceptionContext ctx) {
         this.ctx = ctx;
+        this.metrics = ctx.getManager().getServices().get(RuntimeMetrics.class);
     }
 
     @Override
     public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
-        AccessController.doPrivileged(SetAccessibleAction.of(thisMethod));
+        Reflections.ensureAccessible(thisMethod);
         if (proceed == null) {
             if (thisMethod.getName().equals(InterceptionUtils.POST_CONSTRUCT)) {
                 return executeInterception(self, null, null, InterceptionType.POST_CONSTRUCT);
@@ -35,7 +38,15 @@ public class InterceptorMethodHandler implements MethodHandler, Serializable {
             if (isInterceptorMethod(thisMethod)) {
                 return proceed.invoke(self, args);
             }
-            return executeInterception(self, thisMethod, args, InterceptionType.AROUND_INVOKE);
+            if (metrics == null) {
+                return executeInterception(self, thisMethod, args, InterceptionType.AROUND_INVOKE);
+            }
+            final long start = System.nanoTime();
+            try {
+                return executeInterception(self, thisMethod, args, InterceptionType.AROUND_INVOKE);
+            } finally {
+                metrics.interceptionChainCompleted(thisMethod, System.nanoTime() - start);
+            }
         }
         return null;
     }
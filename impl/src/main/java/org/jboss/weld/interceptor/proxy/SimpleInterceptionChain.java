@@ -18,7 +18,6 @@
 package org.jboss.weld.interceptor.proxy;
 
 import java.lang.reflect.Method;
-import java.security.AccessController;
 import java.util.List;
 
 import javax.interceptor.InvocationContext;
@@ -26,7 +25,7 @@ import javax.interceptor.InvocationContext;
 import org.jboss.weld.interceptor.chain.AbstractInterceptionChain;
 import org.jboss.weld.interceptor.spi.metadata.InterceptorClassMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
-import org.jboss.weld.security.SetAccessibleAction;
+import org.jboss.weld.util.reflection.Reflections;
 
 /**
  * @author <a href="mailto:mariusb@redhat.com">Marius Bogoevici</a>
@@ -49,7 +48,7 @@ public class SimpleInterceptionChain extends AbstractInterceptionChain {
     protected Object interceptorChainCompleted(InvocationContext ctx) throws Exception {
         Method method = ctx.getMethod();
         if (method != null) {
-            AccessController.doPrivileged(SetAccessibleAction.of(method));
+            Reflections.ensureAccessible(method);
             return method.invoke(ctx.getTarget(), ctx.getParameters());
         } else {
             return null;
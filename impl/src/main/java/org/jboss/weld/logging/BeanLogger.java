@@ -623,5 +623,8 @@ public interface BeanLogger extends WeldLogger {
     @Message(id = 1552, value = "An extension ({0}) has a non-static public field ({1}).", format = Format.MESSAGE_FORMAT)
     void extensionWithNonStaticPublicField(Object param1, Object param2);
 
+    @Message(id = 1553, value = "No contextual with the identifier {0} is deployed, the bean may have been removed by a redeployment", format = Format.MESSAGE_FORMAT)
+    IllegalStateException contextualNotFound(Object param1);
+
 
 }
\ No newline at end of file
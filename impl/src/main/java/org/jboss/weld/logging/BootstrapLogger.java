@@ -208,6 +208,35 @@ public interface BootstrapLogger extends WeldLogger {
     @Message(id = 142, value = "Exception loading annotated type using ClassFileServices. Falling back to the default implementation. {0}", format = Format.MESSAGE_FORMAT)
     void exceptionLoadingAnnotatedType(String message);
 
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 143, value = "Bean archive {0} redeployed: {1} bean(s) removed, {2} bean(s) added", format = Format.MESSAGE_FORMAT)
+    void beanArchiveRedeployed(Object bda, int removed, int added);
+
+    @Message(id = 144, value = "Bean archive {0} cannot be redeployed incrementally, {1} is a decorator, an interceptor or takes part in specialization", format = Format.MESSAGE_FORMAT)
+    IllegalStateException beanArchiveRedeploymentNotSupported(Object bda, Object type);
+
+    @Message(id = 145, value = "Unknown bean archive {0}", format = Format.MESSAGE_FORMAT)
+    IllegalArgumentException unknownBeanArchive(Object bda);
+
+    @Message(id = 146, value = "Bean archives can only be redeployed once the container is initialized")
+    IllegalStateException redeployingBeanArchiveBeforeContainerInitialized();
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 147, value = "Unable to read the resolution profile {0}", format = Format.MESSAGE_FORMAT)
+    void unableToReadResolutionProfile(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 148, value = "Unable to write the resolution profile {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteResolutionProfile(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 149, value = "Resolution profile {0} replayed: {1} of {2} entries in {3} ms", format = Format.MESSAGE_FORMAT)
+    void resolutionProfileReplayed(Object file, int replayed, int entries, long time);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 150, value = "Dropping the resolution profile entry {0} which cannot be replayed", format = Format.MESSAGE_FORMAT)
+    void resolutionProfileEntryDropped(Object entry, @Cause Throwable cause);
+
     @LogMessage(level = Logger.Level.TRACE)
     @Message(id = Message.NONE , value = "No PAT observers resolved for {0}. Skipping.", format = Format.MESSAGE_FORMAT)
     void patSkipped(SlimAnnotatedType<?> type);
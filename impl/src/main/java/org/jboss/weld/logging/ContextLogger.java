@@ -149,4 +149,13 @@ public interface ContextLogger extends WeldLogger {
     @Message(id = 222, value = "Loading bean store {0} map from session {1}", format = Format.MESSAGE_FORMAT)
     void loadingBeanStoreMapFromSession(Object param1, Object param2);
 
+    @Message(id = 223, value = "Unable to capture the state of {0} as the context is not active", format = Format.MESSAGE_FORMAT)
+    IllegalStateException cannotSnapshotInactiveContext(Object param1);
+
+    @Message(id = 224, value = "Unable to restore {0}, the bean store has already been released by all threads", format = Format.MESSAGE_FORMAT)
+    IllegalStateException snapshotAlreadyReleased(Object param1);
+
+    @Message(id = 225, value = "Unable to restore {0}, the context is already active in the current thread", format = Format.MESSAGE_FORMAT)
+    IllegalStateException cannotRestoreActiveContext(Object param1);
+
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import static org.jboss.weld.logging.WeldLogger.WELD_PROJECT_CODE;
 
 import org.jboss.logging.Logger;
 import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.Message.Format;
@@ -254,4 +255,15 @@ public interface ConversationLogger extends WeldLogger {
 
     @Message(id = 341, value = "Unable to load current conversations from the associated request, something went badly wrong when associate() was called", format = Format.MESSAGE_FORMAT)
     IllegalStateException unableToLoadCurrentConversations();
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 342, value = "Request suspended until conversation {0} is unlocked", format = Format.MESSAGE_FORMAT)
+    void requestSuspendedForBusyConversation(Object param1);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 343, value = "Unable to resume a request waiting for conversation {0}", format = Format.MESSAGE_FORMAT)
+    void unableToResumeRequestForConversation(Object param1, @Cause Throwable cause);
+
+    @Message(id = 344, value = "Invalid value {0} of the {1} context parameter, supported values are {2}", format = Format.MESSAGE_FORMAT)
+    IllegalArgumentException invalidConversationAccessMode(Object value, Object parameter, Object supportedValues);
 }
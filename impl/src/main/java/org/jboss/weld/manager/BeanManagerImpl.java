@@ -18,7 +18,6 @@ package org.jboss.weld.manager;
 
 import static org.jboss.weld.annotated.AnnotatedTypeValidator.validateAnnotatedType;
 import static org.jboss.weld.util.reflection.Reflections.cast;
-import static org.jboss.weld.util.reflection.Reflections.isCacheable;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
@@ -29,7 +28,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -108,6 +109,7 @@ import org.jboss.weld.exceptions.IllegalArgumentException;
 import org.jboss.weld.exceptions.IllegalStateException;
 import org.jboss.weld.exceptions.InjectionException;
 import org.jboss.weld.injection.CurrentInjectionPoint;
+import org.jboss.weld.injection.ThreadLocalStackService.ThreadLocalStack;
 import org.jboss.weld.injection.attributes.FieldInjectionPointAttributes;
 import org.jboss.weld.injection.attributes.InferringFieldInjectionPointAttributes;
 import org.jboss.weld.injection.attributes.InferringParameterInjectionPointAttributes;
@@ -136,6 +138,7 @@ import org.jboss.weld.resolution.TypeSafeObserverResolver;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.MemberTransformer;
 import org.jboss.weld.resources.SharedObjectCache;
+import org.jboss.weld.serialization.ContextualStoreImpl;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.util.Beans;
@@ -174,6 +177,15 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     */
     private final transient ServiceRegistry services;
 
+    /*
+     * Direct references to the services used on hot paths. These services are registered before any bean manager is created and
+     * never replaced, which allows us to skip the registry lookup.
+     */
+    private final transient MetaAnnotationStore metaAnnotationStore;
+    private final transient ContextualStore contextualStore;
+    private final transient SharedObjectCache sharedObjectCache;
+    private final transient CurrentInjectionPoint currentInjectionPoint;
+
     /*
     * Application scoped data structures
     * ***********************************
@@ -210,6 +222,12 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     * structures that are transitive accessible from other bean deployment
     * archives
     */
+    private final transient ComponentSnapshot<Bean<?>> accessibleBeans;
+    private final transient ComponentSnapshot<ObserverMethod<?>> accessibleObservers;
+    private final transient ComponentSnapshot<Decorator<?>> accessibleDecorators;
+    private final transient ComponentSnapshot<Interceptor<?>> accessibleInterceptors;
+    private final transient ComponentSnapshot<Decorator<?>> globalDecorators;
+    private final transient ComponentSnapshot<Interceptor<?>> globalInterceptors;
     private final transient TypeSafeBeanResolver beanResolver;
     private final transient TypeSafeDecoratorResolver decoratorResolver;
     private final transient TypeSafeInterceptorResolver interceptorResolver;
@@ -381,6 +399,10 @@ public class BeanManagerImpl implements WeldManager, Serializable {
             Set<BeanManagerImpl> managers,
             String contextId) {
         this.services = serviceRegistry;
+        this.metaAnnotationStore = serviceRegistry.get(MetaAnnotationStore.class);
+        this.contextualStore = serviceRegistry.get(ContextualStore.class);
+        this.sharedObjectCache = serviceRegistry.get(SharedObjectCache.class);
+        this.currentInjectionPoint = serviceRegistry.get(CurrentInjectionPoint.class);
         this.enabledBeans = beans;
         this.sharedBeans = transitiveBeans;
         this.decorators = decorators;
@@ -402,17 +424,22 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         // Set up the structure to store accessible managers in
         this.accessibleManagers = new HashSet<BeanManagerImpl>();
 
-        // TODO Currently we build the accessible bean list on the fly, we need to set it in stone once bootstrap is finished...
-        Transform<Bean<?>> beanTransform = new BeanTransform(this);
-        this.beanResolver = new TypeSafeBeanResolver(this, createDynamicAccessibleIterable(beanTransform));
-        this.decoratorResolver = new TypeSafeDecoratorResolver(this, createDynamicGlobalIterable(DecoratorTransform.INSTANCE));
-        this.interceptorResolver = new TypeSafeInterceptorResolver(this, createDynamicGlobalIterable(InterceptorTransform.INSTANCE));
-        this.nameBasedResolver = new NameBasedResolver(this, createDynamicAccessibleIterable(beanTransform));
+        // The accessible components are snapshotted and the snapshots are invalidated whenever the components change
+        this.accessibleBeans = new ComponentSnapshot<Bean<?>>(createDynamicAccessibleIterable(new BeanTransform(this)));
+        this.accessibleObservers = new ComponentSnapshot<ObserverMethod<?>>(createDynamicAccessibleIterable(ObserverMethodTransform.INSTANCE));
+        this.accessibleDecorators = new ComponentSnapshot<Decorator<?>>(createDynamicAccessibleIterable(DecoratorTransform.INSTANCE));
+        this.accessibleInterceptors = new ComponentSnapshot<Interceptor<?>>(createDynamicAccessibleIterable(InterceptorTransform.INSTANCE));
+        this.globalDecorators = new ComponentSnapshot<Decorator<?>>(createDynamicGlobalIterable(DecoratorTransform.INSTANCE));
+        this.globalInterceptors = new ComponentSnapshot<Interceptor<?>>(createDynamicGlobalIterable(InterceptorTransform.INSTANCE));
+        this.beanResolver = new TypeSafeBeanResolver(this, accessibleBeans);
+        this.decoratorResolver = new TypeSafeDecoratorResolver(this, globalDecorators);
+        this.interceptorResolver = new TypeSafeInterceptorResolver(this, globalInterceptors);
+        this.nameBasedResolver = new NameBasedResolver(this, accessibleBeans);
         this.weldELResolver = new WeldELResolver(this);
         this.childActivities = new CopyOnWriteArraySet<BeanManagerImpl>();
 
-        TypeSafeObserverResolver accessibleObserverResolver = new TypeSafeObserverResolver(getServices().get(MetaAnnotationStore.class), getServices().get(
-                SharedObjectCache.class), createDynamicAccessibleIterable(ObserverMethodTransform.INSTANCE));
+        TypeSafeObserverResolver accessibleObserverResolver = new TypeSafeObserverResolver(metaAnnotationStore, sharedObjectCache,
+                accessibleObservers);
         this.accessibleLenientObserverNotifier = ObserverNotifier.of(contextId, accessibleObserverResolver, getServices(), false);
         GlobalObserverNotifierService globalObserverNotifierService = services.get(GlobalObserverNotifierService.class);
         this.globalLenientObserverNotifier = globalObserverNotifierService.getGlobalLenientObserverNotifier();
@@ -420,6 +447,40 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         globalObserverNotifierService.registerBeanManager(this);
         this.containerLifecycleEvents = serviceRegistry.get(ContainerLifecycleEvents.class);
         this.registry = getServices().get(SpecializationAndEnablementRegistry.class);
+        // the global components now include the components of this manager
+        for (BeanManagerImpl manager : managers) {
+            if (manager != this) {
+                manager.invalidateGlobalSnapshots();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the snapshots of the components accessible from this manager and from the managers this manager is accessible
+     * from. If the change affects decorators or interceptors, the snapshots of the components of all the managers are invalidated
+     * as well.
+     */
+    private void componentsChanged(boolean global) {
+        for (BeanManagerImpl manager : managers) {
+            if (manager == this || manager.getAccessibleManagers().contains(this)) {
+                manager.invalidateAccessibleSnapshots();
+            }
+            if (global) {
+                manager.invalidateGlobalSnapshots();
+            }
+        }
+    }
+
+    private void invalidateAccessibleSnapshots() {
+        accessibleBeans.invalidate();
+        accessibleObservers.invalidate();
+        accessibleDecorators.invalidate();
+        accessibleInterceptors.invalidate();
+    }
+
+    private void invalidateGlobalSnapshots() {
+        globalDecorators.invalidate();
+        globalInterceptors.invalidate();
     }
 
     private <T> Iterable<T> createDynamicGlobalIterable(final Transform<T> transform) {
@@ -453,6 +514,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addAccessibleBeanManager(BeanManagerImpl accessibleBeanManager) {
         accessibleManagers.add(accessibleBeanManager);
+        invalidateAccessibleSnapshots();
         beanResolver.clear();
         interceptorResolver.clear();
         decoratorResolver.clear();
@@ -465,6 +527,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addBean(Bean<?> bean) {
         addBean(bean, enabledBeans, sharedBeans);
+        componentsChanged(false);
     }
 
     /**
@@ -480,13 +543,75 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         // optimize so that we do not modify CopyOnWriteLists for each Bean
         this.enabledBeans.addAll(beanList);
         this.sharedBeans.addAll(transitiveBeans);
+        componentsChanged(false);
         for (BeanManagerImpl childActivity : childActivities) {
             childActivity.addBeans(beanList);
         }
+        // merge the new beans into the resolvers which may already be in use instead of leaving them stale
+        beanResolver.beansAdded(beanList);
+        boolean named = containsNamedBean(beanList);
+        if (named) {
+            nameBasedResolver.clear();
+        }
+        if (!transitiveBeans.isEmpty()) {
+            for (BeanManagerImpl manager : managers) {
+                if (manager != this && manager.getAccessibleManagers().contains(this)) {
+                    manager.getBeanResolver().beansAdded(transitiveBeans);
+                    if (named) {
+                        manager.getNameBasedResolver().clear();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the given beans from this manager, e.g. when they are replaced by a redeployment of the bean archive. Beans are
+     * compared by identity as a replacement is usually equal to the bean it replaces. The bean resolvers of this manager and of
+     * the managers this manager is accessible from are cleared.
+     *
+     * @param beans the beans to remove
+     */
+    public void removeBeans(Collection<? extends Bean<?>> beans) {
+        if (beans.isEmpty()) {
+            return;
+        }
+        Set<Bean<?>> removed = Collections.newSetFromMap(new IdentityHashMap<Bean<?>, Boolean>());
+        removed.addAll(beans);
+        this.enabledBeans.removeAll(removed);
+        this.sharedBeans.removeAll(removed);
+        for (Bean<?> bean : beans) {
+            if (beanSet != null) {
+                beanSet.remove(bean);
+            }
+            if (contextualStore instanceof ContextualStoreImpl) {
+                ((ContextualStoreImpl) contextualStore).remove(bean);
+            }
+        }
+        componentsChanged(false);
+        for (BeanManagerImpl childActivity : childActivities) {
+            childActivity.removeBeans(beans);
+        }
+        for (BeanManagerImpl manager : managers) {
+            if (manager == this || manager.getAccessibleManagers().contains(this)) {
+                manager.getBeanResolver().clear();
+                manager.getNameBasedResolver().clear();
+            }
+        }
+    }
+
+    private static boolean containsNamedBean(List<Bean<?>> beans) {
+        for (Bean<?> bean : beans) {
+            if (bean.getName() != null) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void addBean(Bean<?> bean, List<Bean<?>> beanList, List<Bean<?>> transitiveBeans) {
-        if (beanSet.add(bean)) {
+        // the bean set is discarded after bootstrap, beans added later (e.g. by a redeployment) are not checked for duplicates
+        if (beanSet == null || beanSet.add(bean)) {
             if (bean.isAlternative() && !registry.isEnabledInAnyBeanDeployment(bean)) {
                 BootstrapLogger.LOG.foundDisabledAlternative(bean);
             } else if (registry.isSpecializedInAnyBeanDeployment(bean)) {
@@ -502,7 +627,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                     enterpriseBeans.put(enterpriseBean.getEjbDescriptor(), enterpriseBean);
                 }
                 if (bean instanceof PassivationCapable) {
-                    getServices().get(ContextualStore.class).putIfAbsent(bean);
+                    contextualStore.putIfAbsent(bean);
                 }
                 registerBeanNamespace(bean);
                 // New beans (except for SessionBeans) and most built in beans aren't resolvable transitively
@@ -516,7 +641,24 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addDecorator(Decorator<?> bean) {
         decorators.add(bean);
-        getServices().get(ContextualStore.class).putIfAbsent(bean);
+        contextualStore.putIfAbsent(bean);
+        componentsChanged(true);
+        decoratorResolver.clear();
+    }
+
+    /**
+     * Optimization which modifies CopyOnWrite structures and clears the resolver only once instead of once for every decorator.
+     * @param decorators
+     */
+    public void addDecorators(Collection<? extends Decorator<?>> decorators) {
+        if (decorators.isEmpty()) {
+            return;
+        }
+        this.decorators.addAll(decorators);
+        for (Decorator<?> decorator : decorators) {
+            contextualStore.putIfAbsent(decorator);
+        }
+        componentsChanged(true);
         decoratorResolver.clear();
     }
 
@@ -527,7 +669,24 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addInterceptor(Interceptor<?> bean) {
         interceptors.add(bean);
-        getServices().get(ContextualStore.class).putIfAbsent(bean);
+        contextualStore.putIfAbsent(bean);
+        componentsChanged(true);
+        interceptorResolver.clear();
+    }
+
+    /**
+     * Optimization which modifies CopyOnWrite structures and clears the resolver only once instead of once for every interceptor.
+     * @param interceptors
+     */
+    public void addInterceptors(Collection<? extends Interceptor<?>> interceptors) {
+        if (interceptors.isEmpty()) {
+            return;
+        }
+        this.interceptors.addAll(interceptors);
+        for (Interceptor<?> interceptor : interceptors) {
+            contextualStore.putIfAbsent(interceptor);
+        }
+        componentsChanged(true);
         interceptorResolver.clear();
     }
 
@@ -550,27 +709,27 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     @Override
     public Set<Bean<?>> getBeans(Type beanType, Annotation... qualifiers) {
+        // anonymous annotation literals are detached from their enclosing instance by ResolvableBuilder so the result is cacheable
         Resolvable resolvable = new ResolvableBuilder(beanType, this).addQualifiers(qualifiers).create();
-        return beanResolver.resolve(resolvable, isCacheable(qualifiers));
+        return beanResolver.resolve(resolvable, true);
     }
 
     public Set<Bean<?>> getBeans(Type beanType, Set<Annotation> qualifiers) {
-        return beanResolver.resolve(new ResolvableBuilder(beanType, this).addQualifiers(qualifiers).create(), isCacheable(qualifiers));
+        return beanResolver.resolve(new ResolvableBuilder(beanType, this).addQualifiers(qualifiers).create(), true);
     }
 
     public Set<Bean<?>> getBeans(InjectionPoint injectionPoint) {
-        boolean registerInjectionPoint = isRegisterableInjectionPoint(injectionPoint);
-        CurrentInjectionPoint currentInjectionPoint = null;
-        if (registerInjectionPoint) {
-            currentInjectionPoint = services.get(CurrentInjectionPoint.class);
-            currentInjectionPoint.push(injectionPoint);
+        ThreadLocalStack<InjectionPoint> injectionPointStack = null;
+        if (isRegisterableInjectionPoint(injectionPoint)) {
+            injectionPointStack = currentInjectionPoint.getStack();
+            injectionPointStack.push(injectionPoint);
         }
         try {
             // We always cache, we assume that people don't use inline annotation literal declarations, a little risky but FAQd
             return beanResolver.resolve(new ResolvableBuilder(injectionPoint, this).create(), true);
         } finally {
-            if (registerInjectionPoint) {
-                currentInjectionPoint.pop();
+            if (injectionPointStack != null) {
+                injectionPointStack.pop();
             }
         }
     }
@@ -613,21 +772,21 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     public Iterable<Bean<?>> getAccessibleBeans() {
-        return createDynamicAccessibleIterable(new BeanTransform(this));
+        return accessibleBeans;
     }
 
     public Iterable<Interceptor<?>> getAccessibleInterceptors() {
-        return createDynamicAccessibleIterable(new InterceptorTransform());
+        return accessibleInterceptors;
     }
 
     public Iterable<Decorator<?>> getAccessibleDecorators() {
-        return createDynamicAccessibleIterable(new DecoratorTransform());
+        return accessibleDecorators;
     }
 
     public void addContext(Context context) {
         Class<? extends Annotation> scope = context.getScope();
         if (isPassivatingScope(scope)) {
-            context = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
+            context = PassivatingContextWrapper.wrap(context, contextualStore);
         }
         List<Context> contextList = contexts.get(scope);
         if (contextList == null) {
@@ -637,6 +796,37 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         contextList.add(context);
     }
 
+    /**
+     * Optimization which modifies CopyOnWrite structures only once per scope instead of once for every context.
+     * @param contexts
+     */
+    public void addContexts(Collection<? extends Context> contexts) {
+        if (contexts.isEmpty()) {
+            return;
+        }
+        Map<Class<? extends Annotation>, List<Context>> contextsByScope = new HashMap<Class<? extends Annotation>, List<Context>>();
+        for (Context context : contexts) {
+            Class<? extends Annotation> scope = context.getScope();
+            if (isPassivatingScope(scope)) {
+                context = PassivatingContextWrapper.wrap(context, contextualStore);
+            }
+            List<Context> scopeContexts = contextsByScope.get(scope);
+            if (scopeContexts == null) {
+                scopeContexts = new ArrayList<Context>();
+                contextsByScope.put(scope, scopeContexts);
+            }
+            scopeContexts.add(context);
+        }
+        for (Map.Entry<Class<? extends Annotation>, List<Context>> entry : contextsByScope.entrySet()) {
+            List<Context> contextList = this.contexts.get(entry.getKey());
+            if (contextList == null) {
+                contextList = new CopyOnWriteArrayList<Context>();
+                this.contexts.put(entry.getKey(), contextList);
+            }
+            contextList.addAll(entry.getValue());
+        }
+    }
+
     /**
      * Does the actual observer registration
      *
@@ -645,11 +835,62 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     public void addObserver(ObserverMethod<?> observer) {
         //checkEventType(observer.getObservedType());
         observers.add(observer);
+        componentsChanged(false);
         for (BeanManagerImpl childActivity : childActivities) {
             childActivity.addObserver(observer);
         }
     }
 
+    /**
+     * Optimization which modifies CopyOnWrite structures only once instead of once for every observer method.
+     * @param observers
+     */
+    public void addObservers(Collection<? extends ObserverMethod<?>> observers) {
+        if (observers.isEmpty()) {
+            return;
+        }
+        this.observers.addAll(observers);
+        componentsChanged(false);
+        for (BeanManagerImpl childActivity : childActivities) {
+            childActivity.addObservers(observers);
+        }
+    }
+
+    /**
+     * Removes the given observer methods from this manager, e.g. when they are replaced by a redeployment of the bean archive.
+     * Observer methods are compared by identity. The observer resolvers of all the managers which may notify the observer
+     * methods are cleared.
+     *
+     * @param observers the observer methods to remove
+     */
+    public void removeObservers(Collection<? extends ObserverMethod<?>> observers) {
+        if (observers.isEmpty()) {
+            return;
+        }
+        Set<ObserverMethod<?>> removed = Collections.newSetFromMap(new IdentityHashMap<ObserverMethod<?>, Boolean>());
+        removed.addAll(observers);
+        this.observers.removeAll(removed);
+        componentsChanged(false);
+        for (BeanManagerImpl childActivity : childActivities) {
+            childActivity.removeObservers(observers);
+        }
+        clearObserverResolvers();
+    }
+
+    /**
+     * Clears the observer resolvers of all the managers which may notify the observer methods of this manager. This is needed
+     * once the container is initialized as the resolvers are not cleared anymore.
+     */
+    public void clearObserverResolvers() {
+        for (BeanManagerImpl manager : managers) {
+            if (manager == this || manager.getAccessibleManagers().contains(this)) {
+                manager.getAccessibleLenientObserverNotifier().clear();
+            }
+        }
+        globalStrictObserverNotifier.clear();
+        globalLenientObserverNotifier.clear();
+    }
+
     /**
      * Fires an event object with given event object for given bindings
      *
@@ -768,13 +1009,12 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         Preconditions.checkArgumentNotNull(resolvedBean, "resolvedBean");
         Preconditions.checkArgumentNotNull(creationalContext, CREATIONAL_CONTEXT);
 
-        boolean registerInjectionPoint = isRegisterableInjectionPoint(injectionPoint);
         boolean delegateInjectionPoint = injectionPoint != null && injectionPoint.isDelegate();
 
-        CurrentInjectionPoint currentInjectionPoint = null;
-        if (registerInjectionPoint) {
-            currentInjectionPoint = services.get(CurrentInjectionPoint.class);
-            currentInjectionPoint.push(injectionPoint);
+        ThreadLocalStack<InjectionPoint> injectionPointStack = null;
+        if (isRegisterableInjectionPoint(injectionPoint)) {
+            injectionPointStack = currentInjectionPoint.getStack();
+            injectionPointStack.push(injectionPoint);
         }
         try {
             Type requestedType = null;
@@ -794,8 +1034,8 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 return getReference(resolvedBean, requestedType, creationalContext, delegateInjectionPoint);
             }
         } finally {
-            if (registerInjectionPoint) {
-                currentInjectionPoint.pop();
+            if (injectionPointStack != null) {
+                injectionPointStack.pop();
             }
         }
     }
@@ -831,7 +1071,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     @Override
     public List<Decorator<?>> resolveDecorators(Set<Type> types, Annotation... qualifiers) {
         checkResolveDecoratorsArguments(types);
-        return decoratorResolver.resolve(new DecoratorResolvableBuilder(this).addTypes(types).addQualifiers(qualifiers).create(), isCacheable(qualifiers));
+        return decoratorResolver.resolve(new DecoratorResolvableBuilder(this).addTypes(types).addQualifiers(qualifiers).create(), true);
     }
 
     public List<Decorator<?>> resolveDecorators(Set<Type> types, Set<Annotation> qualifiers) {
@@ -888,7 +1128,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         .setInterceptionType(type)
         .addQualifiers(interceptorBindings)
         .create();
-        return interceptorResolver.resolve(interceptorResolvable, isCacheable(interceptorBindings));
+        return interceptorResolver.resolve(interceptorResolvable, true);
     }
 
     /**
@@ -900,6 +1140,10 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return beanResolver;
     }
 
+    public NameBasedResolver getNameBasedResolver() {
+        return nameBasedResolver;
+    }
+
     /**
      * Get the decorator resolver. For internal use
      *
@@ -1008,6 +1252,22 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return services;
     }
 
+    public MetaAnnotationStore getMetaAnnotationStore() {
+        return metaAnnotationStore;
+    }
+
+    public ContextualStore getContextualStore() {
+        return contextualStore;
+    }
+
+    public SharedObjectCache getSharedObjectCache() {
+        return sharedObjectCache;
+    }
+
+    public CurrentInjectionPoint getCurrentInjectionPoint() {
+        return currentInjectionPoint;
+    }
+
     // Serialization
 
     protected Object readResolve() throws ObjectStreamException {
@@ -1018,7 +1278,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         return clientProxyProvider;
     }
 
-    protected Map<Class<? extends Annotation>, List<Context>> getContexts() {
+    public Map<Class<? extends Annotation>, List<Context>> getContexts() {
         return contexts;
     }
 
@@ -1052,6 +1312,11 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     public Namespace getRootNamespace() {
+        Namespace indexedNamespace = nameBasedResolver.getRootNamespace();
+        if (indexedNamespace != null) {
+            // the namespace hierarchy of the name index also holds the resolved beans
+            return indexedNamespace;
+        }
         // TODO I don't like this lazy init
         if (rootNamespace == null) {
             rootNamespace = new Namespace(createDynamicAccessibleIterable(new NamespaceTransform()));
@@ -1086,7 +1351,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     @Override
     public Set<Annotation> getInterceptorBindingDefinition(Class<? extends Annotation> bindingType) {
-        InterceptorBindingModel<? extends Annotation> model = getServices().get(MetaAnnotationStore.class).getInterceptorBindingModel(bindingType);
+        InterceptorBindingModel<? extends Annotation> model = metaAnnotationStore.getInterceptorBindingModel(bindingType);
         if (model.isValid()) {
             return model.getMetaAnnotations();
         } else {
@@ -1096,17 +1361,17 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     @Override
     public Bean<?> getPassivationCapableBean(String id) {
-        return getServices().get(ContextualStore.class).<Bean<Object>, Object>getContextual(id);
+        return contextualStore.<Bean<Object>, Object>getContextual(id);
     }
 
     @Override
     public Bean<?> getPassivationCapableBean(BeanIdentifier identifier) {
-        return getServices().get(ContextualStore.class).<Bean<Object>, Object>getContextual(identifier);
+        return contextualStore.<Bean<Object>, Object>getContextual(identifier);
     }
 
     @Override
     public Set<Annotation> getStereotypeDefinition(Class<? extends Annotation> stereotype) {
-        final StereotypeModel<? extends Annotation> model = getServices().get(MetaAnnotationStore.class).getStereotype(stereotype);
+        final StereotypeModel<? extends Annotation> model = metaAnnotationStore.getStereotype(stereotype);
         if (model.isValid()) {
             return model.getMetaAnnotations();
         } else {
@@ -1116,34 +1381,34 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     @Override
     public boolean isQualifier(Class<? extends Annotation> annotationType) {
-        return getServices().get(MetaAnnotationStore.class).getBindingTypeModel(annotationType).isValid();
+        return metaAnnotationStore.getBindingTypeModel(annotationType).isValid();
     }
 
     @Override
     public boolean isInterceptorBinding(Class<? extends Annotation> annotationType) {
-        return getServices().get(MetaAnnotationStore.class).getInterceptorBindingModel(annotationType).isValid();
+        return metaAnnotationStore.getInterceptorBindingModel(annotationType).isValid();
     }
 
     @Override
     public boolean isNormalScope(Class<? extends Annotation> annotationType) {
-        ScopeModel<?> scope = getServices().get(MetaAnnotationStore.class).getScopeModel(annotationType);
+        ScopeModel<?> scope = metaAnnotationStore.getScopeModel(annotationType);
         return scope.isValid() && scope.isNormal();
     }
 
     @Override
     public boolean isPassivatingScope(Class<? extends Annotation> annotationType) {
-        ScopeModel<?> scope = getServices().get(MetaAnnotationStore.class).getScopeModel(annotationType);
+        ScopeModel<?> scope = metaAnnotationStore.getScopeModel(annotationType);
         return scope.isValid() && scope.isPassivating();
     }
 
     @Override
     public boolean isScope(Class<? extends Annotation> annotationType) {
-        return getServices().get(MetaAnnotationStore.class).getScopeModel(annotationType).isValid();
+        return metaAnnotationStore.getScopeModel(annotationType).isValid();
     }
 
     @Override
     public boolean isStereotype(Class<? extends Annotation> annotationType) {
-        return getServices().get(MetaAnnotationStore.class).getStereotype(annotationType).isValid();
+        return metaAnnotationStore.getStereotype(annotationType).isValid();
     }
 
     @Override
@@ -1214,6 +1479,8 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.namespaces.clear();
         this.accessibleLenientObserverNotifier.clear();
         this.observers.clear();
+        invalidateAccessibleSnapshots();
+        invalidateGlobalSnapshots();
     }
 
     /**
@@ -1399,22 +1666,22 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     @Override
     public boolean areQualifiersEquivalent(Annotation qualifier1, Annotation qualifier2) {
-        return Bindings.areQualifiersEquivalent(qualifier1, qualifier2, services.get(MetaAnnotationStore.class));
+        return Bindings.areQualifiersEquivalent(qualifier1, qualifier2, metaAnnotationStore);
     }
 
     @Override
     public boolean areInterceptorBindingsEquivalent(Annotation interceptorBinding1, Annotation interceptorBinding2) {
-        return Bindings.areInterceptorBindingsEquivalent(interceptorBinding1, interceptorBinding2, services.get(MetaAnnotationStore.class));
+        return Bindings.areInterceptorBindingsEquivalent(interceptorBinding1, interceptorBinding2, metaAnnotationStore);
     }
 
     @Override
     public int getQualifierHashCode(Annotation qualifier) {
-        return Bindings.getQualifierHashCode(qualifier, services.get(MetaAnnotationStore.class));
+        return Bindings.getQualifierHashCode(qualifier, metaAnnotationStore);
     }
 
     @Override
     public int getInterceptorBindingHashCode(Annotation interceptorBinding) {
-        return Bindings.getInterceptorBindingHashCode(interceptorBinding, services.get(MetaAnnotationStore.class));
+        return Bindings.getInterceptorBindingHashCode(interceptorBinding, metaAnnotationStore);
     }
 
     /**
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.manager;
+
+import java.util.Iterator;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A flattened, deduplicated and immutable snapshot of the components (beans, observer methods, decorators or interceptors) a
+ * bean manager sees across several managers. The snapshot is computed lazily from the given source and replaced as a whole once
+ * it is invalidated. Resolvers iterating the snapshot therefore iterate a single collection instead of concatenating the
+ * component lists of every manager on each iteration.
+ *
+ * @param <T> the type of the components
+ */
+class ComponentSnapshot<T> implements Iterable<T> {
+
+    private final Iterable<T> source;
+    // incremented on every invalidation so that a snapshot computed concurrently with a change is not published
+    private int version;
+    private volatile ImmutableSet<T> snapshot;
+
+    ComponentSnapshot(Iterable<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return get().iterator();
+    }
+
+    ImmutableSet<T> get() {
+        ImmutableSet<T> result = snapshot;
+        if (result != null) {
+            return result;
+        }
+        int expectedVersion;
+        synchronized (this) {
+            expectedVersion = version;
+        }
+        result = ImmutableSet.copyOf(source);
+        synchronized (this) {
+            if (version == expectedVersion) {
+                snapshot = result;
+            }
+        }
+        return result;
+    }
+
+    synchronized void invalidate() {
+        version++;
+        snapshot = null;
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metadata;
+
+import java.util.Arrays;
+
+/**
+ * A character trie which matches a class name against any number of CDI 1.1 scanning filter expressions (fully qualified class
+ * names, <code>name.*</code> packages and <code>name.**</code> prefixes) in a single pass over the class name. The time needed to
+ * test a class name is therefore proportional to its length and not to the number of filters.
+ * <p>
+ * This class is not thread-safe while being built. Once all the expressions are added, {@link #matches(String)} may be called
+ * concurrently.
+ */
+class ClassNameTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    /**
+     * Matches a class name equal to the given expression.
+     */
+    void addClassName(String expression) {
+        node(expression).exact = true;
+    }
+
+    /**
+     * Matches a class name which directly belongs to the given package.
+     */
+    void addPackage(String expression) {
+        node(expression).pkg = true;
+    }
+
+    /**
+     * Matches a class name starting with the given expression.
+     */
+    void addPrefix(String expression) {
+        node(expression).prefix = true;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    boolean matches(String className) {
+        if (className == null) {
+            return false;
+        }
+        int length = className.length();
+        int lastDot = className.lastIndexOf('.');
+        Node node = root;
+        for (int i = 0;; i++) {
+            if (node.prefix || (node.pkg && i == lastDot)) {
+                return true;
+            }
+            if (i == length) {
+                return node.exact;
+            }
+            node = node.child(className.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private Node node(String expression) {
+        empty = false;
+        Node node = root;
+        for (int i = 0; i < expression.length(); i++) {
+            node = node.getOrCreateChild(expression.charAt(i));
+        }
+        return node;
+    }
+
+    private static class Node {
+
+        // sorted keys and matching children - the fan-out of a class name trie is typically very low
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+
+        private boolean exact;
+        private boolean pkg;
+        private boolean prefix;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node getOrCreateChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            Node child = new Node();
+            newKeys[insertion] = c;
+            newChildren[insertion] = child;
+            this.keys = newKeys;
+            this.children = newChildren;
+            return child;
+        }
+    }
+}
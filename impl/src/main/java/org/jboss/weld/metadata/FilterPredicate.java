@@ -114,6 +114,20 @@ public class FilterPredicate implements Predicate<String> {
         }
     }
 
+    /**
+     * Adds this filter to the given trie if it can be expressed as a trie expression.
+     *
+     * @return <code>true</code> if the trie now fully represents this filter, <code>false</code> if the filter needs to be
+     *         evaluated using {@link #apply(String)}
+     */
+    boolean compileInto(ClassNameTrie trie) {
+        if (!active) {
+            // an inactive filter never matches
+            return true;
+        }
+        return matcher.compileInto(trie);
+    }
+
     private static boolean isClassAvailable(String className, ResourceLoader resourceLoader, boolean invert) {
         if (invert) {
             return !isClassAvailable(className, resourceLoader);
@@ -160,6 +174,8 @@ public class FilterPredicate implements Predicate<String> {
 
     private interface Matcher {
         boolean matches(String input);
+
+        boolean compileInto(ClassNameTrie trie);
     }
 
     private static class PatternMatcher implements Matcher {
@@ -177,6 +193,11 @@ public class FilterPredicate implements Predicate<String> {
         public boolean matches(String input) {
             return pattern.matcher(input).matches();
         }
+
+        @Override
+        public boolean compileInto(ClassNameTrie trie) {
+            return false;
+        }
     }
 
     private static class AntSelectorMatcher implements Matcher {
@@ -190,6 +211,11 @@ public class FilterPredicate implements Predicate<String> {
         public boolean matches(String input) {
             return Selectors.matchPath(this.name, input);
         }
+
+        @Override
+        public boolean compileInto(ClassNameTrie trie) {
+            return false;
+        }
     }
 
     private abstract static class CDI11Matcher implements Matcher {
@@ -214,6 +240,12 @@ public class FilterPredicate implements Predicate<String> {
         public boolean matches(String input) {
             return expression.equals(input);
         }
+
+        @Override
+        public boolean compileInto(ClassNameTrie trie) {
+            trie.addClassName(expression);
+            return true;
+        }
     }
 
     private static class PrefixMatcher extends CDI11Matcher {
@@ -226,6 +258,12 @@ public class FilterPredicate implements Predicate<String> {
         public boolean matches(String input) {
             return input != null && input.startsWith(expression);
         }
+
+        @Override
+        public boolean compileInto(ClassNameTrie trie) {
+            trie.addPrefix(expression);
+            return true;
+        }
     }
 
     private static class PackageMatcher extends CDI11Matcher {
@@ -245,5 +283,11 @@ public class FilterPredicate implements Predicate<String> {
             }
             return expression.equals(input.substring(0, lastDot));
         }
+
+        @Override
+        public boolean compileInto(ClassNameTrie trie) {
+            trie.addPackage(expression);
+            return true;
+        }
     }
 }
@@ -2,35 +2,65 @@ package org.jboss.weld.metadata;
 
 import com.google.common.base.Predicate;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
+/**
+ * Combines include and exclude filters. CDI 1.1 style filters ({@link FilterPredicate}s using a class name, a package or a
+ * prefix) are compiled into one {@link ClassNameTrie} for includes and one for excludes so that the cost of testing a class
+ * name does not grow with the number of filters. Other predicates (e.g. regular expressions) are evaluated one by one.
+ */
 public class ScanningPredicate<T> implements Predicate<T> {
 
+    private final boolean includeAll;
+    private final ClassNameTrie includeTrie;
+    private final ClassNameTrie excludeTrie;
     private final Collection<Predicate<T>> includes;
     private final Collection<Predicate<T>> excludes;
 
     public ScanningPredicate(Collection<Predicate<T>> includes, Collection<Predicate<T>> excludes) {
-        this.includes = includes;
-        this.excludes = excludes;
-    }
-
-    public boolean apply(T input) {
         // Initial state - all classes are included if no includes are specified
-        boolean apply = includes.isEmpty();
+        this.includeAll = includes.isEmpty();
+        this.includeTrie = new ClassNameTrie();
+        this.excludeTrie = new ClassNameTrie();
+        this.includes = compile(includes, includeTrie);
+        this.excludes = compile(excludes, excludeTrie);
+    }
 
-        for (Predicate<T> include : includes) {
-            // If any include matches, we should include the class
-            if (include.apply(input)) {
-                apply = true;
+    private static <T> Collection<Predicate<T>> compile(Collection<Predicate<T>> predicates, ClassNameTrie trie) {
+        List<Predicate<T>> remaining = new ArrayList<Predicate<T>>(predicates.size());
+        for (Predicate<T> predicate : predicates) {
+            if (!(predicate instanceof FilterPredicate) || !((FilterPredicate) predicate).compileInto(trie)) {
+                remaining.add(predicate);
             }
         }
+        return remaining;
+    }
+
+    public boolean apply(T input) {
+        // If any exclude matches, we exclude the class
+        if (!excludeTrie.isEmpty() && excludeTrie.matches((String) input)) {
+            return false;
+        }
         for (Predicate<T> exclude : excludes) {
-            // If any exclude matches, we exclude the class - we can then short-circuit
             if (exclude.apply(input)) {
                 return false;
             }
         }
-        return apply;
+        if (includeAll) {
+            return true;
+        }
+        // If any include matches, we should include the class
+        if (!includeTrie.isEmpty() && includeTrie.matches((String) input)) {
+            return true;
+        }
+        for (Predicate<T> include : includes) {
+            if (include.apply(input)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
@@ -74,7 +74,7 @@ public class MergedStereotypes<T, E> {
      * @param stereotypeAnnotations The stereotype annotations
      */
     protected void merge(Set<Annotation> stereotypeAnnotations) {
-        final MetaAnnotationStore store = manager.getServices().get(MetaAnnotationStore.class);
+        final MetaAnnotationStore store = manager.getMetaAnnotationStore();
         for (Annotation stereotypeAnnotation : stereotypeAnnotations) {
             // Retrieve and merge all metadata from stereotypes
             StereotypeModel<?> stereotype = store.getStereotype(stereotypeAnnotation.annotationType());
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+/**
+ * Counts contextual instances created and destroyed. The destruction of {@link javax.enterprise.context.Dependent} instances is
+ * not tracked, so counters of dependent beans only count created instances.
+ */
+public class InstanceCounter {
+
+    private final StripedCounter created = new StripedCounter();
+    private final StripedCounter destroyed = new StripedCounter();
+    private final boolean destructionTracked;
+
+    InstanceCounter(boolean destructionTracked) {
+        this.destructionTracked = destructionTracked;
+    }
+
+    void created() {
+        created.increment();
+    }
+
+    void destroyed() {
+        destroyed.increment();
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public long getDestroyed() {
+        return destroyed.sum();
+    }
+
+    /**
+     * Returns <code>false</code> if this counter counts {@link javax.enterprise.context.Dependent} instances whose destruction is
+     * not tracked.
+     */
+    public boolean isDestructionTracked() {
+        return destructionTracked;
+    }
+
+    /**
+     * Returns the number of instances created but not destroyed yet, or 0 if the destruction is not tracked.
+     *
+     * @see #isDestructionTracked()
+     */
+    public long getLive() {
+        if (!destructionTracked) {
+            return 0L;
+        }
+        return Math.max(0L, getCreated() - getDestroyed());
+    }
+
+    @Override
+    public String toString() {
+        if (!destructionTracked) {
+            return "created=" + getCreated();
+        }
+        return "created=" + getCreated() + ", destroyed=" + getDestroyed() + ", live=" + getLive();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations with exponentially growing buckets. The bucket at index <code>i</code> counts durations from
+ * <code>2^i</code> (inclusive) to <code>2^(i+1)</code> (exclusive) nanoseconds. The first bucket additionally holds durations
+ * shorter than one nanosecond and the last bucket holds all the durations that do not fit into the preceding buckets.
+ *
+ * <p>
+ * Like {@link StripedCounter}, each thread records into one of several stripes, each holding its own row of buckets padded to a
+ * separate cache line, so that threads recording concurrently rarely contend. A snapshot sums the rows.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    public static final int BUCKETS = 40;
+
+    // the rows of buckets are separated by padding so that neighbouring rows do not share a cache line
+    private static final int ROW = BUCKETS + StripedCounter.PADDING;
+
+    private final StripedCounter count = new StripedCounter();
+    private final StripedCounter totalNanos = new StripedCounter();
+    private final AtomicLongArray buckets = new AtomicLongArray(StripedCounter.STRIPES * ROW);
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        buckets.incrementAndGet(StripedCounter.stripe() * ROW + bucketIndex(nanos));
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos <= 1L) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns the exclusive upper bound (in nanoseconds) of the bucket at the given index.
+     */
+    public static long getBucketUpperBound(int index) {
+        if (index >= BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return 1L << (index + 1);
+    }
+
+    public Snapshot snapshot() {
+        long[] values = new long[BUCKETS];
+        for (int stripe = 0; stripe < StripedCounter.STRIPES; stripe++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                values[i] += buckets.get(stripe * ROW + i);
+            }
+        }
+        return new Snapshot(count.sum(), totalNanos.sum(), values);
+    }
+
+    /**
+     * An immutable view of a {@link LatencyHistogram} at a given point in time.
+     */
+    public static class Snapshot {
+
+        private final long count;
+        private final long totalNanos;
+        private final long[] buckets;
+
+        Snapshot(long count, long totalNanos, long[] buckets) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0L ? 0L : totalNanos / count;
+        }
+
+        /**
+         * Returns the number of recorded durations in each bucket. See {@link LatencyHistogram#getBucketUpperBound(int)} for
+         * the bucket boundaries.
+         */
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        /**
+         * Returns an upper bound estimate of the given percentile (0-100) in nanoseconds.
+         */
+        public long getPercentileUpperBound(double percentile) {
+            long total = 0L;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0L) {
+                return 0L;
+            }
+            long threshold = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= threshold) {
+                    return getBucketUpperBound(i);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", mean=" + getMeanNanos() + "ns, p99<" + getPercentileUpperBound(99) + "ns";
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.serialization.spi.ContextualStore;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Optional service which collects runtime statistics: the number of contextual instances created and destroyed per bean and per
+ * context, the number of live instances per scope, destruction durations per bean type, observer method invocation counts and
+ * durations and interceptor chain latencies.
+ *
+ * <p>
+ * The service is only registered if enabled using the {@link org.jboss.weld.SystemPropertiesConfiguration#RUNTIME_METRICS_KEY}
+ * system property. Components that report to this service look it up once and skip reporting altogether if the service is not
+ * available. Counters are striped so that reporting does not introduce contention on hot paths. The counters of the beans known
+ * at the end of the bootstrap are registered upfront (see {@link #registerBeans(Iterable)}) so that counting the creation of a
+ * dependent instance is a single map lookup.
+ * </p>
+ *
+ * <p>
+ * The destruction of {@link Dependent} instances is not tracked, hence no live instances are reported for the dependent
+ * pseudo-scope.
+ * </p>
+ *
+ * <p>
+ * Collected data are exposed through a pull API - each getter returns an immutable snapshot suitable for exporting to a monitoring
+ * system.
+ * </p>
+ */
+public class RuntimeMetrics implements Service {
+
+    private final ConcurrentMap<BeanIdentifier, InstanceCounter> beans = new ConcurrentHashMap<BeanIdentifier, InstanceCounter>();
+    private final ConcurrentMap<Contextual<?>, InstanceCounter> dependentBeans = new ConcurrentHashMap<Contextual<?>, InstanceCounter>();
+    private final ConcurrentMap<Class<?>, ContextCounter> contexts = new ConcurrentHashMap<Class<?>, ContextCounter>();
+    private final ConcurrentMap<ObserverMethod<?>, LatencyHistogram> observers = new ConcurrentHashMap<ObserverMethod<?>, LatencyHistogram>();
+    private final ConcurrentMap<Method, LatencyHistogram> interceptedMethods = new ConcurrentHashMap<Method, LatencyHistogram>();
+    private final ConcurrentMap<Class<?>, LatencyHistogram> destructions = new ConcurrentHashMap<Class<?>, LatencyHistogram>();
+    private final ContextualStore contextualStore;
+
+    public RuntimeMetrics(ContextualStore contextualStore) {
+        this.contextualStore = contextualStore;
+    }
+
+    /**
+     * Registers the counters of the given beans so that no counter needs to be created when an instance is created.
+     */
+    public void registerBeans(Iterable<? extends Bean<?>> beans) {
+        for (Bean<?> bean : beans) {
+            if (Dependent.class.equals(bean.getScope())) {
+                getDependentBeanCounter(bean);
+            } else {
+                getBeanCounter(contextualStore.putIfAbsent(bean));
+            }
+        }
+    }
+
+    public void instanceCreated(Context context, BeanIdentifier bean) {
+        getBeanCounter(bean).created();
+        getContextCounter(context).created();
+    }
+
+    public void dependentInstanceCreated(Context context, Contextual<?> contextual) {
+        getDependentBeanCounter(contextual).created();
+        getContextCounter(context).created();
+    }
+
+    public void instanceDestroyed(Context context, BeanIdentifier bean) {
+        getBeanCounter(bean).destroyed();
+        getContextCounter(context).destroyed();
+    }
+
+    public void instanceDestructionCompleted(Class<?> beanType, long nanos) {
+        LatencyHistogram histogram = destructions.get(beanType);
+        if (histogram == null) {
+            histogram = putIfAbsent(destructions, beanType, new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public void observerNotified(ObserverMethod<?> observer, long nanos) {
+        LatencyHistogram histogram = observers.get(observer);
+        if (histogram == null) {
+            histogram = putIfAbsent(observers, observer, new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public void interceptionChainCompleted(Method method, long nanos) {
+        LatencyHistogram histogram = interceptedMethods.get(method);
+        if (histogram == null) {
+            histogram = putIfAbsent(interceptedMethods, method, new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    private InstanceCounter getBeanCounter(BeanIdentifier bean) {
+        InstanceCounter counter = beans.get(bean);
+        if (counter == null) {
+            counter = putIfAbsent(beans, bean, new InstanceCounter(true));
+        }
+        return counter;
+    }
+
+    private InstanceCounter getDependentBeanCounter(Contextual<?> contextual) {
+        InstanceCounter counter = dependentBeans.get(contextual);
+        if (counter == null) {
+            // not registered upfront, e.g. a custom contextual
+            BeanIdentifier id = contextualStore.putIfAbsent(contextual);
+            counter = beans.get(id);
+            if (counter == null) {
+                counter = putIfAbsent(beans, id, new InstanceCounter(false));
+            }
+            counter = putIfAbsent(dependentBeans, contextual, counter);
+        }
+        return counter;
+    }
+
+    private ContextCounter getContextCounter(Context context) {
+        ContextCounter counter = contexts.get(context.getClass());
+        if (counter == null) {
+            Class<? extends Annotation> scope = context.getScope();
+            counter = putIfAbsent(contexts, context.getClass(), new ContextCounter(scope, !Dependent.class.equals(scope)));
+        }
+        return counter;
+    }
+
+    private static <K, V> V putIfAbsent(ConcurrentMap<K, V> map, K key, V value) {
+        V previous = map.putIfAbsent(key, value);
+        return previous == null ? value : previous;
+    }
+
+    /**
+     * Returns instance counters for each bean for which at least one contextual instance was created. The map is keyed by
+     * the bean identifier.
+     */
+    public Map<String, InstanceCounter> getBeanInstanceCounts() {
+        ImmutableMap.Builder<String, InstanceCounter> builder = ImmutableMap.builder();
+        for (Entry<BeanIdentifier, InstanceCounter> entry : beans.entrySet()) {
+            builder.put(entry.getKey().asString(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns instance counters for each context implementation class.
+     */
+    public Map<Class<?>, InstanceCounter> getContextInstanceCounts() {
+        return ImmutableMap.<Class<?>, InstanceCounter>copyOf(contexts);
+    }
+
+    /**
+     * Returns the number of live contextual instances for each scope. The dependent pseudo-scope is not included.
+     */
+    public Map<Class<? extends Annotation>, Long> getLiveInstancesPerScope() {
+        Map<Class<? extends Annotation>, Long> result = new HashMap<Class<? extends Annotation>, Long>();
+        for (ContextCounter counter : contexts.values()) {
+            if (!counter.isDestructionTracked()) {
+                continue;
+            }
+            Long live = result.get(counter.scope);
+            result.put(counter.scope, (live == null ? 0L : live) + counter.getLive());
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * Returns invocation statistics for each observer method notified at least once.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getObserverStatistics() {
+        // observer methods are not guaranteed to have unique string representations
+        Map<String, LatencyHistogram.Snapshot> result = new HashMap<String, LatencyHistogram.Snapshot>();
+        for (Entry<ObserverMethod<?>, LatencyHistogram> entry : observers.entrySet()) {
+            result.put(entry.getKey().toString(), entry.getValue().snapshot());
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * Returns interceptor chain latencies for each intercepted business method invoked at least once.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getInterceptionStatistics() {
+        ImmutableMap.Builder<String, LatencyHistogram.Snapshot> builder = ImmutableMap.builder();
+        for (Entry<Method, LatencyHistogram> entry : interceptedMethods.entrySet()) {
+            builder.put(entry.getKey().toString(), entry.getValue().snapshot());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns destruction durations for each bean type (the bean class) of which at least one contextual instance was destroyed
+     * by a context. The durations include the destruction of dependent objects.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getDestructionStatistics() {
+        // bean classes loaded by different class loaders may share the same name
+        Map<String, LatencyHistogram.Snapshot> result = new HashMap<String, LatencyHistogram.Snapshot>();
+        for (Entry<Class<?>, LatencyHistogram> entry : destructions.entrySet()) {
+            result.put(entry.getKey().getName(), entry.getValue().snapshot());
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    @Override
+    public void cleanup() {
+        beans.clear();
+        dependentBeans.clear();
+        contexts.clear();
+        observers.clear();
+        interceptedMethods.clear();
+        destructions.clear();
+    }
+
+    private static class ContextCounter extends InstanceCounter {
+
+        private final Class<? extends Annotation> scope;
+
+        private ContextCounter(Class<? extends Annotation> scope, boolean destructionTracked) {
+            super(destructionTracked);
+            this.scope = scope;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter optimized for frequent concurrent updates and infrequent reads. Updates are spread over a small number of padded cells
+ * selected by the updating thread so that threads running on different CPUs rarely contend on the same cache line. Reading the
+ * value sums all the cells and is therefore not an atomic snapshot.
+ *
+ * <p>
+ * This is a simplified, Java 6 compatible, variant of <code>java.util.concurrent.atomic.LongAdder</code>.
+ * </p>
+ */
+public class StripedCounter {
+
+    // number of longs in a cache line
+    static final int PADDING = 8;
+    private static final int MAX_STRIPES = 16;
+    static final int STRIPES = stripes();
+
+    private static int stripes() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+        while (stripes < cpus && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * Returns the stripe assigned to the current thread, between 0 (inclusive) and {@link #STRIPES} (exclusive).
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32));
+        hash ^= (hash >>> 16);
+        hash *= 0x85ebca6b;
+        hash ^= (hash >>> 13);
+        return hash & (STRIPES - 1);
+    }
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    public void increment() {
+        add(1L);
+    }
+
+    public void add(long value) {
+        cells.getAndAdd(stripe() * PADDING, value);
+    }
+
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
@@ -30,7 +30,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.enterprise.event.Event;
@@ -42,9 +41,9 @@ import org.jboss.weld.bean.AbstractProducerBean;
 import org.jboss.weld.bootstrap.SpecializationAndEnablementRegistry;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Beans;
-import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.reflection.Reflections;
 
+import com.google.common.base.Predicate;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -61,7 +60,7 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
     private final LoadingCache<Set<Bean<?>>, Set<Bean<?>>> disambiguatedBeans;
     private final SpecializationAndEnablementRegistry registry;
 
-    private final LazyValueHolder<Map<Type, ArrayList<T>>> beansByType;
+    private final BeanTypeIndex beansByType;
 
     public class BeanDisambiguation extends CacheLoader<Set<Bean<?>>, Set<Bean<?>>> {
 
@@ -141,53 +140,114 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
         // the resolver is created. Calling the resolvers clear method will also
         // clear this map.This task is not suitable for a computing hashmap, as
         // the whole map should be calculated in one hit, so only a single
-        // iteration over all beans is required
+        // iteration over all beans is required. Beans registered in bulk later
+        // on are merged into the map, see beansAdded()
+        this.beansByType = new BeanTypeIndex(beans);
+    }
 
-        this.beansByType = new LazyValueHolder<Map<Type, ArrayList<T>>>() {
+    /**
+     * Maps each type to the beans which have the type (or its raw or boxed form) amongst their bean types. The index is built lazily
+     * and replaced atomically when beans are merged into it.
+     */
+    private class BeanTypeIndex {
 
-            @Override
-            protected Map<Type, ArrayList<T>> computeValue() {
-                Map<Type, ArrayList<T>> map = new HashMap<Type, ArrayList<T>>();
-                for (T bean : beans) {
-                    mapBean(map, bean);
+        private final Iterable<T> beans;
+        private volatile Map<Type, List<T>> index;
+
+        private BeanTypeIndex(Iterable<T> beans) {
+            this.beans = beans;
+        }
+
+        private Map<Type, List<T>> get() {
+            Map<Type, List<T>> indexCopy = index;
+            if (indexCopy != null) {
+                return indexCopy;
+            }
+            synchronized (this) {
+                if (index == null) {
+                    Map<Type, List<T>> map = new HashMap<Type, List<T>>();
+                    for (T bean : beans) {
+                        mapBean(map, bean, null);
+                    }
+                    trimListsToSize(map);
+                    index = Collections.unmodifiableMap(map);
                 }
-                trimArrayListsToSize(map);
-                return Collections.unmodifiableMap(map);
+                return index;
             }
+        }
 
-            private void mapBean(Map<Type, ArrayList<T>> map, T bean) {
-                for (Type type : bean.getTypes()) {
-                    mapTypeToBean(map, type, bean);
-
-                    if (type instanceof ParameterizedType) {
-                        // we need to add the raw type as well
-                        Type rawType = ((ParameterizedType) type).getRawType();
-                        mapTypeToBean(map, rawType, bean);
-                    } else if (type instanceof Class<?>) {
-                        // if the type is a primitive we also need to add the bean
-                        // is also resolvable from the boxed class
-                        Class<?> clazz = (Class<?>) type;
-                        if (clazz.isPrimitive()) {
-                            Class<?> wrapped = Primitives.wrap(clazz);
-                            mapTypeToBean(map, wrapped, bean);
-                        }
+        private synchronized void clear() {
+            index = null;
+        }
+
+        /**
+         * Merges the given beans into the index if the index has been built already. Only the lists of the affected types are copied.
+         */
+        private synchronized void merge(Collection<? extends T> newBeans) {
+            if (index == null) {
+                // built lazily from scratch, including the new beans
+                return;
+            }
+            Map<Type, List<T>> map = new HashMap<Type, List<T>>(index);
+            Set<Type> copied = new HashSet<Type>();
+            for (T bean : newBeans) {
+                mapBean(map, bean, copied);
+            }
+            trimListsToSize(map);
+            index = Collections.unmodifiableMap(map);
+        }
+
+        private void mapBean(Map<Type, List<T>> map, T bean, Set<Type> copied) {
+            for (Type type : getIndexedTypes(bean)) {
+                List<T> list = map.get(type);
+                if (list == null) {
+                    list = new ArrayList<T>();
+                    map.put(type, list);
+                    if (copied != null) {
+                        copied.add(type);
+                    }
+                } else if (copied != null) {
+                    if (list.contains(bean)) {
+                        // the index was built after the bean had been registered
+                        continue;
+                    }
+                    if (copied.add(type)) {
+                        // do not modify a list which may be read by a concurrent resolution
+                        list = new ArrayList<T>(list);
+                        map.put(type, list);
                     }
                 }
+                list.add(bean);
             }
+        }
 
-            private void mapTypeToBean(Map<Type, ArrayList<T>> map, Type type, T bean) {
-                if (!map.containsKey(type)) {
-                    map.put(type, new ArrayList<T>());
-                }
-                map.get(type).add(bean);
+        private void trimListsToSize(Map<Type, List<T>> map) {
+            for (List<T> list : map.values()) {
+                ((ArrayList<T>) list).trimToSize();
             }
+        }
+    }
 
-            private void trimArrayListsToSize(Map<Type, ArrayList<T>> map) {
-                for (Entry<Type, ArrayList<T>> entry : map.entrySet()) {
-                    entry.getValue().trimToSize();
+    /**
+     * Returns the keys under which the given bean is indexed.
+     */
+    private static Set<Type> getIndexedTypes(Bean<?> bean) {
+        Set<Type> types = new HashSet<Type>();
+        for (Type type : bean.getTypes()) {
+            types.add(type);
+            if (type instanceof ParameterizedType) {
+                // we need to add the raw type as well
+                types.add(((ParameterizedType) type).getRawType());
+            } else if (type instanceof Class<?>) {
+                // if the type is a primitive we also need to add the bean
+                // is also resolvable from the boxed class
+                Class<?> clazz = (Class<?>) type;
+                if (clazz.isPrimitive()) {
+                    types.add(Primitives.wrap(clazz));
                 }
             }
-        };
+        }
+        return types;
     }
 
     @Override
@@ -203,30 +263,69 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
 
     @Override
     protected Iterable<? extends T> getAllBeans(Resolvable resolvable) {
-        if (resolvable.getTypes().contains(Object.class) || Instance.class.equals(resolvable.getJavaClass()) || Event.class.equals(resolvable.getJavaClass()) || Provider.class.equals(resolvable.getJavaClass()) || resolvable.getTypes().contains(Serializable.class)) {
+        if (isUnindexed(resolvable)) {
             return super.getAllBeans(resolvable);
         }
         Set<T> beans = new HashSet<T>();
-        for (Type type : resolvable.getTypes()) {
+        for (Type type : getLookupTypes(resolvable)) {
             beans.addAll(getBeans(type));
+        }
+        return beans;
+    }
+
+    /**
+     * Resolvables which may match almost any bean are resolved without the index.
+     */
+    private static boolean isUnindexed(Resolvable resolvable) {
+        return resolvable.getTypes().contains(Object.class) || Instance.class.equals(resolvable.getJavaClass()) || Event.class.equals(resolvable.getJavaClass()) || Provider.class.equals(resolvable.getJavaClass()) || resolvable.getTypes().contains(Serializable.class);
+    }
+
+    /**
+     * Returns the index keys to look up candidate beans for the given resolvable.
+     */
+    private static Set<Type> getLookupTypes(Resolvable resolvable) {
+        Set<Type> types = new HashSet<Type>();
+        for (Type type : resolvable.getTypes()) {
+            types.add(type);
             if (type instanceof ParameterizedType) {
                 // we also need to consider the raw type
-                Type rawType = ((ParameterizedType) type).getRawType();
-                beans.addAll(getBeans(rawType));
+                types.add(((ParameterizedType) type).getRawType());
             } else if (type instanceof Class<?>) {
                 // primitives
                 Class<?> clazz = (Class<?>) type;
                 if (clazz.isPrimitive()) {
-                    clazz = Primitives.wrap(clazz);
-                    beans.addAll(getBeans(clazz));
+                    types.add(Primitives.wrap(clazz));
                 }
             } else if (type instanceof GenericArrayType) {
                 GenericArrayType arrayType = (GenericArrayType) type;
                 Class<Object> rawArrayType = Reflections.getRawType(arrayType);
-                beans.addAll(getBeans(rawArrayType));
+                types.add(rawArrayType);
             }
         }
-        return beans;
+        return types;
+    }
+
+    /**
+     * Notifies the resolver that the given beans were added to the beans it resolves from. Instead of clearing the resolver, the
+     * beans are merged into the type index and only the cached resolutions which may match one of the beans are invalidated.
+     *
+     * @param beans the beans added
+     */
+    public void beansAdded(Collection<? extends T> beans) {
+        if (beans.isEmpty()) {
+            return;
+        }
+        beansByType.merge(beans);
+        final Set<Type> addedTypes = new HashSet<Type>();
+        for (T bean : beans) {
+            addedTypes.addAll(getIndexedTypes(bean));
+        }
+        invalidate(new Predicate<Resolvable>() {
+            @Override
+            public boolean apply(Resolvable resolvable) {
+                return isUnindexed(resolvable) || !Collections.disjoint(getLookupTypes(resolvable), addedTypes);
+            }
+        });
     }
 
     private List<T> getBeans(Type type) {
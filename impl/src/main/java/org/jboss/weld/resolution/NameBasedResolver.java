@@ -18,12 +18,16 @@ package org.jboss.weld.resolution;
 
 import static org.jboss.weld.util.cache.LoadingCacheUtils.getCacheValue;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.weld.bootstrap.SpecializationAndEnablementRegistry;
+import org.jboss.weld.el.Namespace;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Beans;
 
@@ -34,6 +38,10 @@ import com.google.common.collect.ImmutableSet;
 
 /**
  * Implementation of name based bean resolution
+ * <p>
+ * Once the deployment is validated, the resolver builds an immutable index of all the accessible names and their resolved beans
+ * (see {@link #buildIndex()}). The index is shared with the EL resolver through the root {@link Namespace}, so that resolving a
+ * name does not need to scan the beans nor to allocate.
  *
  * @author Pete Muir
  */
@@ -67,10 +75,20 @@ public class NameBasedResolver {
     // The resolved names
     private LoadingCache<String, Set<Bean<?>>> resolvedNames;
 
+    private final BeanManagerImpl manager;
+    private final Iterable<? extends Bean<?>> allBeans;
+    private final SpecializationAndEnablementRegistry registry;
+
+    private volatile boolean indexed;
+    private volatile NameIndex index;
+
     /**
      * Constructor
      */
     public NameBasedResolver(BeanManagerImpl manager, Iterable<? extends Bean<?>> allBeans) {
+        this.manager = manager;
+        this.allBeans = allBeans;
+        this.registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
         this.resolvedNames = CacheBuilder.newBuilder().build(new NameToBeanSet(manager, allBeans));
     }
 
@@ -80,6 +98,56 @@ public class NameBasedResolver {
      */
     public void clear() {
         this.resolvedNames.invalidateAll();
+        this.index = null;
+    }
+
+    /**
+     * Builds the name index. From now on, names are resolved from the index, which is rebuilt lazily whenever the resolver is
+     * cleared. This method should be called once the beans of the deployment are known, i.e. after validation.
+     */
+    public void buildIndex() {
+        this.index = createIndex();
+        this.indexed = true;
+    }
+
+    private NameIndex getIndex() {
+        if (!indexed) {
+            return null;
+        }
+        NameIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = createIndex();
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private NameIndex createIndex() {
+        Map<String, Set<Bean<?>>> matchedBeans = new HashMap<String, Set<Bean<?>>>();
+        for (Bean<?> bean : allBeans) {
+            if (bean.getName() != null) {
+                Set<Bean<?>> beans = matchedBeans.get(bean.getName());
+                if (beans == null) {
+                    beans = new HashSet<Bean<?>>();
+                    matchedBeans.put(bean.getName(), beans);
+                }
+                beans.add(bean);
+            }
+        }
+        Map<String, Set<Bean<?>>> resolvedBeans = new HashMap<String, Set<Bean<?>>>();
+        for (Entry<String, Set<Bean<?>>> entry : matchedBeans.entrySet()) {
+            //noinspection unchecked
+            Set<Bean<?>> beans = ImmutableSet.copyOf((Iterable<Bean<?>>) Beans.removeDisabledBeans(entry.getValue(), manager, registry));
+            if (!beans.isEmpty()) {
+                resolvedBeans.put(entry.getKey(), beans);
+            }
+        }
+        return new NameIndex(resolvedBeans, new Namespace(manager.getAccessibleNamespaces(), resolvedBeans));
     }
 
     /**
@@ -89,9 +157,24 @@ public class NameBasedResolver {
      * @return The set of matching beans
      */
     public Set<Bean<?>> resolve(final String name) {
+        NameIndex index = getIndex();
+        if (index != null && name != null) {
+            Set<Bean<?>> beans = index.resolvedBeans.get(name);
+            return beans == null ? ImmutableSet.<Bean<?>>of() : beans;
+        }
         return getCacheValue(resolvedNames, name);
     }
 
+    /**
+     * Returns the root of the namespace hierarchy which holds the resolved beans of every name.
+     *
+     * @return the root namespace, or <code>null</code> if the index has not been built yet
+     */
+    public Namespace getRootNamespace() {
+        NameIndex index = getIndex();
+        return index == null ? null : index.rootNamespace;
+    }
+
     /**
      * Gets a string representation
      *
@@ -102,7 +185,22 @@ public class NameBasedResolver {
         StringBuilder buffer = new StringBuilder();
         buffer.append("Resolver\n");
         buffer.append("Resolved names points: " + resolvedNames.size() + "\n");
+        NameIndex index = this.index;
+        if (index != null) {
+            buffer.append("Indexed names: " + index.resolvedBeans.size() + "\n");
+        }
         return buffer.toString();
     }
 
+    private static class NameIndex {
+
+        private final Map<String, Set<Bean<?>>> resolvedBeans;
+        private final Namespace rootNamespace;
+
+        private NameIndex(Map<String, Set<Bean<?>>> resolvedBeans, Namespace rootNamespace) {
+            this.resolvedBeans = resolvedBeans;
+            this.rootNamespace = rootNamespace;
+        }
+    }
+
 }
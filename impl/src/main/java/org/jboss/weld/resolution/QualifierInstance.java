@@ -18,7 +18,6 @@ package org.jboss.weld.resolution;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
-import java.security.AccessController;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -34,7 +33,8 @@ import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.metadata.cache.QualifierModel;
 import org.jboss.weld.resources.SharedObjectCache;
-import org.jboss.weld.security.SetAccessibleAction;
+import org.jboss.weld.util.reflection.DetachedAnnotation;
+import org.jboss.weld.util.reflection.Reflections;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableMap;
@@ -83,7 +83,7 @@ public class QualifierInstance {
      * @return an immutable set of qualifier instances for the given annotations
      */
     public static Set<QualifierInstance> qualifiers(final BeanManagerImpl beanManager, final Set<Annotation> annotations) {
-        return qualifiers(beanManager.getServices().get(MetaAnnotationStore.class), beanManager.getServices().get(SharedObjectCache.class), annotations);
+        return qualifiers(beanManager.getMetaAnnotationStore(), beanManager.getSharedObjectCache(), annotations);
     }
 
     /**
@@ -153,12 +153,7 @@ public class QualifierInstance {
         for (final AnnotatedMethod<?> method : model.getAnnotatedAnnotation().getMethods()) {
             if(!model.getNonBindingMembers().contains(method)) {
                 try {
-                    if (System.getSecurityManager() != null) {
-                        AccessController.doPrivileged(SetAccessibleAction.of(method.getJavaMember()));
-                    } else {
-                        method.getJavaMember().setAccessible(true);
-                    }
-                    builder.put(method, method.getJavaMember().invoke(instance));
+                    builder.put(method, Reflections.ensureAccessible(method.getJavaMember()).invoke(instance));
                 } catch (IllegalAccessException e) {
                     throw new WeldException(e);
                 } catch (InvocationTargetException e) {
@@ -216,7 +211,8 @@ public class QualifierInstance {
      * @return a qualifier instance for the given annotation instance
      */
     private static QualifierInstance getValue(Annotation annotation, MetaAnnotationStore store, boolean useQualifierInstanceCache) {
-        return useQualifierInstanceCache ? store.getCachedQualifierInstance(annotation)
+        // the cache must not retain the enclosing instance of an anonymous annotation literal
+        return useQualifierInstanceCache ? store.getCachedQualifierInstance(DetachedAnnotation.detach(annotation))
                 : new QualifierInstance(annotation.annotationType(), createValues(annotation, store));
     }
 
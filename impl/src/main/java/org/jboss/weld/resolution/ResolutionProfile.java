@@ -0,0 +1,462 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.event.ObserverNotifier;
+import org.jboss.weld.executor.IterativeWorkerTaskFactory;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.resources.DefaultResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoadingException;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.util.reflection.DetachedAnnotation;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Optional service which records the resolutions performed at runtime and replays them when the container boots next time, so
+ * that the first requests served after a restart do not pay for cold resolver caches and client proxy generation.
+ *
+ * <p>
+ * The service is only registered if a file is specified using the
+ * {@link org.jboss.weld.SystemPropertiesConfiguration#RESOLUTION_PROFILE_KEY} system property. Each container keeps its profile
+ * in a file of its own, see {@link #getFile(String, String)}. The resolutions recorded are those
+ * which miss the cache of a {@link TypeSafeBeanResolver} or of the global {@link TypeSafeObserverResolver} once the container is
+ * initialized. Each resolution is recorded as one of the following entries:
+ * </p>
+ * <ul>
+ * <li>the identifier of the bean declaring the injection point resolved - replaying the entry resolves all the injection points
+ * of the bean,</li>
+ * <li>a programmatic lookup of a class with qualifiers which have no members or only members with default values,</li>
+ * <li>an event class fired with such qualifiers.</li>
+ * </ul>
+ *
+ * <p>
+ * Resolutions of other types (e.g. parameterized types looked up programmatically) or with qualifier member values are not
+ * recorded. Named lookups are not recorded either as the index of names is built during bootstrap anyway.
+ * </p>
+ *
+ * <p>
+ * The entries are replayed using the {@link ExecutorServices} if available, before the container is marked as initialized. The
+ * client proxies of the normal scoped beans resolved are created as well. Entries which cannot be replayed any more (e.g. a bean
+ * which was removed) are dropped. The profile is written when the container shuts down.
+ * </p>
+ */
+public class ResolutionProfile implements Service {
+
+    private static final String HEADER = "# Weld resolution profile";
+    private static final String BEAN = "bean";
+    private static final String LOOKUP = "lookup";
+    private static final String EVENT = "event";
+    private static final char SEPARATOR = '\t';
+    private static final String CHARSET = "UTF-8";
+
+    private final File file;
+    private final Set<String> entries;
+    private volatile boolean recording;
+
+    public ResolutionProfile(File file) {
+        this.file = file;
+        this.entries = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * The containers running in the same JVM do not share a profile, the path is therefore suffixed with the id of the container.
+     *
+     * @param path the path specified using the {@link org.jboss.weld.SystemPropertiesConfiguration#RESOLUTION_PROFILE_KEY} system
+     *        property
+     * @param contextId the id of the container
+     * @return the file holding the profile of the given container
+     */
+    public static File getFile(String path, String contextId) {
+        return new File(path + '-' + contextId.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    /**
+     * Records a resolution which missed the cache of the bean resolver of the given manager.
+     */
+    public void beanResolved(BeanManagerImpl manager, Resolvable resolvable) {
+        if (!recording) {
+            return;
+        }
+        Bean<?> declaringBean = resolvable.getDeclaringBean();
+        if (declaringBean instanceof CommonBean<?>) {
+            entries.add(BEAN + SEPARATOR + ((CommonBean<?>) declaringBean).getIdentifier().asString());
+        }
+        if (resolvable.getTypes().size() == 1) {
+            Type type = resolvable.getTypes().iterator().next();
+            if (type instanceof Class<?>) {
+                StringBuilder entry = new StringBuilder(LOOKUP).append(SEPARATOR).append(manager.getId()).append(SEPARATOR)
+                        .append(((Class<?>) type).getName());
+                if (appendQualifiers(entry, resolvable.getQualifiers(), manager.getMetaAnnotationStore())) {
+                    entries.add(entry.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a resolution which missed the cache of the global observer resolver.
+     */
+    public void eventResolved(MetaAnnotationStore store, Resolvable resolvable) {
+        if (!recording) {
+            return;
+        }
+        Class<?> eventClass = getEventClass(resolvable.getTypes());
+        if (eventClass != null) {
+            StringBuilder entry = new StringBuilder(EVENT).append(SEPARATOR).append(eventClass.getName());
+            if (appendQualifiers(entry, resolvable.getQualifiers(), store)) {
+                entries.add(entry.toString());
+            }
+        }
+    }
+
+    /**
+     * The resolvable of an event holds the type closure of the event type. The event type can only be recovered if it is a class,
+     * in which case it is the only class of the closure assignable to all the types of the closure.
+     */
+    private static Class<?> getEventClass(Set<Type> types) {
+        for (Type type : types) {
+            if (type instanceof Class<?>) {
+                Class<?> candidate = (Class<?>) type;
+                boolean mostSpecific = true;
+                for (Type other : types) {
+                    Class<?> rawType = Reflections.getRawType(other);
+                    if (rawType == null || !rawType.isAssignableFrom(candidate)) {
+                        mostSpecific = false;
+                        break;
+                    }
+                }
+                if (mostSpecific) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean appendQualifiers(StringBuilder entry, Set<QualifierInstance> qualifiers, MetaAnnotationStore store) {
+        for (QualifierInstance qualifier : qualifiers) {
+            Annotation annotation = DetachedAnnotation.withDefaultValues(qualifier.getAnnotationClass());
+            if (annotation == null || !QualifierInstance.of(annotation, store).equals(qualifier)) {
+                return false;
+            }
+            entry.append(SEPARATOR).append(qualifier.getAnnotationClass().getName());
+        }
+        return true;
+    }
+
+    /**
+     * Replays the profile read from the file, if any. The entries replayed successfully are kept and written to the file again
+     * on shutdown.
+     *
+     * @param deploymentManager the deployment manager
+     * @param managers the managers of all the bean archives
+     */
+    public void replay(BeanManagerImpl deploymentManager, Collection<BeanManagerImpl> managers) {
+        List<String> profile = read();
+        if (profile.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        final Replay replay = new Replay(deploymentManager, managers);
+        ExecutorServices executor = deploymentManager.getServices().get(ExecutorServices.class);
+        if (executor != null) {
+            executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<String>(profile) {
+                @Override
+                protected void doWork(String entry) {
+                    replay.replay(entry);
+                }
+            });
+        } else {
+            for (String entry : profile) {
+                replay.replay(entry);
+            }
+        }
+        BootstrapLogger.LOG.resolutionProfileReplayed(file, replay.replayed.get(), profile.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Starts recording the resolutions performed. Resolutions performed during bootstrap (e.g. when the deployment is validated)
+     * are not recorded.
+     */
+    public void startRecording() {
+        this.recording = true;
+    }
+
+    private List<String> read() {
+        List<String> profile = new ArrayList<String>();
+        if (!file.isFile()) {
+            return profile;
+        }
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.length() > 0 && !line.startsWith("#")) {
+                    profile.add(line);
+                }
+            }
+        } catch (IOException e) {
+            BootstrapLogger.LOG.unableToReadResolutionProfile(file, e);
+            profile.clear();
+        } finally {
+            close(reader);
+        }
+        return profile;
+    }
+
+    /**
+     * Writes the recorded entries to the file. Does nothing unless the container has been initialized.
+     */
+    public void write() {
+        if (!recording) {
+            return;
+        }
+        File temporaryFile = null;
+        Writer writer = null;
+        try {
+            // a unique file as another process may write a profile to the same directory at the same time
+            temporaryFile = File.createTempFile(file.getName() + ".tmp.", "", file.getAbsoluteFile().getParentFile());
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporaryFile), CHARSET));
+            writer.write(HEADER);
+            writer.write('\n');
+            for (String entry : new TreeSet<String>(entries)) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+            writer.close();
+            writer = null;
+            // the profile is replaced at once so that a node which is killed while writing does not leave a truncated profile
+            if (!temporaryFile.renameTo(file) && !(file.delete() && temporaryFile.renameTo(file))) {
+                throw new IOException("Unable to rename " + temporaryFile + " to " + file);
+            }
+        } catch (IOException e) {
+            BootstrapLogger.LOG.unableToWriteResolutionProfile(file, e);
+        } finally {
+            close(writer);
+            if (temporaryFile != null && temporaryFile.exists() && !temporaryFile.delete()) {
+                temporaryFile.deleteOnExit();
+            }
+        }
+    }
+
+    private static void close(Reader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void close(Writer writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        this.recording = false;
+        this.entries.clear();
+    }
+
+    private class Replay {
+
+        private final ContextualStore contextualStore;
+        private final ObserverNotifier observerNotifier;
+        private final Map<String, BeanManagerImpl> managers;
+        private final List<ResourceLoader> resourceLoaders;
+        private final AtomicInteger replayed;
+
+        private Replay(BeanManagerImpl deploymentManager, Collection<BeanManagerImpl> managers) {
+            this.contextualStore = deploymentManager.getServices().get(ContextualStore.class);
+            this.observerNotifier = deploymentManager.getGlobalStrictObserverNotifier();
+            this.managers = new HashMap<String, BeanManagerImpl>();
+            this.managers.put(deploymentManager.getId(), deploymentManager);
+            Set<ResourceLoader> resourceLoaders = Collections.newSetFromMap(new IdentityHashMap<ResourceLoader, Boolean>());
+            this.resourceLoaders = new ArrayList<ResourceLoader>();
+            for (BeanManagerImpl manager : managers) {
+                this.managers.put(manager.getId(), manager);
+                ResourceLoader resourceLoader = getResourceLoader(manager);
+                if (resourceLoaders.add(resourceLoader)) {
+                    this.resourceLoaders.add(resourceLoader);
+                }
+            }
+            this.replayed = new AtomicInteger();
+        }
+
+        private void replay(String entry) {
+            String[] parts = entry.split(String.valueOf(SEPARATOR));
+            try {
+                boolean success;
+                if (BEAN.equals(parts[0]) && parts.length == 2) {
+                    success = replayBean(parts[1]);
+                } else if (LOOKUP.equals(parts[0]) && parts.length >= 3) {
+                    success = replayLookup(parts);
+                } else if (EVENT.equals(parts[0]) && parts.length >= 2) {
+                    success = replayEvent(parts);
+                } else {
+                    success = false;
+                }
+                if (success) {
+                    entries.add(entry);
+                    replayed.incrementAndGet();
+                } else {
+                    BootstrapLogger.LOG.resolutionProfileEntryDropped(entry, null);
+                }
+            } catch (RuntimeException e) {
+                BootstrapLogger.LOG.resolutionProfileEntryDropped(entry, e);
+            }
+        }
+
+        private boolean replayBean(String id) {
+            Contextual<?> contextual = contextualStore.getContextual(id);
+            if (!(contextual instanceof RIBean<?>)) {
+                return false;
+            }
+            BeanManagerImpl manager = ((RIBean<?>) contextual).getBeanManager();
+            for (InjectionPoint injectionPoint : ((RIBean<?>) contextual).getInjectionPoints()) {
+                if (!injectionPoint.isDelegate()) {
+                    resolve(manager, new ResolvableBuilder(injectionPoint, manager).create(), injectionPoint.getType());
+                }
+            }
+            return true;
+        }
+
+        private boolean replayLookup(String[] parts) {
+            BeanManagerImpl manager = managers.get(parts[1]);
+            if (manager == null) {
+                return false;
+            }
+            ResourceLoader resourceLoader = getResourceLoader(manager);
+            Class<?> type = resourceLoader.classForName(parts[2]);
+            ResolvableBuilder builder = new ResolvableBuilder(type, manager);
+            for (int i = 3; i < parts.length; i++) {
+                Annotation qualifier = getQualifier(resourceLoader.classForName(parts[i]));
+                if (qualifier == null) {
+                    return false;
+                }
+                builder.addQualifier(qualifier);
+            }
+            resolve(manager, builder.create(), type);
+            return true;
+        }
+
+        private boolean replayEvent(String[] parts) {
+            Class<?> eventType = loadClass(parts[1]);
+            Set<Annotation> qualifiers = new HashSet<Annotation>();
+            for (int i = 2; i < parts.length; i++) {
+                Annotation qualifier = getQualifier(loadClass(parts[i]));
+                if (qualifier == null) {
+                    return false;
+                }
+                qualifiers.add(qualifier);
+            }
+            observerNotifier.resolveObserverMethods(eventType, qualifiers);
+            return true;
+        }
+
+        /**
+         * Resolves the given resolvable the same way an injection or a programmatic lookup does and creates the client proxy of the
+         * resolved bean if needed.
+         */
+        private void resolve(BeanManagerImpl manager, Resolvable resolvable, Type requestedType) {
+            Set<Bean<?>> resolved = manager.getBeanResolver().resolve(manager.getBeanResolver().resolve(resolvable, true));
+            if (resolved.size() == 1) {
+                Bean<?> bean = resolved.iterator().next();
+                if (bean instanceof RIBean<?> ? ((RIBean<?>) bean).isProxyRequired() : manager.isNormalScope(bean.getScope())) {
+                    manager.getClientProxyProvider().getClientProxy(bean, requestedType);
+                }
+            }
+        }
+
+        private Annotation getQualifier(Class<?> annotationType) {
+            if (!annotationType.isAnnotation()) {
+                return null;
+            }
+            return DetachedAnnotation.withDefaultValues(annotationType.asSubclass(Annotation.class));
+        }
+
+        /**
+         * The class of an event may come from any bean archive.
+         */
+        private Class<?> loadClass(String name) {
+            ResourceLoadingException failure = null;
+            for (ResourceLoader resourceLoader : resourceLoaders) {
+                try {
+                    return resourceLoader.classForName(name);
+                } catch (ResourceLoadingException e) {
+                    failure = e;
+                }
+            }
+            if (failure == null) {
+                return DefaultResourceLoader.INSTANCE.classForName(name);
+            }
+            throw failure;
+        }
+
+        private ResourceLoader getResourceLoader(BeanManagerImpl manager) {
+            ResourceLoader resourceLoader = manager.getServices().get(ResourceLoader.class);
+            return resourceLoader == null ? DefaultResourceLoader.INSTANCE : resourceLoader;
+        }
+    }
+}
@@ -44,6 +44,7 @@ import org.jboss.weld.logging.BeanManagerLogger;
 import org.jboss.weld.logging.ResolutionLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.util.reflection.DetachedAnnotation;
 import org.jboss.weld.util.reflection.Reflections;
 
 public class ResolvableBuilder {
@@ -70,7 +71,7 @@ public class ResolvableBuilder {
     }
 
     public ResolvableBuilder(BeanManagerImpl manager) {
-        this(manager.getServices().get(MetaAnnotationStore.class));
+        this(manager.getMetaAnnotationStore());
     }
 
     public ResolvableBuilder(Type type, final BeanManagerImpl beanManager) {
@@ -160,6 +161,8 @@ public class ResolvableBuilder {
     }
 
     public ResolvableBuilder addQualifier(Annotation qualifier) {
+        // The resolvable may become a cache key, do not retain the enclosing instance of an anonymous annotation literal
+        qualifier = DetachedAnnotation.detach(qualifier);
         // Handle the @New qualifier special case
         QualifierInstance qualifierInstance = QualifierInstance.of(qualifier, store);
         final Class<? extends Annotation> annotationType = qualifierInstance.getAnnotationClass();
@@ -29,12 +29,22 @@ import org.jboss.weld.manager.BeanManagerImpl;
  */
 public class TypeSafeBeanResolver extends AbstractTypeSafeBeanResolver<Bean<?>, Set<Bean<?>>> {
 
+    private final ResolutionProfile profile;
+
     public TypeSafeBeanResolver(BeanManagerImpl beanManager, Iterable<Bean<?>> beans) {
         super(beanManager, beans);
+        this.profile = beanManager.getServices().get(ResolutionProfile.class);
     }
 
     @Override
     protected Set<Bean<?>> sortResult(Set<Bean<?>> matched) {
         return matched;
     }
+
+    @Override
+    protected void afterResolution(Resolvable resolvable, Set<Bean<?>> result) {
+        if (profile != null) {
+            profile.beanResolved(getBeanManager(), resolvable);
+        }
+    }
 }
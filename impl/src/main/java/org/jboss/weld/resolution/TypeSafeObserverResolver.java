@@ -38,12 +38,22 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
     private final MetaAnnotationStore metaAnnotationStore;
     private final AssignabilityRules rules;
     private final SharedObjectCache sharedObjectCache;
+    private final ResolutionProfile profile;
 
     public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, SharedObjectCache cache, Iterable<ObserverMethod<?>> observers) {
+        this(metaAnnotationStore, cache, observers, null);
+    }
+
+    /**
+     * @param profile the profile recording the event types resolved by this resolver, may be null
+     */
+    public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, SharedObjectCache cache, Iterable<ObserverMethod<?>> observers,
+            ResolutionProfile profile) {
         super(observers);
         this.metaAnnotationStore = metaAnnotationStore;
         this.rules = EventTypeAssignabilityRules.instance();
         this.sharedObjectCache = cache;
+        this.profile = profile;
     }
 
     @Override
@@ -76,6 +86,13 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
         return false;
     }
 
+    @Override
+    protected void afterResolution(Resolvable resolvable, Set<ObserverMethod<?>> result) {
+        if (profile != null) {
+            profile.eventResolved(metaAnnotationStore, resolvable);
+        }
+    }
+
     @Override
     protected Set<ObserverMethod<?>> filterResult(Set<ObserverMethod<?>> matched) {
         return matched;
@@ -19,6 +19,7 @@ package org.jboss.weld.resolution;
 import static org.jboss.weld.util.cache.LoadingCacheUtils.getCacheValue;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Set;
 
 import org.jboss.weld.util.collections.WeldCollections;
 
+import com.google.common.base.Predicate;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -48,7 +50,9 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         }
 
         public C load(R from) {
-            return resolver.makeResultImmutable(resolver.sortResult(resolver.filterResult(resolver.findMatching(from))));
+            C result = resolver.compute(from);
+            resolver.afterResolution(from, result);
+            return result;
         }
 
     }
@@ -87,6 +91,19 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         this.resolved.cleanUp();
     }
 
+    /**
+     * Invalidates the cached resolutions of the resolvables matching the given predicate.
+     */
+    protected void invalidate(Predicate<? super R> predicate) {
+        List<R> invalid = new ArrayList<R>();
+        for (R resolvable : resolved.asMap().keySet()) {
+            if (predicate.apply(resolvable)) {
+                invalid.add(resolvable);
+            }
+        }
+        resolved.invalidateAll(invalid);
+    }
+
     /**
      * Get the possible beans for the given element
      *
@@ -98,10 +115,20 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         if (cache) {
             return getCacheValue(resolved, wrappedResolvable);
         } else {
-            return resolverFunction.load(wrappedResolvable);
+            return compute(wrappedResolvable);
         }
     }
 
+    private C compute(R resolvable) {
+        return makeResultImmutable(sortResult(filterResult(findMatching(resolvable))));
+    }
+
+    /**
+     * Called once the result of a cached resolution has been computed. Does nothing by default.
+     */
+    protected void afterResolution(R resolvable, C result) {
+    }
+
     /**
      * Gets the matching beans for binding criteria from a list of beans
      *
@@ -52,11 +52,11 @@ public class DefaultReflectionCache extends AbstractBootstrapService implements
         return element.getDeclaredAnnotations();
     }
 
-    private static class Annotations {
+    static class Annotations {
         private final Annotation[] annotations;
         private final Set<Annotation> annotationSet;
 
-        public Annotations(Annotation[] annotations) {
+        Annotations(Annotation[] annotations) {
             if (annotations.length == 0) {
                 this.annotations = Arrays2.EMPTY_ANNOTATION_ARRAY;
                 this.annotationSet = Collections.emptySet();
@@ -76,30 +76,65 @@ public class DefaultReflectionCache extends AbstractBootstrapService implements
     private final LoadingCache<Class<? extends Annotation>, Boolean> isScopeAnnotation;
 
     public DefaultReflectionCache(TypeStore store) {
+        this(store, null);
+    }
+
+    /**
+     * @param sharedCache the view of the JVM-wide cache the results of reflection are read from and stored in, may be null
+     */
+    DefaultReflectionCache(TypeStore store, final SharedReflectionCache sharedCache) {
         this.store = store;
         CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
         this.annotations = cacheBuilder.build(new CacheLoader<AnnotatedElement, Annotations>() {
             @Override
             public Annotations load(AnnotatedElement input) {
-                return new Annotations(internalGetAnnotations(input));
+                if (sharedCache == null) {
+                    return new Annotations(internalGetAnnotations(input));
+                }
+                Annotations result = sharedCache.getAnnotations(input);
+                if (result == null) {
+                    result = sharedCache.putAnnotations(input, new Annotations(internalGetAnnotations(input)));
+                }
+                return result;
             }
         });
         this.declaredAnnotations = cacheBuilder.build(new CacheLoader<AnnotatedElement, Annotations>() {
             @Override
             public Annotations load(AnnotatedElement input) {
-                return new Annotations(internalGetDeclaredAnnotations(input));
+                if (sharedCache == null) {
+                    return new Annotations(internalGetDeclaredAnnotations(input));
+                }
+                Annotations result = sharedCache.getDeclaredAnnotations(input);
+                if (result == null) {
+                    result = sharedCache.putDeclaredAnnotations(input, new Annotations(internalGetDeclaredAnnotations(input)));
+                }
+                return result;
             }
         });
         this.constructorParameterAnnotations = cacheBuilder.build(new CacheLoader<Constructor<?>, Annotation[][]>() {
             @Override
             public Annotation[][] load(Constructor<?> input) {
-                return input.getParameterAnnotations();
+                if (sharedCache == null) {
+                    return input.getParameterAnnotations();
+                }
+                Annotation[][] result = sharedCache.getParameterAnnotations(input);
+                if (result == null) {
+                    result = sharedCache.putParameterAnnotations(input, input.getParameterAnnotations());
+                }
+                return result;
             }
         });
         this.methodParameterAnnotations = cacheBuilder.build(new CacheLoader<Method, Annotation[][]>() {
             @Override
             public Annotation[][] load(Method input) {
-                return input.getParameterAnnotations();
+                if (sharedCache == null) {
+                    return input.getParameterAnnotations();
+                }
+                Annotation[][] result = sharedCache.getParameterAnnotations(input);
+                if (result == null) {
+                    result = sharedCache.putParameterAnnotations(input, input.getParameterAnnotations());
+                }
+                return result;
             }
         });
         this.parameterAnnotationSet = cacheBuilder.build(new CacheLoader<BackedAnnotatedParameter<?>, Set<Annotation>>() {
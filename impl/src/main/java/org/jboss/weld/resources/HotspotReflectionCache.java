@@ -37,7 +37,11 @@ public class HotspotReflectionCache extends DefaultReflectionCache {
     private final Class<?> annotationTypeLock;
 
     public HotspotReflectionCache(TypeStore store) {
-        super(store);
+        this(store, null);
+    }
+
+    HotspotReflectionCache(TypeStore store, SharedReflectionCache sharedCache) {
+        super(store, sharedCache);
         try {
             this.annotationTypeLock = Class.forName("sun.reflect.annotation.AnnotationType");
         } catch (ClassNotFoundException e) {
@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.resources;
 
+import org.jboss.weld.SystemPropertiesConfiguration;
 import org.jboss.weld.metadata.TypeStore;
 import org.jboss.weld.util.reflection.Reflections;
 
@@ -27,10 +28,11 @@ public class ReflectionCacheFactory {
     }
 
     public static ReflectionCache newInstance(TypeStore store) {
+        SharedReflectionCache sharedCache = SystemPropertiesConfiguration.INSTANCE.isSharedMetadataCacheEnabled() ? new SharedReflectionCache() : null;
         if (Reflections.isClassLoadable(HOTSPOT_MARKER, WeldClassLoaderResourceLoader.INSTANCE)) {
-            return new HotspotReflectionCache(store);
+            return new HotspotReflectionCache(store, sharedCache);
         } else {
-            return new DefaultReflectionCache(store);
+            return new DefaultReflectionCache(store, sharedCache);
         }
     }
 }
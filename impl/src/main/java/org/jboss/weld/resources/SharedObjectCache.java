@@ -28,6 +28,7 @@ import org.jboss.weld.bootstrap.api.BootstrapService;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.collections.WeldCollections;
+import org.jboss.weld.util.reflection.HierarchyDiscovery;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -41,8 +42,13 @@ import com.google.common.cache.LoadingCache;
  */
 public class SharedObjectCache implements BootstrapService {
 
+    /**
+     * The maximum number of type closures kept after bootstrap, mostly of the event types fired at runtime
+     */
+    private static final int RUNTIME_TYPE_CLOSURES_SIZE = 512;
+
     public static SharedObjectCache instance(BeanManagerImpl manager) {
-        return manager.getServices().get(SharedObjectCache.class);
+        return manager.getSharedObjectCache();
     }
 
     private final LoadingCache<Set<?>, Set<?>> sharedSets = CacheBuilder.newBuilder().build(new CacheLoader<Set<?>, Set<?>>() {
@@ -68,6 +74,18 @@ public class SharedObjectCache implements BootstrapService {
         }
     });
 
+    /*
+     * Unlike the other caches, this one is bounded and survives bootstrap. It is cleared when the container shuts down so that
+     * the classes of the application can be collected.
+     */
+    private final LoadingCache<Type, Set<Type>> typeClosures = CacheBuilder.newBuilder().maximumSize(RUNTIME_TYPE_CLOSURES_SIZE).build(
+            new CacheLoader<Type, Set<Type>>() {
+                @Override
+                public Set<Type> load(Type input) {
+                    return WeldCollections.immutableSet(new HierarchyDiscovery(input).getTypeClosure());
+                }
+            });
+
     public <T> Set<T> getSharedSet(Set<T> set) {
         return getCastCacheValue(sharedSets, set);
     }
@@ -80,6 +98,15 @@ public class SharedObjectCache implements BootstrapService {
         return getCacheValue(typeClosureHolders, type);
     }
 
+    /**
+     * Unlike {@link #getTypeClosureHolder(Type)}, this method is meant to be used at runtime.
+     *
+     * @return the immutable type closure of the given type
+     */
+    public Set<Type> getTypeClosure(Type type) {
+        return getCacheValue(typeClosures, type);
+    }
+
     @Override
     public void cleanupAfterBoot() {
         sharedSets.invalidateAll();
@@ -90,5 +117,6 @@ public class SharedObjectCache implements BootstrapService {
     @Override
     public void cleanup() {
         cleanupAfterBoot();
+        typeClosures.invalidateAll();
     }
 }
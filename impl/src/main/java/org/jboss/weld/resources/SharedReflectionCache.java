@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resources;
+
+import static org.jboss.weld.util.cache.LoadingCacheUtils.getCacheValue;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.weld.resources.DefaultReflectionCache.Annotations;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Cache of the annotations present on classes, members and parameters which is shared by the {@link DefaultReflectionCache}s of
+ * all the Weld containers running in the JVM if {@link org.jboss.weld.SystemPropertiesConfiguration#isSharedMetadataCacheEnabled()}
+ * is <code>true</code>. Deployments bundling the same libraries loaded by a shared class loader then read the annotations of
+ * those classes only once. Each container obtains its own instance of this class, the instances share the underlying storage.
+ * <p>
+ * Only the results of reflection are shared, never metadata which depends on the configuration of a container (e.g. scopes or
+ * qualifiers registered by extensions). The metadata is grouped by the class loader of the class declaring an element. Class
+ * loaders as well as their metadata are only referenced weakly by the shared storage - the metadata of a class loader is kept
+ * strongly by the instances of this class which read or stored it. The metadata of the classes of an undeployed application,
+ * and thus its class loader, can therefore be collected once all the containers which used these classes are shut down.
+ */
+final class SharedReflectionCache {
+
+    private static final LoadingCache<ClassLoader, LoaderMetadata> LOADERS = CacheBuilder.newBuilder().weakKeys().weakValues()
+            .build(new CacheLoader<ClassLoader, LoaderMetadata>() {
+                @Override
+                public LoaderMetadata load(ClassLoader key) {
+                    return new LoaderMetadata();
+                }
+            });
+
+    /**
+     * Classes loaded by the bootstrap class loader are never unloaded.
+     */
+    private static final LoaderMetadata BOOTSTRAP_LOADER = new LoaderMetadata();
+
+    /**
+     * The metadata used by this instance, the references keep it from being collected while the container is running.
+     */
+    private final Set<LoaderMetadata> used;
+
+    SharedReflectionCache() {
+        this.used = Collections.newSetFromMap(new ConcurrentHashMap<LoaderMetadata, Boolean>());
+    }
+
+    /**
+     * Metadata of the classes loaded by a single class loader.
+     */
+    private static class LoaderMetadata {
+        private final ConcurrentMap<Class<?>, ClassMetadata> classes = new ConcurrentHashMap<Class<?>, ClassMetadata>();
+    }
+
+    /**
+     * Members are compared by equality as each container obtains its own copies of the reflection objects.
+     */
+    private static class ClassMetadata {
+        private final ConcurrentMap<AnnotatedElement, Annotations> annotations = new ConcurrentHashMap<AnnotatedElement, Annotations>();
+        private final ConcurrentMap<AnnotatedElement, Annotations> declaredAnnotations = new ConcurrentHashMap<AnnotatedElement, Annotations>();
+        private final ConcurrentMap<Member, Annotation[][]> parameterAnnotations = new ConcurrentHashMap<Member, Annotation[][]>();
+    }
+
+    /**
+     * @return the metadata of the class declaring the given element or null if the element is neither a class nor a member
+     */
+    private ClassMetadata getClassMetadata(Object element) {
+        if (element instanceof Class<?>) {
+            return getClassMetadata((Class<?>) element);
+        }
+        if (element instanceof Member) {
+            return getClassMetadata(((Member) element).getDeclaringClass());
+        }
+        return null;
+    }
+
+    private ClassMetadata getClassMetadata(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        LoaderMetadata loaderMetadata;
+        if (loader == null) {
+            loaderMetadata = BOOTSTRAP_LOADER;
+        } else {
+            loaderMetadata = getCacheValue(LOADERS, loader);
+            used.add(loaderMetadata);
+        }
+        ClassMetadata metadata = loaderMetadata.classes.get(clazz);
+        if (metadata == null) {
+            metadata = putIfAbsent(loaderMetadata.classes, clazz, new ClassMetadata());
+        }
+        return metadata;
+    }
+    Annotations getAnnotations(AnnotatedElement element) {
+        ClassMetadata metadata = getClassMetadata(element);
+        return metadata == null ? null : metadata.annotations.get(element);
+    }
+
+    Annotations putAnnotations(AnnotatedElement element, Annotations annotations) {
+        ClassMetadata metadata = getClassMetadata(element);
+        return metadata == null ? annotations : putIfAbsent(metadata.annotations, element, annotations);
+    }
+
+    Annotations getDeclaredAnnotations(AnnotatedElement element) {
+        ClassMetadata metadata = getClassMetadata(element);
+        return metadata == null ? null : metadata.declaredAnnotations.get(element);
+    }
+
+    Annotations putDeclaredAnnotations(AnnotatedElement element, Annotations annotations) {
+        ClassMetadata metadata = getClassMetadata(element);
+        return metadata == null ? annotations : putIfAbsent(metadata.declaredAnnotations, element, annotations);
+    }
+
+    Annotation[][] getParameterAnnotations(Member member) {
+        return getClassMetadata(member).parameterAnnotations.get(member);
+    }
+
+    Annotation[][] putParameterAnnotations(Member member, Annotation[][] annotations) {
+        return putIfAbsent(getClassMetadata(member).parameterAnnotations, member, annotations);
+    }
+
+    private static <K, V> V putIfAbsent(ConcurrentMap<K, V> map, K key, V value) {
+        V previous = map.putIfAbsent(key, value);
+        return previous == null ? value : previous;
+    }
+}
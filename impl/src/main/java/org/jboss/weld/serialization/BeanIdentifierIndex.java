@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.serialization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * A per-deployment index of the identifiers of all the beans created by Weld. The position of a bean identifier in the index
+ * may be serialized instead of the identifier itself. Identical deployments produce an identical index, the
+ * {@link #getIndexHash() hash} of the index is used to verify this when an indexed identifier is read.
+ * <p>
+ * The index is built at the end of bootstrap. Until then, {@link #getIndex(BeanIdentifier)} returns <code>null</code>.
+ */
+public class BeanIdentifierIndex implements Service {
+
+    private volatile Index index;
+
+    /**
+     * Builds the index. The order of the given beans is not significant.
+     */
+    public void build(Iterable<? extends Bean<?>> beans) {
+        TreeMap<String, BeanIdentifier> sorted = new TreeMap<String, BeanIdentifier>();
+        for (Bean<?> bean : beans) {
+            if (bean instanceof CommonBean<?>) {
+                BeanIdentifier identifier = ((CommonBean<?>) bean).getIdentifier();
+                sorted.put(identifier.asString(), identifier);
+            }
+        }
+        this.index = new Index(sorted);
+    }
+
+    /**
+     * @return the position of the given identifier or <code>null</code> if the identifier is not indexed or the index is not
+     *         built yet
+     */
+    public Integer getIndex(BeanIdentifier identifier) {
+        Index index = this.index;
+        if (index == null) {
+            return null;
+        }
+        return index.positions.get(identifier.asString());
+    }
+
+    /**
+     * @return the identifier at the given position or <code>null</code> if there is no such position
+     */
+    public BeanIdentifier getIdentifier(int position) {
+        Index index = this.index;
+        if (index == null || position < 0 || position >= index.identifiers.size()) {
+            return null;
+        }
+        return index.identifiers.get(position);
+    }
+
+    public boolean isBuilt() {
+        return index != null;
+    }
+
+    /**
+     * @return the SHA-256 based hash of the index or <code>0</code> if the index is not built yet
+     */
+    public long getIndexHash() {
+        Index index = this.index;
+        return index == null ? 0 : index.hash;
+    }
+
+    @Override
+    public void cleanup() {
+        this.index = null;
+    }
+
+    /**
+     * An immutable snapshot of the index, published as a whole.
+     */
+    private static final class Index {
+
+        private final List<BeanIdentifier> identifiers;
+        private final Map<String, Integer> positions;
+        private final long hash;
+
+        private Index(SortedMap<String, BeanIdentifier> sorted) {
+            List<BeanIdentifier> identifiers = new ArrayList<BeanIdentifier>(sorted.size());
+            Map<String, Integer> positions = new HashMap<String, Integer>(sorted.size() * 4 / 3 + 1);
+            Hasher hasher = Hashing.sha256().newHasher();
+            hasher.putInt(sorted.size());
+            for (Map.Entry<String, BeanIdentifier> entry : sorted.entrySet()) {
+                positions.put(entry.getKey(), identifiers.size());
+                identifiers.add(entry.getValue());
+                hasher.putString(entry.getKey(), Charsets.UTF_8);
+                hasher.putChar('\0');
+            }
+            this.identifiers = Collections.unmodifiableList(identifiers);
+            this.positions = Collections.unmodifiableMap(positions);
+            this.hash = hasher.hash().asLong();
+        }
+    }
+
+}
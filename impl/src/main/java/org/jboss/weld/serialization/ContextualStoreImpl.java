@@ -55,11 +55,15 @@ public class ContextualStoreImpl implements ContextualStore {
 
     private final AtomicInteger idGenerator;
 
+    // Incremented whenever contextuals are removed, so that holders of a resolved contextual can tell it may have been replaced
+    private final AtomicInteger generation;
+
     private final String contextId;
 
     public ContextualStoreImpl(String contextId) {
         this.contextId = contextId;
         this.idGenerator = new AtomicInteger(0);
+        this.generation = new AtomicInteger(0);
         this.contextuals = new ConcurrentHashMap<Contextual<?>, BeanIdentifier>();
         this.contextualsInverse = new ConcurrentHashMap<BeanIdentifier, Contextual<?>>();
         this.passivationCapableContextuals = new ConcurrentHashMap<BeanIdentifier, Contextual<?>>();
@@ -128,6 +132,36 @@ public class ContextualStoreImpl implements ContextualStore {
         }
     }
 
+    /**
+     * Remove a contextual from the store, e.g. when a bean is replaced by a redeployment. A contextual registered later with the
+     * same id then takes its place.
+     *
+     * @param contextual the contextual to remove
+     */
+    public void remove(Contextual<?> contextual) {
+        if (contextual instanceof CommonBean<?>) {
+            passivationCapableContextuals.remove(((CommonBean<?>) contextual).getIdentifier(), contextual);
+        } else if (contextual instanceof PassivationCapable) {
+            passivationCapableContextuals.remove(new StringBeanIdentifier(((PassivationCapable) contextual).getId()), contextual);
+        } else {
+            BeanIdentifier id = contextuals.remove(contextual);
+            if (id != null) {
+                contextualsInverse.remove(id);
+            }
+        }
+        generation.incrementAndGet();
+    }
+
+    /**
+     * The generation of this store changes whenever a contextual is removed. A contextual resolved by its identifier in a given
+     * generation remains valid as long as the generation does not change.
+     *
+     * @return the current generation of this store
+     */
+    public int getGeneration() {
+        return generation.get();
+    }
+
     public <C extends Contextual<I>, I> SerializableContextual<C, I> getSerializableContextual(Contextual<I> contextual) {
         if (contextual instanceof SerializableContextual<?, ?>) {
             return cast(contextual);
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.servlet;
+
+import java.util.Locale;
+
+import javax.servlet.ServletContext;
+
+import org.jboss.weld.logging.ConversationLogger;
+
+/**
+ * Determines what happens to a request which refers to a long-running conversation locked by another request. The mode is
+ * configured using the {@value #CONTEXT_PARAM} servlet context parameter, e.g. <code>fail-fast</code>.
+ */
+enum ConversationAccessMode {
+
+    /**
+     * The request waits for the conversation for up to the concurrent access timeout of the conversation context. This is the
+     * default.
+     */
+    WAIT,
+    /**
+     * The request does not wait for the conversation and fails with a {@link org.jboss.weld.context.BusyConversationException}
+     * right away.
+     */
+    FAIL_FAST,
+    /**
+     * The request is suspended using Servlet 3 asynchronous processing and dispatched again once the conversation is unlocked so
+     * that no container thread is parked meanwhile. This requires the {@link ConversationFilter} to be mapped for both the
+     * <code>REQUEST</code> and the <code>ASYNC</code> dispatcher types and to support asynchronous processing, e.g.
+     *
+     * <pre>
+     * &lt;filter-mapping&gt;
+     *     &lt;filter-name&gt;CDI Conversation Filter&lt;/filter-name&gt;
+     *     &lt;url-pattern&gt;/*&lt;/url-pattern&gt;
+     *     &lt;dispatcher&gt;REQUEST&lt;/dispatcher&gt;
+     *     &lt;dispatcher&gt;ASYNC&lt;/dispatcher&gt;
+     * &lt;/filter-mapping&gt;
+     * </pre>
+     *
+     * The Servlet API does not expose the dispatcher types of a mapping. The filter therefore only suspends requests once it has
+     * been applied to an asynchronous dispatch, otherwise a resumed request would not restore the conversation. Until then and if
+     * the filter is not mapped at all, the request waits for the conversation as in the {@link #WAIT} mode.
+     */
+    ASYNC;
+
+    static final String CONTEXT_PARAM = "org.jboss.weld.context.conversation.concurrentAccess";
+
+    private static final String SUPPORTED_VALUES = "wait, fail-fast, async";
+
+    static ConversationAccessMode of(ServletContext ctx) {
+        String value = ctx.getInitParameter(CONTEXT_PARAM);
+        if (value == null) {
+            return WAIT;
+        }
+        String name = value.trim().toUpperCase(Locale.ENGLISH).replace('-', '_');
+        for (ConversationAccessMode mode : values()) {
+            if (mode.name().equals(name)) {
+                return mode;
+            }
+        }
+        throw ConversationLogger.LOG.invalidConversationAccessMode(value, CONTEXT_PARAM, SUPPORTED_VALUES);
+    }
+}
@@ -16,11 +16,16 @@
  */
 package org.jboss.weld.servlet;
 
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import org.jboss.weld.context.AbstractConversationContext;
 import org.jboss.weld.context.ConversationContext;
+import org.jboss.weld.context.ManagedConversation;
+import org.jboss.weld.context.conversation.ConversationImpl;
 import org.jboss.weld.context.http.HttpConversationContext;
 import org.jboss.weld.context.http.LazyHttpConversationContextImpl;
 import org.jboss.weld.event.FastEvent;
@@ -56,11 +61,14 @@ public class ConversationContextActivator {
 
     private final boolean lazy;
 
+    private final ServletApiAbstraction servletApi;
+
     protected ConversationContextActivator(BeanManagerImpl beanManager, boolean lazy) {
         this.beanManager = beanManager;
         conversationInitializedEvent = FastEvent.of(HttpServletRequest.class, beanManager, InitializedLiteral.CONVERSATION);
         conversationDestroyedEvent = FastEvent.of(HttpServletRequest.class, beanManager, DestroyedLiteral.CONVERSATION);
         this.lazy = lazy;
+        this.servletApi = beanManager.getServices().get(ServletApiAbstraction.class);
     }
 
     private HttpConversationContext httpConversationContext() {
@@ -75,6 +83,42 @@ public class ConversationContextActivator {
         activateConversationContext(request);
     }
 
+    /**
+     * Suspends the given request using Servlet 3 asynchronous processing if it refers to a long-running conversation which is
+     * locked by another request. The request is dispatched again once the conversation is unlocked. The conversation context is
+     * not associated with the request by this method. The caller must be applied to the asynchronous dispatch so that the
+     * resumed request restores the conversation.
+     *
+     * @return <code>true</code> if the request was suspended, <code>false</code> if it should be processed right away
+     */
+    public boolean suspendIfConversationLocked(HttpServletRequest request) {
+        if (!servletApi.isAsyncSupported() || !request.isAsyncSupported()) {
+            return false;
+        }
+        HttpConversationContext conversationContext = httpConversationContext();
+        if (!(conversationContext instanceof AbstractConversationContext<?, ?>)) {
+            return false;
+        }
+        String cid = determineConversationId(request, conversationContext.getParameterName());
+        if (cid == null || cid.isEmpty()) {
+            return false;
+        }
+        AbstractConversationContext<HttpServletRequest, ?> abstractConversationContext = cast(conversationContext);
+        ManagedConversation conversation = abstractConversationContext.peekConversation(request, cid);
+        if (!(conversation instanceof ConversationImpl) || !((ConversationImpl) conversation).isLocked()) {
+            return false;
+        }
+        final AsyncContext asyncContext = request.startAsync();
+        ConversationLogger.LOG.requestSuspendedForBusyConversation(cid);
+        ((ConversationImpl) conversation).runWhenUnlocked(new Runnable() {
+            @Override
+            public void run() {
+                asyncContext.dispatch();
+            }
+        });
+        return true;
+    }
+
     public void stopConversationContext(HttpServletRequest request) {
         deactivateConversationContext(request);
 
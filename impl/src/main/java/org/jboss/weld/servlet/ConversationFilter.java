@@ -19,6 +19,7 @@ package org.jboss.weld.servlet;
 import java.io.IOException;
 
 import javax.inject.Inject;
+import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -36,6 +37,12 @@ import org.jboss.weld.util.servlet.ServletUtils;
  * Filter that handles conversation context activation if mapped by the application. Otherwise, conversation context is
  * activated by {@link org.jboss.weld.servlet.WeldInitialListener} at the beginning of the request processing.
  *
+ * <p>
+ * If the {@link ConversationAccessMode#ASYNC} mode is configured, the filter needs to be mapped for the <code>ASYNC</code>
+ * dispatcher type in addition to <code>REQUEST</code>. Requests only start to be suspended once the filter has been applied to
+ * an asynchronous dispatch, before that they wait for a busy conversation.
+ * </p>
+ *
  * @see org.jboss.weld.servlet.WeldInitialListener
  * @see ConversationContextActivator
  *
@@ -51,12 +58,17 @@ public class ConversationFilter implements Filter {
     private HttpContextActivationFilter contextActivationFilter;
 
     private ConversationContextActivator conversationContextActivator;
+    private boolean asyncConversationAccess;
+    // a suspended request is only restored if this filter is applied to the asynchronous dispatch which resumes it
+    private volatile boolean asyncDispatchFiltered;
 
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         this.conversationContextActivator = new ConversationContextActivator(manager, false);
         filterConfig.getServletContext().setAttribute(CONVERSATION_FILTER_REGISTERED, Boolean.TRUE);
         contextActivationFilter = ServletUtils.getContextActivationFilter(manager, filterConfig.getServletContext());
+        asyncConversationAccess = ConversationAccessMode.of(filterConfig.getServletContext()) == ConversationAccessMode.ASYNC
+                && manager.getServices().get(ServletApiAbstraction.class).isAsyncSupported();
     }
 
     @Override
@@ -64,7 +76,15 @@ public class ConversationFilter implements Filter {
         if (request instanceof HttpServletRequest) {
             HttpServletRequest httpRequest = (HttpServletRequest) request;
 
+            if (asyncConversationAccess && !asyncDispatchFiltered && DispatcherType.ASYNC.equals(httpRequest.getDispatcherType())) {
+                asyncDispatchFiltered = true;
+            }
             if (contextActivationFilter.accepts(httpRequest)) {
+                // until this filter is known to be mapped for asynchronous dispatches the request waits for the conversation
+                if (asyncDispatchFiltered && conversationContextActivator.suspendIfConversationLocked(httpRequest)) {
+                    // the request is dispatched again once the conversation is unlocked
+                    return;
+                }
                 conversationContextActivator.startConversationContext(httpRequest);
             }
             chain.doFilter(request, response);
@@ -16,6 +16,8 @@
  */
 package org.jboss.weld.servlet;
 
+import java.lang.annotation.Annotation;
+
 import javax.servlet.ServletContext;
 import javax.servlet.ServletRequestListener;
 import javax.servlet.http.HttpServletRequest;
@@ -23,12 +25,15 @@ import javax.servlet.http.HttpSession;
 
 import org.jboss.weld.bean.builtin.ee.ServletContextBean;
 import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.BoundContext;
 import org.jboss.weld.context.cache.RequestScopedBeanCache;
 import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.context.http.HttpRequestContextImpl;
 import org.jboss.weld.context.http.HttpSessionContext;
 import org.jboss.weld.context.http.HttpSessionDestructionContext;
 import org.jboss.weld.event.FastEvent;
+import org.jboss.weld.event.ObserverNotifier;
 import org.jboss.weld.literal.DestroyedLiteral;
 import org.jboss.weld.literal.InitializedLiteral;
 import org.jboss.weld.logging.ServletLogger;
@@ -58,6 +63,7 @@ public class HttpContextLifecycle implements Service {
     private volatile Boolean conversationActivationEnabled;
     private final boolean ignoreForwards;
     private final boolean ignoreIncludes;
+    private final boolean lazyContextActivation;
 
     private final BeanManagerImpl beanManager;
     private final ConversationContextActivator conversationContextActivator;
@@ -73,21 +79,43 @@ public class HttpContextLifecycle implements Service {
     private final ServletApiAbstraction servletApi;
 
     public HttpContextLifecycle(BeanManagerImpl beanManager, HttpContextActivationFilter contextActivationFilter, boolean ignoreForwards, boolean ignoreIncludes, boolean lazyConversationContext) {
+        this(beanManager, contextActivationFilter, ignoreForwards, ignoreIncludes, lazyConversationContext, false);
+    }
+
+    /**
+     * @param lazyContextActivation if true, the request and session contexts are only marked as active when a request is initialized and
+     *        they are associated with the request the first time they are accessed
+     */
+    public HttpContextLifecycle(BeanManagerImpl beanManager, HttpContextActivationFilter contextActivationFilter, boolean ignoreForwards, boolean ignoreIncludes, boolean lazyConversationContext,
+            boolean lazyContextActivation) {
         this.beanManager = beanManager;
         this.conversationContextActivator = new ConversationContextActivator(beanManager, lazyConversationContext);
         this.conversationActivationEnabled = null;
         this.ignoreForwards = ignoreForwards;
         this.ignoreIncludes = ignoreIncludes;
+        this.lazyContextActivation = lazyContextActivation;
         this.contextActivationFilter = contextActivationFilter;
         this.applicationInitializedEvent = FastEvent.of(ServletContext.class, beanManager, InitializedLiteral.APPLICATION);
         this.applicationDestroyedEvent = FastEvent.of(ServletContext.class, beanManager, DestroyedLiteral.APPLICATION);
-        this.requestInitializedEvent = FastEvent.of(HttpServletRequest.class, beanManager, InitializedLiteral.REQUEST);
-        this.requestDestroyedEvent = FastEvent.of(HttpServletRequest.class, beanManager, DestroyedLiteral.REQUEST);
+        this.requestInitializedEvent = createRequestEvent(beanManager, InitializedLiteral.REQUEST);
+        this.requestDestroyedEvent = createRequestEvent(beanManager, DestroyedLiteral.REQUEST);
         this.sessionInitializedEvent = FastEvent.of(HttpSession.class, beanManager, InitializedLiteral.SESSION);
         this.sessionDestroyedEvent = FastEvent.of(HttpSession.class, beanManager, DestroyedLiteral.SESSION);
         this.servletApi = beanManager.getServices().get(ServletApiAbstraction.class);
     }
 
+    /**
+     * Request lifecycle events are dispatched for every single request. Returns null if there is no observer so that requests do not need
+     * to pay for dispatching the event at all.
+     */
+    private static FastEvent<HttpServletRequest> createRequestEvent(BeanManagerImpl beanManager, Annotation qualifier) {
+        ObserverNotifier notifier = beanManager.getAccessibleLenientObserverNotifier();
+        if (notifier.resolveObserverMethods(notifier.buildEventResolvable(HttpServletRequest.class, qualifier)).isEmpty()) {
+            return null;
+        }
+        return FastEvent.of(HttpServletRequest.class, beanManager, notifier, qualifier);
+    }
+
     private HttpSessionDestructionContext getSessionDestructionContext() {
         if (sessionDestructionContextCache == null) {
             this.sessionDestructionContextCache = beanManager.instance().select(HttpSessionDestructionContext.class).get();
@@ -169,20 +197,30 @@ public class HttpContextLifecycle implements Service {
 
         ServletContextBean.setServletContext(ctx);
 
-        getRequestContext().associate(request);
-        getSessionContext().associate(request);
-        if (conversationActivationEnabled) {
-            conversationContextActivator.associateConversationContext(request);
-        }
+        if (lazyContextActivation) {
+            activateLazily(getRequestContext(), request);
+            activateLazily(getSessionContext(), request);
+            if (conversationActivationEnabled) {
+                conversationContextActivator.associateConversationContext(request);
+            }
+        } else {
+            getRequestContext().associate(request);
+            getSessionContext().associate(request);
+            if (conversationActivationEnabled) {
+                conversationContextActivator.associateConversationContext(request);
+            }
 
-        getRequestContext().activate();
-        getSessionContext().activate();
+            getRequestContext().activate();
+            getSessionContext().activate();
+        }
 
         try {
             if (conversationActivationEnabled) {
                 conversationContextActivator.activateConversationContext(request);
             }
-            requestInitializedEvent.fire(request);
+            if (requestInitializedEvent != null) {
+                requestInitializedEvent.fire(request);
+            }
         } catch (RuntimeException e) {
             try {
                 requestDestroyed(request);
@@ -224,7 +262,9 @@ public class HttpContextLifecycle implements Service {
             }
             getRequestContext().deactivate();
             // fire @Destroyed(RequestScoped.class)
-            requestDestroyedEvent.fire(request);
+            if (requestDestroyedEvent != null) {
+                requestDestroyedEvent.fire(request);
+            }
             getSessionContext().deactivate();
             // fire @Destroyed(SessionScoped.class)
             if (!getSessionContext().isValid()) {
@@ -248,6 +288,15 @@ public class HttpContextLifecycle implements Service {
         }
     }
 
+    private static void activateLazily(BoundContext<HttpServletRequest> context, HttpServletRequest request) {
+        if (context instanceof AbstractBoundContext<?>) {
+            Reflections.<AbstractBoundContext<HttpServletRequest>> cast(context).activateLazily(request);
+        } else {
+            context.associate(request);
+            context.activate();
+        }
+    }
+
     public boolean isConversationActivationSet() {
         return conversationActivationEnabled != null;
     }
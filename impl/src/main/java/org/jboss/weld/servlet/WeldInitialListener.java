@@ -34,6 +34,7 @@ import javax.servlet.http.HttpSessionEvent;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.http.HttpConversationContext;
 import org.jboss.weld.event.ObserverNotifier;
 import org.jboss.weld.literal.DestroyedLiteral;
 import org.jboss.weld.literal.InitializedLiteral;
@@ -62,6 +63,7 @@ import org.jboss.weld.util.servlet.ServletUtils;
 public class WeldInitialListener extends AbstractServletListener {
 
     private static final String LAZY_CONVERSATION_CONTEXT_PARAM = "org.jboss.weld.context.conversation.lazy";
+    private static final String LAZY_CONTEXT_ACTIVATION_PARAM = "org.jboss.weld.context.activation.lazy";
 
     @Inject
     private BeanManagerImpl beanManager;
@@ -88,10 +90,15 @@ public class WeldInitialListener extends AbstractServletListener {
         final boolean ignoreForwards = getBooleanInitParameter(ctx, InitParameters.CONTEXT_IGNORE_FORWARD, true);
         final boolean ignoreIncludes = getBooleanInitParameter(ctx, InitParameters.CONTEXT_IGNORE_INCLUDE, true);
         final boolean lazyConversationContext = initLazyConversationContext(beanManager, ctx);
-        this.lifecycle = new HttpContextLifecycle(beanManager, filter, ignoreForwards, ignoreIncludes, lazyConversationContext);
+        final boolean lazyContextActivation = getBooleanInitParameter(ctx, LAZY_CONTEXT_ACTIVATION_PARAM, false);
+        this.lifecycle = new HttpContextLifecycle(beanManager, filter, ignoreForwards, ignoreIncludes, lazyConversationContext, lazyContextActivation);
         if (Boolean.valueOf(ctx.getInitParameter(CONVERSATION_FILTER_REGISTERED))) {
             this.lifecycle.setConversationActivationEnabled(false);
         }
+        if (ConversationAccessMode.of(ctx) == ConversationAccessMode.FAIL_FAST) {
+            // do not park the thread if the conversation is busy
+            beanManager.instance().select(HttpConversationContext.class).get().setConcurrentAccessTimeout(0L);
+        }
         this.lifecycle.contextInitialized(ctx);
     }
 
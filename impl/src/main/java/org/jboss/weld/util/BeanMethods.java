@@ -17,7 +17,6 @@
 package org.jboss.weld.util;
 
 import java.lang.reflect.Method;
-import java.security.AccessController;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,9 +45,9 @@ import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.logging.EventLogger;
 import org.jboss.weld.logging.UtilLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.security.SetAccessibleAction;
 import org.jboss.weld.util.collections.ArraySet;
 import org.jboss.weld.util.collections.WeldCollections;
+import org.jboss.weld.util.reflection.Reflections;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
@@ -339,11 +338,7 @@ public class BeanMethods {
                     if (methodMetadata == null) {
                         methodMetadata = new LinkedList<Method>();
                     }
-                    if (System.getSecurityManager() == null) {
-                        javaMethod.setAccessible(true);
-                    } else {
-                        AccessController.doPrivileged(SetAccessibleAction.of(javaMethod));
-                    }
+                    Reflections.ensureAccessible(javaMethod);
                     methodMetadata.add(method.getJavaMember());
                 }
             }
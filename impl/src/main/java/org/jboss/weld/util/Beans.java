@@ -112,7 +112,7 @@ public class Beans {
         if (bean == null) {
             return false;
         } else {
-            return manager.getServices().get(MetaAnnotationStore.class).getScopeModel(bean.getScope()).isPassivating();
+            return manager.getMetaAnnotationStore().getScopeModel(bean.getScope()).isPassivating();
         }
     }
 
@@ -202,7 +202,7 @@ public class Beans {
         Map<Class<? extends Annotation>, Annotation> foundAnnotations = new HashMap<Class<? extends Annotation>, Annotation>();
         for (Annotation binding : bindings) {
             if (foundAnnotations.containsKey(binding.annotationType())) {
-                InterceptorBindingModel<?> bindingType = manager.getServices().get(MetaAnnotationStore.class)
+                InterceptorBindingModel<?> bindingType = manager.getMetaAnnotationStore()
                         .getInterceptorBindingModel(binding.annotationType());
                 if (!bindingType.isEqual(binding, foundAnnotations.get(binding.annotationType()), false)) {
                     return true;
@@ -401,7 +401,7 @@ public class Beans {
             result.addAll(qualifiers);
         }
         if (newQualifiers != null && newQualifiers.length > 0) {
-            final MetaAnnotationStore store = manager.getServices().get(MetaAnnotationStore.class);
+            final MetaAnnotationStore store = manager.getMetaAnnotationStore();
             Set<Annotation> checkedNewQualifiers = new HashSet<Annotation>();
             for (Annotation qualifier : newQualifiers) {
                 if (!store.getBindingTypeModel(qualifier.annotationType()).isValid()) {
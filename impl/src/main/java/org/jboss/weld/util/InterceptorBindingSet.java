@@ -45,7 +45,7 @@ public class InterceptorBindingSet extends AbstractSet<Annotation> {
         if (o instanceof Annotation) {
             Annotation annotation = (Annotation) o;
 
-            MetaAnnotationStore metaAnnotationStore = beanManager.getServices().get(MetaAnnotationStore.class);
+            MetaAnnotationStore metaAnnotationStore = beanManager.getMetaAnnotationStore();
             InterceptorBindingModel<? extends Annotation> interceptorBindingModel = metaAnnotationStore.getInterceptorBindingModel(annotation.annotationType());
 
             for (Annotation containedAnnotation : set) {
@@ -79,7 +79,7 @@ public class Interceptors {
         }
         if (addInheritedInterceptorBindings) {
             for (Annotation annotation : annotations) {
-                addInheritedInterceptorBindings(annotation.annotationType(), beanManager.getServices().get(MetaAnnotationStore.class), flattenInterceptorBindings);
+                addInheritedInterceptorBindings(annotation.annotationType(), beanManager.getMetaAnnotationStore(), flattenInterceptorBindings);
             }
         }
         return flattenInterceptorBindings;
@@ -140,7 +140,7 @@ public class Interceptors {
             } else {
                 // check for conflicts
                 if (acceptedInheritedBindingTypes.containsKey(bindingAnnotationType)
-                        && !beanManager.getServices().get(MetaAnnotationStore.class).getInterceptorBindingModel(bindingAnnotationType)
+                        && !beanManager.getMetaAnnotationStore().getInterceptorBindingModel(bindingAnnotationType)
                                 .isEqual(previousValue, bindingAnnotation, true)) {
                     throw new DeploymentException(BeanLogger.LOG.conflictingInterceptorBindings(clazz.getJavaClass()));
                 }
@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.reflection;
+
+import static org.jboss.weld.util.cache.LoadingCacheUtils.getCacheValue;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.jboss.weld.exceptions.WeldException;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * An annotation instance which only holds the annotation type and the member values of another annotation instance. Anonymous
+ * annotation literals (<code>new AnnotationLiteral&lt;Foo&gt;() {}</code>) hold a reference to their enclosing instance. Such
+ * annotations are detached before they become part of a long-lived key (e.g. a resolver cache key), so that the key does not
+ * retain the enclosing instance.
+ * <p>
+ * A detached annotation is equal to any annotation of the same type with equal member values, and has the same hash code, as
+ * defined by {@link Annotation}.
+ */
+public class DetachedAnnotation implements InvocationHandler {
+
+    // looking up the enclosing method or constructor of a class is not cheap
+    private static final LoadingCache<Class<?>, Boolean> NON_STATIC_INNER_CLASSES = CacheBuilder.newBuilder().weakKeys()
+            .build(new CacheLoader<Class<?>, Boolean>() {
+                @Override
+                public Boolean load(Class<?> key) {
+                    return Reflections.isNonStaticInnerClass(key);
+                }
+            });
+
+    /**
+     * Returns an annotation equal to the given one which does not hold a reference to any enclosing instance. If the given
+     * annotation is not an instance of a non-static inner class, it is returned as is.
+     */
+    public static <A extends Annotation> A detach(A annotation) {
+        if (!getCacheValue(NON_STATIC_INNER_CLASSES, annotation.getClass())) {
+            return annotation;
+        }
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        Map<Method, Object> values = new LinkedHashMap<Method, Object>();
+        for (Method member : annotationType.getDeclaredMethods()) {
+            values.put(member, detachValue(invoke(member, annotation)));
+        }
+        DetachedAnnotation handler = new DetachedAnnotation(annotationType, values);
+        return Reflections.<A>cast(Proxy.newProxyInstance(annotationType.getClassLoader(), new Class<?>[] { annotationType }, handler));
+    }
+
+    /**
+     * Returns an annotation of the given type whose members have their default values, or null if a member of the annotation
+     * type has no default value.
+     */
+    public static <A extends Annotation> A withDefaultValues(Class<A> annotationType) {
+        Map<Method, Object> values = new LinkedHashMap<Method, Object>();
+        for (Method member : annotationType.getDeclaredMethods()) {
+            Object value = member.getDefaultValue();
+            if (value == null) {
+                return null;
+            }
+            values.put(member, value);
+        }
+        DetachedAnnotation handler = new DetachedAnnotation(annotationType, values);
+        return Reflections.<A>cast(Proxy.newProxyInstance(annotationType.getClassLoader(), new Class<?>[] { annotationType }, handler));
+    }
+
+    private static Object detachValue(Object value) {
+        if (value instanceof Annotation) {
+            return detach((Annotation) value);
+        }
+        if (value instanceof Annotation[]) {
+            Annotation[] annotations = ((Annotation[]) value).clone();
+            for (int i = 0; i < annotations.length; i++) {
+                annotations[i] = detach(annotations[i]);
+            }
+            return annotations;
+        }
+        return value;
+    }
+
+    private static Object invoke(Method member, Object instance) {
+        try {
+            return Reflections.ensureAccessible(member).invoke(instance);
+        } catch (IllegalAccessException e) {
+            throw new WeldException(e);
+        } catch (InvocationTargetException e) {
+            throw new WeldException(e.getCause());
+        }
+    }
+
+    private final Class<? extends Annotation> annotationType;
+    private final Map<Method, Object> values;
+    private final int hashCode;
+
+    private DetachedAnnotation(Class<? extends Annotation> annotationType, Map<Method, Object> values) {
+        this.annotationType = annotationType;
+        this.values = values;
+        this.hashCode = computeHashCode();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (args == null || args.length == 0) {
+            if ("annotationType".equals(name)) {
+                return annotationType;
+            }
+            if ("hashCode".equals(name)) {
+                return hashCode;
+            }
+            if ("toString".equals(name)) {
+                return toString();
+            }
+            for (Entry<Method, Object> entry : values.entrySet()) {
+                if (entry.getKey().getName().equals(name)) {
+                    return cloneArray(entry.getValue());
+                }
+            }
+        } else if ("equals".equals(name) && args.length == 1) {
+            return isEqualTo(proxy, args[0]);
+        }
+        throw new UnsupportedOperationException(method.toString());
+    }
+
+    private boolean isEqualTo(Object proxy, Object other) {
+        if (proxy == other) {
+            return true;
+        }
+        if (!annotationType.isInstance(other)) {
+            return false;
+        }
+        if (Proxy.isProxyClass(other.getClass()) && Proxy.getInvocationHandler(other) instanceof DetachedAnnotation) {
+            DetachedAnnotation that = (DetachedAnnotation) Proxy.getInvocationHandler(other);
+            for (Entry<Method, Object> entry : values.entrySet()) {
+                if (!memberValueEquals(entry.getValue(), that.values.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Entry<Method, Object> entry : values.entrySet()) {
+            if (!memberValueEquals(entry.getValue(), invoke(entry.getKey(), other))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int computeHashCode() {
+        int result = 0;
+        for (Entry<Method, Object> entry : values.entrySet()) {
+            result += (127 * entry.getKey().getName().hashCode()) ^ memberValueHashCode(entry.getValue());
+        }
+        return result;
+    }
+
+    private static Object cloneArray(Object value) {
+        if (value != null && value.getClass().isArray() && Array.getLength(value) > 0) {
+            if (value instanceof Object[]) {
+                return ((Object[]) value).clone();
+            }
+            // primitive array
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return value;
+    }
+
+    private static boolean memberValueEquals(Object value, Object other) {
+        if (value instanceof Object[] && other instanceof Object[]) {
+            return Arrays.equals((Object[]) value, (Object[]) other);
+        } else if (value instanceof boolean[] && other instanceof boolean[]) {
+            return Arrays.equals((boolean[]) value, (boolean[]) other);
+        } else if (value instanceof byte[] && other instanceof byte[]) {
+            return Arrays.equals((byte[]) value, (byte[]) other);
+        } else if (value instanceof char[] && other instanceof char[]) {
+            return Arrays.equals((char[]) value, (char[]) other);
+        } else if (value instanceof short[] && other instanceof short[]) {
+            return Arrays.equals((short[]) value, (short[]) other);
+        } else if (value instanceof int[] && other instanceof int[]) {
+            return Arrays.equals((int[]) value, (int[]) other);
+        } else if (value instanceof long[] && other instanceof long[]) {
+            return Arrays.equals((long[]) value, (long[]) other);
+        } else if (value instanceof float[] && other instanceof float[]) {
+            return Arrays.equals((float[]) value, (float[]) other);
+        } else if (value instanceof double[] && other instanceof double[]) {
+            return Arrays.equals((double[]) value, (double[]) other);
+        }
+        return value == null ? other == null : value.equals(other);
+    }
+
+    private static int memberValueHashCode(Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.hashCode((Object[]) value);
+        } else if (value instanceof boolean[]) {
+            return Arrays.hashCode((boolean[]) value);
+        } else if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[]) value);
+        } else if (value instanceof char[]) {
+            return Arrays.hashCode((char[]) value);
+        } else if (value instanceof short[]) {
+            return Arrays.hashCode((short[]) value);
+        } else if (value instanceof int[]) {
+            return Arrays.hashCode((int[]) value);
+        } else if (value instanceof long[]) {
+            return Arrays.hashCode((long[]) value);
+        } else if (value instanceof float[]) {
+            return Arrays.hashCode((float[]) value);
+        } else if (value instanceof double[]) {
+            return Arrays.hashCode((double[]) value);
+        }
+        return value == null ? 0 : value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("@").append(annotationType.getName()).append('(');
+        boolean first = true;
+        for (Entry<Method, Object> entry : values.entrySet()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            Object value = entry.getValue();
+            builder.append(entry.getKey().getName()).append('=');
+            if (value != null && value.getClass().isArray()) {
+                builder.append('[');
+                for (int i = 0; i < Array.getLength(value); i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(Array.get(value, i));
+                }
+                builder.append(']');
+            } else {
+                builder.append(value);
+            }
+        }
+        return builder.append(')').toString();
+    }
+}
@@ -21,6 +21,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationTargetException;
@@ -32,7 +33,6 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.security.AccessController;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +43,7 @@ import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.resources.spi.ResourceLoader;
 import org.jboss.weld.resources.spi.ResourceLoadingException;
 import org.jboss.weld.security.GetDeclaredMethodsAction;
+import org.jboss.weld.security.SetAccessibleAction;
 import org.jboss.weld.util.Types;
 
 /**
@@ -72,26 +73,6 @@ public class Reflections {
         return map;
     }
 
-    public static boolean isCacheable(Collection<Annotation> annotations) {
-        for (Annotation qualifier : annotations) {
-            Class<?> clazz = qualifier.getClass();
-            if (isNonStaticInnerClass(clazz)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    public static boolean isCacheable(Annotation[] annotations) {
-        for (Annotation qualifier : annotations) {
-            Class<?> clazz = qualifier.getClass();
-            if (isNonStaticInnerClass(clazz)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     @SuppressWarnings("unchecked")
     public static <T> T cast(Object obj) {
         return (T) obj;
@@ -390,6 +371,24 @@ public class Reflections {
                 || (javaClass.getEnclosingClass() != null && !Reflections.isStatic(javaClass));
     }
 
+    /**
+     * Makes the given object accessible unless it already is. A privileged action is only used if a {@link SecurityManager} is
+     * installed, otherwise this method does not allocate. Callers which keep the object (e.g. a {@link Method} held by a proxy
+     * class) thus only pay for {@link AccessibleObject#setAccessible(boolean)} once.
+     *
+     * @return the given object
+     */
+    public static <T extends AccessibleObject> T ensureAccessible(T object) {
+        if (!object.isAccessible()) {
+            if (System.getSecurityManager() == null) {
+                object.setAccessible(true);
+            } else {
+                AccessController.doPrivileged(SetAccessibleAction.of(object));
+            }
+        }
+        return object;
+    }
+
     /**
      * Invokes the method on a given instance passing in given parameters. If the invocation yields
      * {@link InvocationTargetException}, the exception is unwrapped.
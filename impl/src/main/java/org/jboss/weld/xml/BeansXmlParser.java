@@ -23,6 +23,11 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -35,6 +40,7 @@ import org.jboss.weld.bootstrap.spi.Filter;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.exceptions.IllegalStateException;
 import org.jboss.weld.logging.XmlLogger;
+import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.metadata.BeansXmlImpl;
 import org.jboss.weld.metadata.ScanningImpl;
 import org.xml.sax.InputSource;
@@ -45,7 +51,8 @@ import org.xml.sax.SAXNotSupportedException;
 /**
  * Simple parser for beans.xml
  * <p/>
- * This class is NOT threadsafe, and should only be called in a single thread
+ * This class is thread-safe. {@link BeansXmlHandler} is not, therefore a new handler is created for every descriptor. SAX parsers
+ * are pooled and each of them is only used by a single thread at a time.
  *
  * @author Pete Muir
  * @author Ales Justin
@@ -54,21 +61,51 @@ public class BeansXmlParser {
 
     private static final InputSource[] EMPTY_INPUT_SOURCE_ARRAY = new InputSource[0];
 
+    /**
+     * Parsers which are not in use at the moment. A parser is only ever used by a single thread at a time.
+     */
+    private final Queue<SAXParser> parsers = new ConcurrentLinkedQueue<SAXParser>();
+
     public BeansXml parse(final URL beansXml) {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        factory.setValidating(!SystemPropertiesConfiguration.INSTANCE.isXmlValidationDisabled());
-        factory.setNamespaceAware(true);
         if (beansXml == null) {
             throw XmlLogger.LOG.loadError("unknown", null);
         }
-        SAXParser parser;
+        SAXParser parser = acquireParser();
+        try {
+            return parse(beansXml, parser);
+        } finally {
+            releaseParser(parser);
+        }
+    }
+
+    private SAXParser acquireParser() {
+        SAXParser parser = parsers.poll();
+        if (parser != null) {
+            return parser;
+        }
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setValidating(!SystemPropertiesConfiguration.INSTANCE.isXmlValidationDisabled());
+        factory.setNamespaceAware(true);
         try {
-            parser = factory.newSAXParser();
+            return factory.newSAXParser();
         } catch (SAXException e) {
             throw XmlLogger.LOG.configurationError(e);
         } catch (ParserConfigurationException e) {
             throw XmlLogger.LOG.configurationError(e);
         }
+    }
+
+    private void releaseParser(SAXParser parser) {
+        try {
+            parser.reset();
+        } catch (UnsupportedOperationException e) {
+            // the parser cannot be reused
+            return;
+        }
+        parsers.offer(parser);
+    }
+
+    private BeansXml parse(URL beansXml, SAXParser parser) {
         InputStream beansXmlInputStream = null;
         try {
             beansXmlInputStream = beansXml.openStream();
@@ -113,6 +150,18 @@ public class BeansXmlParser {
     }
 
     public BeansXml parse(Iterable<URL> urls, boolean removeDuplicates) {
+        return parse(urls, removeDuplicates, null);
+    }
+
+    /**
+     * Parses and merges the given descriptors. If an executor is given, multiple descriptors are parsed concurrently using the
+     * executor.
+     *
+     * @param urls the descriptors
+     * @param removeDuplicates whether duplicate entries in different descriptors should be removed
+     * @param executor the executor to use or null if the descriptors should be parsed sequentially
+     */
+    public BeansXml parse(Iterable<URL> urls, boolean removeDuplicates, ExecutorServices executor) {
         List<Metadata<String>> alternatives = new ArrayList<Metadata<String>>();
         List<Metadata<String>> alternativeStereotypes = new ArrayList<Metadata<String>>();
         List<Metadata<String>> decorators = new ArrayList<Metadata<String>>();
@@ -120,8 +169,14 @@ public class BeansXmlParser {
         List<Metadata<Filter>> includes = new ArrayList<Metadata<Filter>>();
         List<Metadata<Filter>> excludes = new ArrayList<Metadata<Filter>>();
         URL beansXmlUrl = null;
+        List<URL> urlList = new ArrayList<URL>();
         for (URL url : urls) {
-            BeansXml beansXml = parse(url);
+            urlList.add(url);
+        }
+        List<BeansXml> parsed = parse(urlList, executor);
+        for (int i = 0; i < urlList.size(); i++) {
+            URL url = urlList.get(i);
+            BeansXml beansXml = parsed.get(i);
             addTo(alternatives, beansXml.getEnabledAlternativeClasses(), removeDuplicates);
             addTo(alternativeStereotypes, beansXml.getEnabledAlternativeStereotypes(), removeDuplicates);
             addTo(decorators, beansXml.getEnabledDecorators(), removeDuplicates);
@@ -137,6 +192,41 @@ public class BeansXmlParser {
         return new BeansXmlImpl(alternatives, alternativeStereotypes, decorators, interceptors, new ScanningImpl(includes, excludes), beansXmlUrl, BeanDiscoveryMode.ALL, null);
     }
 
+    /**
+     * Parses the given descriptors, concurrently if an executor is given and there are multiple descriptors. The returned list
+     * preserves the order of the given URLs so that merging remains deterministic.
+     */
+    private List<BeansXml> parse(List<URL> urls, ExecutorServices executor) {
+        List<BeansXml> result = new ArrayList<BeansXml>(urls.size());
+        if (executor == null || urls.size() <= 1) {
+            for (URL url : urls) {
+                result.add(parse(url));
+            }
+            return result;
+        }
+        List<Callable<BeansXml>> tasks = new ArrayList<Callable<BeansXml>>(urls.size());
+        for (final URL url : urls) {
+            tasks.add(new Callable<BeansXml>() {
+                @Override
+                public BeansXml call() {
+                    return parse(url);
+                }
+            });
+        }
+        // the futures are done and none of them failed
+        for (Future<BeansXml> future : executor.invokeAllAndCheckForExceptions(tasks)) {
+            try {
+                result.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return result;
+    }
+
     private void addTo(List<Metadata<String>> list, List<Metadata<String>> listToAdd, boolean removeDuplicates) {
         if (removeDuplicates) {
             List<Metadata<String>> filteredListToAdd = new ArrayList<Metadata<String>>(listToAdd.size());
@@ -0,0 +1,293 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Member;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BeanStore;
+import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.serialization.ContextualStoreImpl;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.junit.Test;
+
+/**
+ * Verifies how {@link ContextDestructionPlan} groups contextual instances. The class is package-private, hence the package of
+ * this test.
+ */
+public class ContextDestructionPlanTest {
+
+    interface Alpha {
+    }
+
+    interface Bravo {
+    }
+
+    interface Charlie {
+    }
+
+    interface Delta {
+    }
+
+    @Test
+    public void testDependencyChainFormsSingleGroup() {
+        assertGroups(plan(bean("alpha", Alpha.class, Bravo.class), bean("bravo", Bravo.class, Charlie.class), bean("charlie", Charlie.class),
+                bean("delta", Delta.class)), group("alpha", "bravo", "charlie"), group("delta"));
+    }
+
+    @Test
+    public void testCycleFormsSingleGroup() {
+        assertGroups(plan(bean("alpha", Alpha.class, Bravo.class), bean("bravo", Bravo.class, Alpha.class), bean("charlie", Charlie.class)),
+                group("alpha", "bravo"), group("charlie"));
+    }
+
+    @Test
+    public void testDynamicLookupMatchedByRequiredType() {
+        Type instanceOfBravo = new ParameterizedTypeImpl(Instance.class, new Type[] { Bravo.class }, null);
+        assertGroups(plan(bean("alpha", Alpha.class, instanceOfBravo), bean("bravo", Bravo.class), bean("charlie", Charlie.class)),
+                group("alpha", "bravo"), group("charlie"));
+    }
+
+    @Test
+    public void testInjectionPointOfTypeObjectJoinsAllInstances() {
+        assertGroups(plan(bean("alpha", Alpha.class, Object.class), bean("bravo", Bravo.class), bean("charlie", Charlie.class)),
+                group("alpha", "bravo", "charlie"));
+    }
+
+    @Test
+    public void testContextualsWhichAreNotBeansFormSingleGroup() {
+        assertGroups(plan(contextual("first"), bean("alpha", Alpha.class), contextual("second")), group("first", "second"), group("alpha"));
+    }
+
+    @Test
+    public void testSerializableContextualInstances() {
+        ContextualStore contextualStore = new ContextualStoreImpl("test");
+        BeanStore beanStore = new HashMapBeanStore();
+        for (Contextual<Object> contextual : Arrays.asList(bean("alpha", Alpha.class, Bravo.class), bean("bravo", Bravo.class), contextual("first"))) {
+            String name = contextual.toString();
+            beanStore.put(new StringBeanIdentifier(name),
+                    new SerializableContextualInstanceImpl<Contextual<Object>, Object>(contextual, name, null, contextualStore));
+        }
+        assertGroups(new ContextDestructionPlan(beanStore), group("alpha", "bravo"), group("first"));
+    }
+
+    private static ContextDestructionPlan plan(Contextual<?>... contextuals) {
+        BeanStore beanStore = new HashMapBeanStore();
+        for (Contextual<?> contextual : contextuals) {
+            beanStore.put(new StringBeanIdentifier(contextual.toString()), new SimpleContextualInstance(contextual));
+        }
+        return new ContextDestructionPlan(beanStore);
+    }
+
+    private static Set<String> group(String... names) {
+        return new HashSet<String>(Arrays.asList(names));
+    }
+
+    private static void assertGroups(ContextDestructionPlan plan, Set<?>... expected) {
+        Set<Set<String>> actual = new HashSet<Set<String>>();
+        int size = 0;
+        for (int[] group : plan.getGroups()) {
+            Set<String> names = new HashSet<String>();
+            for (int index : group) {
+                names.add(plan.getInstance(index).getInstance().toString());
+            }
+            actual.add(names);
+            size += group.length;
+        }
+        assertEquals(new HashSet<Set<?>>(Arrays.asList(expected)), actual);
+        assertEquals(plan.size(), size);
+    }
+
+    private static StubContextual contextual(String name) {
+        return new StubContextual(name);
+    }
+
+    private static StubBean bean(String name, Type type, Type... injectionPointTypes) {
+        Set<InjectionPoint> injectionPoints = new HashSet<InjectionPoint>();
+        for (Type injectionPointType : injectionPointTypes) {
+            injectionPoints.add(new StubInjectionPoint(injectionPointType));
+        }
+        return new StubBean(name, new HashSet<Type>(Arrays.asList(type, Object.class)), injectionPoints);
+    }
+
+    private static class SimpleContextualInstance implements ContextualInstance<Object> {
+
+        private final Contextual<Object> contextual;
+
+        @SuppressWarnings("unchecked")
+        SimpleContextualInstance(Contextual<?> contextual) {
+            this.contextual = (Contextual<Object>) contextual;
+        }
+
+        @Override
+        public Object getInstance() {
+            return contextual.toString();
+        }
+
+        @Override
+        public CreationalContext<Object> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<Object> getContextual() {
+            return contextual;
+        }
+    }
+
+    private static class StubContextual implements Contextual<Object> {
+
+        private final String name;
+
+        StubContextual(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext) {
+            return name;
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class StubBean extends StubContextual implements Bean<Object> {
+
+        private final Set<Type> types;
+        private final Set<InjectionPoint> injectionPoints;
+
+        StubBean(String name, Set<Type> types, Set<InjectionPoint> injectionPoints) {
+            super(name);
+            this.types = types;
+            this.injectionPoints = injectionPoints;
+        }
+
+        @Override
+        public Set<Type> getTypes() {
+            return types;
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return Dependent.class;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isAlternative() {
+            return false;
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return Object.class;
+        }
+
+        @Override
+        public Set<InjectionPoint> getInjectionPoints() {
+            return injectionPoints;
+        }
+
+        @Override
+        public boolean isNullable() {
+            return false;
+        }
+    }
+
+    private static class StubInjectionPoint implements InjectionPoint {
+
+        private final Type type;
+
+        StubInjectionPoint(Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Bean<?> getBean() {
+            return null;
+        }
+
+        @Override
+        public Member getMember() {
+            return null;
+        }
+
+        @Override
+        public Annotated getAnnotated() {
+            return null;
+        }
+
+        @Override
+        public boolean isDelegate() {
+            return false;
+        }
+
+        @Override
+        public boolean isTransient() {
+            return false;
+        }
+    }
+}
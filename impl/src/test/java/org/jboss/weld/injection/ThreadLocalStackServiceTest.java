@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.injection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.weld.injection.ThreadLocalStackService.ThreadLocalStack;
+import org.junit.Test;
+
+public class ThreadLocalStackServiceTest {
+
+    @Test
+    public void testPushPopPeek() {
+        ThreadLocalStackService<String> service = new ThreadLocalStackService<String>();
+        assertNull(service.peek());
+        service.push("alpha");
+        service.push("bravo");
+        assertEquals("bravo", service.peek());
+        assertEquals("bravo", service.pop());
+        assertEquals("alpha", service.peek());
+        assertEquals("alpha", service.pop());
+        assertNull(service.peek());
+        assertTrue(service.getStack().isEmpty());
+    }
+
+    @Test
+    public void testGrow() {
+        ThreadLocalStack<Integer> stack = new ThreadLocalStackService<Integer>().getStack();
+        for (int i = 0; i < 100; i++) {
+            stack.push(i);
+            assertEquals(Integer.valueOf(i), stack.peek());
+        }
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(Integer.valueOf(i), stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void testPopEmptyStack() {
+        new ThreadLocalStackService<String>().pop();
+    }
+
+    @Test
+    public void testStackStaysInstalled() {
+        ThreadLocalStackService<String> service = new ThreadLocalStackService<String>();
+        ThreadLocalStack<String> stack = service.getStack();
+        assertSame(stack, service.getStack());
+        stack.push("alpha");
+        service.push("bravo");
+        assertEquals("bravo", stack.peek());
+        service.pop();
+        stack.pop();
+        // the stack is not removed once empty
+        assertSame(stack, service.getStack());
+        assertNull(service.peek());
+        service.push("charlie");
+        assertEquals("charlie", stack.peek());
+        stack.pop();
+    }
+
+    @Test
+    public void testStacksConfinedToThreads() throws Exception {
+        final ThreadLocalStackService<String> service = new ThreadLocalStackService<String>();
+        service.push("main");
+        final AtomicReference<String> peeked = new AtomicReference<String>("unset");
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                peeked.set(service.peek());
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(peeked.get());
+        assertEquals("main", service.pop());
+    }
+
+    @Test
+    public void testCleanup() {
+        ThreadLocalStackService<String> service = new ThreadLocalStackService<String>();
+        service.push("alpha");
+        ThreadLocalStack<String> stack = service.getStack();
+        service.cleanup();
+        assertNotSame(stack, service.getStack());
+        assertNull(service.peek());
+        try {
+            service.pop();
+            fail("Expected the stack to be removed");
+        } catch (EmptyStackException expected) {
+        }
+    }
+}
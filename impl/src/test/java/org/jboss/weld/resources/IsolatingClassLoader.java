@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+
+/**
+ * Loads a copy of a single class itself and delegates all the other classes to the parent. Once the loader becomes unreachable,
+ * tests can verify that caches did not keep the copy reachable.
+ */
+class IsolatingClassLoader extends ClassLoader {
+
+    private final String isolatedClassName;
+
+    IsolatingClassLoader(Class<?> isolatedClass) {
+        super(isolatedClass.getClassLoader());
+        this.isolatedClassName = isolatedClass.getName();
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isolatedClassName.equals(name)) {
+            return super.loadClass(name, resolve);
+        }
+        Class<?> clazz = findLoadedClass(name);
+        if (clazz == null) {
+            byte[] bytes = readClass(name);
+            clazz = defineClass(name, bytes, 0, bytes.length);
+        }
+        return clazz;
+    }
+
+    private byte[] readClass(String name) throws ClassNotFoundException {
+        InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+        if (in == null) {
+            throw new ClassNotFoundException(name);
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Runs the garbage collector until the given reference is cleared or the attempts are exhausted.
+     */
+    static void awaitCollection(Reference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resources;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Verifies that the type closures cached by {@link SharedObjectCache} do not keep the classes of an undeployed application
+ * reachable.
+ */
+public class SharedObjectCacheTest {
+
+    public static class Isolated implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Test
+    public void testTypeClosureCached() {
+        SharedObjectCache cache = new SharedObjectCache();
+        Set<Type> closure = cache.getTypeClosure(Isolated.class);
+        assertTrue(closure.contains(Isolated.class));
+        assertTrue(closure.contains(Serializable.class));
+        assertTrue(closure.contains(Object.class));
+        assertSame(closure, cache.getTypeClosure(Isolated.class));
+        // survives bootstrap
+        cache.cleanupAfterBoot();
+        assertSame(closure, cache.getTypeClosure(Isolated.class));
+    }
+
+    @Test
+    public void testUnreferencedClassCollectedOnShutdown() throws Exception {
+        SharedObjectCache cache = new SharedObjectCache();
+        WeakReference<ClassLoader> loader = computeIsolatedTypeClosure(cache);
+        cache.cleanup();
+        IsolatingClassLoader.awaitCollection(loader);
+        assertNull("The class loader of a class whose type closure was computed was not collected", loader.get());
+    }
+
+    private WeakReference<ClassLoader> computeIsolatedTypeClosure(SharedObjectCache cache) throws Exception {
+        ClassLoader loader = new IsolatingClassLoader(Isolated.class);
+        Class<?> isolated = loader.loadClass(Isolated.class.getName());
+        assertNotSame(Isolated.class, isolated);
+        assertTrue(cache.getTypeClosure(isolated).contains(isolated));
+        cache.getTypeClosureHolder(isolated).get();
+        return new WeakReference<ClassLoader>(loader);
+    }
+}
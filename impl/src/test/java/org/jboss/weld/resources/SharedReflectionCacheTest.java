@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resources;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+
+import org.jboss.weld.resources.DefaultReflectionCache.Annotations;
+import org.junit.Test;
+
+/**
+ * Verifies that {@link SharedReflectionCache} shares metadata between its instances without keeping class loaders alive. The
+ * class is package-private, hence the package of this test.
+ */
+public class SharedReflectionCacheTest {
+
+    @Deprecated
+    public static class Isolated {
+
+        @Deprecated
+        public void ping(@Deprecated String message) {
+        }
+    }
+
+    @Test
+    public void testMetadataSharedBetweenInstances() throws Exception {
+        SharedReflectionCache first = new SharedReflectionCache();
+        SharedReflectionCache second = new SharedReflectionCache();
+        Method method = Isolated.class.getMethod("ping", String.class);
+
+        Annotations annotations = first.putAnnotations(Isolated.class, new Annotations(Isolated.class.getAnnotations()));
+        Annotation[][] parameterAnnotations = first.putParameterAnnotations(method, method.getParameterAnnotations());
+
+        assertSame(annotations, second.getAnnotations(Isolated.class));
+        // each container reads its own copy of the method
+        assertSame(parameterAnnotations, second.getParameterAnnotations(Isolated.class.getMethod("ping", String.class)));
+        assertNull(second.getDeclaredAnnotations(Isolated.class));
+    }
+
+    @Test
+    public void testClassLoaderCollectedOnceCachesAreUnreachable() throws Exception {
+        WeakReference<ClassLoader> loader = useIsolatedClass();
+        IsolatingClassLoader.awaitCollection(loader);
+        assertNull("The class loader of a cached class was not collected", loader.get());
+    }
+
+    private WeakReference<ClassLoader> useIsolatedClass() throws Exception {
+        ClassLoader loader = new IsolatingClassLoader(Isolated.class);
+        Class<?> isolated = loader.loadClass(Isolated.class.getName());
+        assertNotSame(Isolated.class, isolated);
+        Method method = isolated.getMethod("ping", String.class);
+
+        SharedReflectionCache cache = new SharedReflectionCache();
+        cache.putAnnotations(isolated, new Annotations(isolated.getAnnotations()));
+        cache.putDeclaredAnnotations(method, new Annotations(method.getDeclaredAnnotations()));
+        cache.putParameterAnnotations(method, method.getParameterAnnotations());
+        assertNotNull(new SharedReflectionCache().getAnnotations(isolated));
+        return new WeakReference<ClassLoader>(loader);
+    }
+}
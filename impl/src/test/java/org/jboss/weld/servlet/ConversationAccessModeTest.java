@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.servlet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.servlet.ServletContext;
+
+import org.junit.Test;
+
+/**
+ * Verifies how the {@value ConversationAccessMode#CONTEXT_PARAM} context parameter is parsed. The enum is package-private, hence
+ * the package of this test.
+ */
+public class ConversationAccessModeTest {
+
+    @Test
+    public void testDefaultMode() {
+        assertEquals(ConversationAccessMode.WAIT, ConversationAccessMode.of(createServletContext(null)));
+    }
+
+    @Test
+    public void testModes() {
+        assertEquals(ConversationAccessMode.WAIT, ConversationAccessMode.of(createServletContext("wait")));
+        assertEquals(ConversationAccessMode.FAIL_FAST, ConversationAccessMode.of(createServletContext("fail-fast")));
+        assertEquals(ConversationAccessMode.ASYNC, ConversationAccessMode.of(createServletContext(" Async ")));
+    }
+
+    @Test
+    public void testInvalidMode() {
+        try {
+            ConversationAccessMode.of(createServletContext("never"));
+            fail("Expected the invalid value to be reported");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("WELD-000344"));
+            assertTrue(expected.getMessage(), expected.getMessage().contains("never"));
+        }
+    }
+
+    private static ServletContext createServletContext(final String mode) {
+        return (ServletContext) Proxy.newProxyInstance(ConversationAccessModeTest.class.getClassLoader(), new Class<?>[] { ServletContext.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("getInitParameter") && ConversationAccessMode.CONTEXT_PARAM.equals(args[0])) {
+                            return mode;
+                        }
+                        return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.weld.context.beanstore.SharedBoundBeanStore;
+import org.junit.Test;
+
+public class SharedBoundBeanStoreTest {
+
+    @Test
+    public void testOwnerHoldsInitialReference() {
+        SharedBoundBeanStore beanStore = new SharedBoundBeanStore(null);
+        assertTrue(beanStore.release());
+        // released by all the threads, cannot be shared any more
+        assertFalse(beanStore.retain());
+    }
+
+    @Test
+    public void testLastReleaseWins() {
+        SharedBoundBeanStore beanStore = new SharedBoundBeanStore(null);
+        assertTrue(beanStore.retain());
+        assertTrue(beanStore.retain());
+        beanStore.requestDestruction();
+        assertFalse(beanStore.release());
+        assertFalse(beanStore.release());
+        assertTrue(beanStore.release());
+        assertTrue(beanStore.isDestructionRequested());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.metrics.InstanceCounter;
+import org.jboss.weld.metrics.LatencyHistogram;
+import org.jboss.weld.metrics.RuntimeMetrics;
+import org.jboss.weld.metrics.StripedCounter;
+import org.jboss.weld.serialization.ContextualStoreImpl;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.junit.Test;
+
+public class RuntimeMetricsTest {
+
+    @Test
+    public void testStripedCounterConcurrentUpdates() throws InterruptedException {
+        final StripedCounter counter = new StripedCounter();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        counter.increment();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000L, counter.sum());
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0L);
+        histogram.record(3L);
+        histogram.record(1000L);
+        histogram.record(Long.MAX_VALUE / 2);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(4L, snapshot.getCount());
+        long[] buckets = snapshot.getBuckets();
+        assertEquals(1L, buckets[0]);
+        assertEquals(1L, buckets[1]);
+        // 2^9 <= 1000 < 2^10
+        assertEquals(1L, buckets[9]);
+        assertEquals(1L, buckets[LatencyHistogram.BUCKETS - 1]);
+        assertEquals(4L, LatencyHistogram.getBucketUpperBound(1));
+        assertEquals(4L, snapshot.getPercentileUpperBound(50));
+        assertEquals(1024L, snapshot.getPercentileUpperBound(75));
+    }
+
+    @Test
+    public void testLatencyHistogramConcurrentUpdates() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        histogram.record(100L);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(80000L, snapshot.getCount());
+        // 2^6 <= 100 < 2^7
+        assertEquals(80000L, snapshot.getBuckets()[6]);
+        assertEquals(100L, snapshot.getMeanNanos());
+    }
+
+    @Test
+    public void testInstanceCounts() {
+        ContextualStore contextualStore = new ContextualStoreImpl("RuntimeMetricsTest");
+        RuntimeMetrics metrics = new RuntimeMetrics(contextualStore);
+        Context requestContext = new DummyContext(RequestScoped.class);
+        Context dependentContext = new DummyContext(Dependent.class);
+        Contextual<Object> requestBean = new DummyContextual();
+        Contextual<Object> dependentBean = new DummyContextual();
+
+        BeanIdentifier requestBeanId = contextualStore.putIfAbsent(requestBean);
+        metrics.instanceCreated(requestContext, requestBeanId);
+        metrics.instanceCreated(requestContext, requestBeanId);
+        metrics.instanceDestroyed(requestContext, requestBeanId);
+        metrics.dependentInstanceCreated(dependentContext, dependentBean);
+        metrics.dependentInstanceCreated(dependentContext, dependentBean);
+
+        InstanceCounter requestCounter = metrics.getBeanInstanceCounts().get(requestBeanId.asString());
+        assertTrue(requestCounter.isDestructionTracked());
+        assertEquals(2L, requestCounter.getCreated());
+        assertEquals(1L, requestCounter.getLive());
+
+        InstanceCounter dependentCounter = metrics.getBeanInstanceCounts().get(contextualStore.putIfAbsent(dependentBean).asString());
+        assertFalse(dependentCounter.isDestructionTracked());
+        assertEquals(2L, dependentCounter.getCreated());
+        assertEquals(0L, dependentCounter.getLive());
+
+        assertEquals(Long.valueOf(1L), metrics.getLiveInstancesPerScope().get(RequestScoped.class));
+        assertFalse(metrics.getLiveInstancesPerScope().containsKey(Dependent.class));
+    }
+
+    private static class DummyContext implements Context {
+
+        private final Class<? extends Annotation> scope;
+
+        private DummyContext(Class<? extends Annotation> scope) {
+            this.scope = scope;
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return scope;
+        }
+
+        @Override
+        public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T get(Contextual<T> contextual) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+    }
+
+    private static class DummyContextual implements Contextual<Object> {
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext) {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.reflection.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.ElementType;
+
+import javax.enterprise.util.AnnotationLiteral;
+
+import org.jboss.weld.util.reflection.DetachedAnnotation;
+import org.jboss.weld.util.reflection.Reflections;
+import org.junit.Test;
+
+/**
+ * Detached annotations are compared with the annotation instances created by the JDK.
+ */
+public class DetachedAnnotationTest {
+
+    @Config(value = 42, name = "answer", numbers = { 4, 2 }, tags = { "a", "b" }, type = String.class, element = ElementType.METHOD, qualities = {
+            @Quality("high"), @Quality })
+    private static class Configured {
+    }
+
+    @Quality
+    private static class Qualified {
+    }
+
+    @Test
+    public void testDetachedEqualToJdkAnnotation() {
+        Config jdk = Configured.class.getAnnotation(Config.class);
+        Config literal = createLiteral(4, 2);
+        assertTrue(Reflections.isNonStaticInnerClass(literal.getClass()));
+
+        Config detached = DetachedAnnotation.detach(literal);
+        assertNotSame(literal, detached);
+        assertFalse(Reflections.isNonStaticInnerClass(detached.getClass()));
+        for (Quality quality : detached.qualities()) {
+            // array members are detached as well
+            assertFalse(Reflections.isNonStaticInnerClass(quality.getClass()));
+        }
+        assertEquals(jdk, detached);
+        assertEquals(detached, jdk);
+        assertEquals(literal, detached);
+        assertEquals(detached, literal);
+        assertEquals(jdk.hashCode(), detached.hashCode());
+        assertEquals(Config.class, detached.annotationType());
+    }
+
+    @Test
+    public void testDetachedNotEqualWhenArrayMemberDiffers() {
+        Config jdk = Configured.class.getAnnotation(Config.class);
+        Config detached = DetachedAnnotation.detach(createLiteral(2, 4));
+        assertFalse(jdk.equals(detached));
+        assertFalse(detached.equals(jdk));
+    }
+
+    @Test
+    public void testArrayMembersCopied() {
+        Config detached = DetachedAnnotation.detach(createLiteral(4, 2));
+        detached.numbers()[0] = 0;
+        detached.qualities()[0] = null;
+        assertEquals(4, detached.numbers()[0]);
+        assertEquals(Configured.class.getAnnotation(Config.class), detached);
+    }
+
+    @Test
+    public void testWithDefaultValues() {
+        Quality jdk = Qualified.class.getAnnotation(Quality.class);
+        Quality defaults = DetachedAnnotation.withDefaultValues(Quality.class);
+        assertEquals("very", defaults.value());
+        assertEquals(jdk, defaults);
+        assertEquals(defaults, jdk);
+        assertEquals(jdk.hashCode(), defaults.hashCode());
+        // value() has no default value
+        assertNull(DetachedAnnotation.withDefaultValues(Config.class));
+    }
+
+    @Test
+    public void testAnnotationWithoutEnclosingInstanceNotDetached() {
+        Config jdk = Configured.class.getAnnotation(Config.class);
+        assertSame(jdk, DetachedAnnotation.detach(jdk));
+    }
+
+    private Config createLiteral(final int... numbers) {
+        return new ConfigLiteral() {
+
+            @Override
+            public int[] numbers() {
+                return numbers.clone();
+            }
+
+            @Override
+            public Quality[] qualities() {
+                return new Quality[] { new QualityLiteral() {
+
+                    @Override
+                    public String value() {
+                        return "high";
+                    }
+                }, new QualityLiteral() {
+
+                    @Override
+                    public String value() {
+                        return "very";
+                    }
+                } };
+            }
+        };
+    }
+
+    private abstract static class ConfigLiteral extends AnnotationLiteral<Config> implements Config {
+
+        @Override
+        public int value() {
+            return 42;
+        }
+
+        @Override
+        public String name() {
+            return "answer";
+        }
+
+        @Override
+        public String[] tags() {
+            return new String[] { "a", "b" };
+        }
+
+        @Override
+        public Class<?> type() {
+            return String.class;
+        }
+
+        @Override
+        public ElementType element() {
+            return ElementType.METHOD;
+        }
+    }
+
+    private abstract static class QualityLiteral extends AnnotationLiteral<Quality> implements Quality {
+    }
+}
@@ -0,0 +1,64 @@
+package org.jboss.weld.tests.unit.selector;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.jboss.weld.bootstrap.spi.Filter;
+import org.jboss.weld.metadata.FilterImpl;
+import org.jboss.weld.metadata.FilterPredicate;
+import org.jboss.weld.metadata.MetadataImpl;
+import org.jboss.weld.metadata.ScanningPredicate;
+import org.junit.Test;
+
+import com.google.common.base.Predicate;
+
+public class ScanningPredicateTest {
+
+    private static Collection<Predicate<String>> filters(String... names) {
+        Collection<Predicate<String>> predicates = new ArrayList<Predicate<String>>();
+        for (String name : names) {
+            predicates.add(new FilterPredicate(new MetadataImpl<Filter>(new FilterImpl(name, null, null), "test"), null));
+        }
+        return predicates;
+    }
+
+    private static Collection<Predicate<String>> none() {
+        return Collections.emptyList();
+    }
+
+    @Test
+    public void testExcludes() {
+        Predicate<String> predicate = new ScanningPredicate<String>(none(), filters("com.acme.Foo", "com.acme.util.*", "org.acme.**"));
+        // fully qualified class name
+        assertFalse(predicate.apply("com.acme.Foo"));
+        assertTrue(predicate.apply("com.acme.Foo1"));
+        assertTrue(predicate.apply("com.acme.Fo"));
+        // package
+        assertFalse(predicate.apply("com.acme.util.Bar"));
+        assertTrue(predicate.apply("com.acme.util.sub.Bar"));
+        assertTrue(predicate.apply("com.acme.utils.Bar"));
+        // prefix
+        assertFalse(predicate.apply("org.acme.Baz"));
+        assertFalse(predicate.apply("org.acme.sub.Baz"));
+        assertTrue(predicate.apply("org.Baz"));
+        assertTrue(predicate.apply("Qux"));
+    }
+
+    @Test
+    public void testIncludes() {
+        Predicate<String> predicate = new ScanningPredicate<String>(filters("com.acme.**"), filters("com.acme.internal.*"));
+        assertTrue(predicate.apply("com.acme.Foo"));
+        assertTrue(predicate.apply("com.acme.api.Foo"));
+        assertFalse(predicate.apply("com.acme.internal.Foo"));
+        assertFalse(predicate.apply("org.acme.Foo"));
+    }
+
+    @Test
+    public void testNoFilters() {
+        assertTrue(new ScanningPredicate<String>(none(), none()).apply("com.acme.Foo"));
+    }
+}
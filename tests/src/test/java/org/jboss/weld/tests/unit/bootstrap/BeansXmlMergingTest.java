@@ -18,10 +18,14 @@
 package org.jboss.weld.tests.unit.bootstrap;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.jboss.weld.bootstrap.WeldBootstrap;
 import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.executor.FixedThreadPoolExecutorServices;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.*;
@@ -65,4 +69,34 @@ public class BeansXmlMergingTest {
         assertEquals(2, beansXml.getEnabledInterceptors().size());
         assertEquals(2, beansXml.getEnabledDecorators().size());
     }
+
+    @Test
+    public void testConcurrentParsingPreservesOrder() {
+        URL url1 = getClass().getResource("/org/jboss/weld/tests/unit/bootstrap/xml/beans1.xml");
+        URL url2 = getClass().getResource("/org/jboss/weld/tests/unit/bootstrap/xml/beans2.xml");
+        URL url3 = getClass().getResource("/org/jboss/weld/tests/unit/bootstrap/xml/beans3.xml");
+        List<URL> urls = Arrays.asList(url3, url1, url2, url1);
+
+        WeldBootstrap bootstrap = new WeldBootstrap();
+        BeansXml sequential = bootstrap.parse(urls, false);
+        FixedThreadPoolExecutorServices executor = new FixedThreadPoolExecutorServices(2);
+        try {
+            BeansXml concurrent = bootstrap.parse(urls, false, executor);
+            assertEquals(values(concurrent.getEnabledAlternativeStereotypes()), values(sequential.getEnabledAlternativeStereotypes()));
+            assertEquals(values(concurrent.getEnabledAlternativeClasses()), values(sequential.getEnabledAlternativeClasses()));
+            assertEquals(values(concurrent.getEnabledInterceptors()), values(sequential.getEnabledInterceptors()));
+            assertEquals(values(concurrent.getEnabledDecorators()), values(sequential.getEnabledDecorators()));
+            assertEquals(concurrent.getUrl(), url1);
+        } finally {
+            executor.cleanup();
+        }
+    }
+
+    private static List<String> values(List<Metadata<String>> metadata) {
+        List<String> values = new ArrayList<String>();
+        for (Metadata<String> item : metadata) {
+            values.add(item.getValue());
+        }
+        return values;
+    }
 }
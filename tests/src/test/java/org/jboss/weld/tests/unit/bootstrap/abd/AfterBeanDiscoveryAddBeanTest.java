@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.abd;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.AbstractDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class AfterBeanDiscoveryAddBeanTest {
+
+    @Test
+    public void testAddedBeanRegisteredOnceObserverReturns() {
+        final BeanDeploymentArchive bda = new BeanDeploymentArchiveImpl(TokenExtension.class);
+        TokenExtension extension = new TokenExtension();
+        TestContainer container = new TestContainer(new AbstractDeployment(bda, extension) {
+
+            public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass) {
+                return bda;
+            }
+        });
+        container.startContainer();
+        try {
+            Assert.assertFalse(extension.isRegisteredWhileNotifying());
+            Assert.assertEquals(extension.getProcessed(), 1);
+            BeanManager manager = container.getBeanManager(bda);
+            Assert.assertNotNull(Utils.getReference(manager, Token.class));
+        } finally {
+            container.stopContainer();
+        }
+    }
+}
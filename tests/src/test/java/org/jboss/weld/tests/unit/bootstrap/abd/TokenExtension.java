@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.abd;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ProcessBean;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.literal.DefaultLiteral;
+
+import com.google.common.collect.ImmutableSet;
+
+public class TokenExtension implements Extension {
+
+    private boolean registeredWhileNotifying;
+    private int processed;
+
+    void addToken(@Observes AfterBeanDiscovery event, BeanManager manager) {
+        event.addBean(new TokenBean());
+        // the components added by an observer are registered at once when the observer returns
+        registeredWhileNotifying = !BeanManagerProxy.unwrap(manager).getBeans(Token.class).isEmpty();
+    }
+
+    void processToken(@Observes ProcessBean<Token> event) {
+        processed++;
+    }
+
+    public boolean isRegisteredWhileNotifying() {
+        return registeredWhileNotifying;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    private static class TokenBean implements Bean<Token> {
+
+        @Override
+        public Token create(CreationalContext<Token> creationalContext) {
+            return new Token();
+        }
+
+        @Override
+        public void destroy(Token instance, CreationalContext<Token> creationalContext) {
+        }
+
+        @Override
+        public Set<Type> getTypes() {
+            return ImmutableSet.<Type>of(Token.class, Object.class);
+        }
+
+        @Override
+        public Set<Annotation> getQualifiers() {
+            return ImmutableSet.<Annotation>of(DefaultLiteral.INSTANCE, AnyLiteral.INSTANCE);
+        }
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return Dependent.class;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public Set<Class<? extends Annotation>> getStereotypes() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isAlternative() {
+            return false;
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return TokenExtension.class;
+        }
+
+        @Override
+        public Set<InjectionPoint> getInjectionPoints() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isNullable() {
+            return false;
+        }
+    }
+}
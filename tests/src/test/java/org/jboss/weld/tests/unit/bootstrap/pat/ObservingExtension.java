@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.pat;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.WithAnnotations;
+
+public class ObservingExtension implements Extension {
+
+    private final Set<Class<?>> stones = new CopyOnWriteArraySet<Class<?>>();
+    private final Set<Class<?>> animals = new CopyOnWriteArraySet<Class<?>>();
+    private final Set<Class<?>> marked = new CopyOnWriteArraySet<Class<?>>();
+
+    void observeStone(@Observes ProcessAnnotatedType<Stone> event) {
+        stones.add(event.getAnnotatedType().getJavaClass());
+    }
+
+    void observeAnimal(@Observes ProcessAnnotatedType<? extends Animal> event) {
+        animals.add(event.getAnnotatedType().getJavaClass());
+    }
+
+    void observeMarked(@Observes @WithAnnotations(Marker.class) ProcessAnnotatedType<?> event) {
+        marked.add(event.getAnnotatedType().getJavaClass());
+    }
+
+    public Set<Class<?>> getStones() {
+        return stones;
+    }
+
+    public Set<Class<?>> getAnimals() {
+        return animals;
+    }
+
+    public Set<Class<?>> getMarked() {
+        return marked;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.pat;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.AbstractDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The embedded container does not provide ClassFileServices so the ProcessAnnotatedType observer methods are resolved by
+ * {@link org.jboss.weld.bootstrap.ReflectionProcessAnnotatedTypeResolver}.
+ */
+public class ProcessAnnotatedTypeResolutionTest {
+
+    @Test
+    public void testObserverMethodsResolved() {
+        final BeanDeploymentArchive bda = new BeanDeploymentArchiveImpl(Animal.class, Dog.class, Cat.class, Stone.class, Plain.class);
+        ObservingExtension extension = new ObservingExtension();
+        TestContainer container = new TestContainer(new AbstractDeployment(bda, extension) {
+
+            public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass) {
+                return bda;
+            }
+        });
+        container.startContainer();
+        try {
+            Assert.assertEquals(extension.getStones(), Collections.<Class<?>>singleton(Stone.class));
+            Set<Class<?>> animals = extension.getAnimals();
+            Assert.assertTrue(animals.containsAll(ImmutableSet.<Class<?>>of(Dog.class, Cat.class)), animals.toString());
+            Assert.assertFalse(animals.contains(Stone.class));
+            Assert.assertFalse(animals.contains(Plain.class));
+            // the annotation is only present on a method
+            Assert.assertEquals(extension.getMarked(), Collections.<Class<?>>singleton(Cat.class));
+        } finally {
+            container.stopContainer();
+        }
+    }
+}
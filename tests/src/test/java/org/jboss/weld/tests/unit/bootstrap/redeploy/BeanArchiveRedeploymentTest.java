@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.redeploy;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.FlatDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bootstrap.WeldBootstrap;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BeanArchiveRedeploymentTest {
+
+    @Test
+    public void testUnchangedArchiveRedeploymentIsNoOp() {
+        ReloadingResourceLoader resourceLoader = new ReloadingResourceLoader();
+        // neither the interface, the abstract class nor the decorator count as changed classes
+        TestContainer container = startContainer(resourceLoader, Greeter.class, EnglishGreeter.class, Host.class, Shape.class,
+                ExclamationDecorator.class);
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Bean<?> greeterBean = manager.resolve(manager.getBeans(Greeter.class));
+            Bean<?> hostBean = manager.resolve(manager.getBeans(Host.class));
+
+            redeploy(container);
+
+            Assert.assertSame(manager.resolve(manager.getBeans(Greeter.class)), greeterBean);
+            Assert.assertSame(manager.resolve(manager.getBeans(Host.class)), hostBean);
+            Assert.assertEquals(Utils.getReference(manager, Host.class).welcome("Weld"), "Hello Weld!");
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testArchiveWithDecoratorRedeployed() {
+        ReloadingResourceLoader resourceLoader = new ReloadingResourceLoader();
+        TestContainer container = startContainer(resourceLoader, Greeter.class, EnglishGreeter.class, Host.class,
+                ExclamationDecorator.class);
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Assert.assertEquals(Utils.getReference(manager, Host.class).welcome("Weld"), "Hello Weld!");
+
+            resourceLoader.reload(EnglishGreeter.class);
+            redeploy(container);
+
+            Bean<?> greeterBean = manager.resolve(manager.getBeans(Greeter.class));
+            Assert.assertNotSame(greeterBean.getBeanClass(), EnglishGreeter.class);
+            Assert.assertEquals(greeterBean.getBeanClass().getName(), EnglishGreeter.class.getName());
+            // the unchanged decorator still applies to the replacement
+            Assert.assertEquals(Utils.getReference(manager, Host.class).welcome("CDI"), "Hello CDI!");
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testChangedBeanReplaced() {
+        ReloadingResourceLoader resourceLoader = new ReloadingResourceLoader();
+        TestContainer container = startContainer(resourceLoader, Greeter.class, EnglishGreeter.class, Host.class);
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Bean<?> greeterBean = manager.resolve(manager.getBeans(Greeter.class));
+            Bean<?> hostBean = manager.resolve(manager.getBeans(Host.class));
+
+            resourceLoader.reload(EnglishGreeter.class);
+            redeploy(container);
+
+            Assert.assertEquals(manager.getBeans(Greeter.class).size(), 1);
+            Bean<?> replacement = manager.resolve(manager.getBeans(Greeter.class));
+            Assert.assertNotSame(replacement, greeterBean);
+            Assert.assertNotSame(replacement.getBeanClass(), EnglishGreeter.class);
+            // beans of unchanged classes are kept
+            Assert.assertSame(manager.resolve(manager.getBeans(Host.class)), hostBean);
+            Assert.assertEquals(Utils.getReference(manager, Host.class).welcome("Weld"), "Hello Weld");
+
+            // the reloaded class is now the deployed one
+            redeploy(container);
+            Assert.assertSame(manager.resolve(manager.getBeans(Greeter.class)), replacement);
+            Assert.assertSame(manager.resolve(manager.getBeans(Host.class)), hostBean);
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testInjectedClientProxyUsesReplacement() {
+        ReloadingResourceLoader resourceLoader = new ReloadingResourceLoader();
+        TestContainer container = startContainer(resourceLoader, Dictionary.class, EnglishDictionary.class, Library.class);
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Dictionary dictionary = Utils.getReference(manager, Library.class).getDictionary();
+            Assert.assertSame(dictionary.getImplementationClass(), EnglishDictionary.class);
+
+            resourceLoader.reload(EnglishDictionary.class);
+            redeploy(container);
+
+            // the proxy injected into the unchanged bean no longer creates instances of the replaced bean
+            Class<?> implementationClass = dictionary.getImplementationClass();
+            Assert.assertNotSame(implementationClass, EnglishDictionary.class);
+            Assert.assertEquals(implementationClass.getName(), EnglishDictionary.class.getName());
+            Assert.assertSame(Utils.getReference(manager, Dictionary.class).getImplementationClass(), implementationClass);
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    private static TestContainer startContainer(ResourceLoader resourceLoader, Class<?>... classes) {
+        BeanDeploymentArchiveImpl bda = new BeanDeploymentArchiveImpl(classes);
+        bda.getServices().add(ResourceLoader.class, resourceLoader);
+        return new TestContainer(new FlatDeployment(bda)).startContainer();
+    }
+
+    private static void redeploy(TestContainer container) {
+        ((WeldBootstrap) container.getBootstrap()).redeploy(getBeanDeploymentArchive(container));
+    }
+
+    private static BeanDeploymentArchive getBeanDeploymentArchive(TestContainer container) {
+        return container.getDeployment().getBeanDeploymentArchives().iterator().next();
+    }
+
+    private static BeanManagerImpl getBeanManager(TestContainer container) {
+        return (BeanManagerImpl) container.getBeanManager(getBeanDeploymentArchive(container));
+    }
+}
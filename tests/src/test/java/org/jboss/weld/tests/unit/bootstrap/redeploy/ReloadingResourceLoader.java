@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.redeploy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.weld.resources.AbstractClassLoaderResourceLoader;
+
+/**
+ * Simulates the recompilation of classes. Once a class is reloaded, the resource loader returns a copy of the class defined by a
+ * new class loader.
+ */
+public class ReloadingResourceLoader extends AbstractClassLoaderResourceLoader {
+
+    private volatile ClassLoader classLoader = ReloadingResourceLoader.class.getClassLoader();
+
+    public void reload(Class<?>... classes) {
+        Set<String> classNames = new HashSet<String>();
+        for (Class<?> clazz : classes) {
+            classNames.add(clazz.getName());
+        }
+        this.classLoader = new ReloadingClassLoader(ReloadingResourceLoader.class.getClassLoader(), classNames);
+    }
+
+    @Override
+    protected ClassLoader classLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    private static class ReloadingClassLoader extends ClassLoader {
+
+        private final Set<String> classNames;
+
+        ReloadingClassLoader(ClassLoader parent, Set<String> classNames) {
+            super(parent);
+            this.classNames = classNames;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!classNames.contains(name)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> clazz = findLoadedClass(name);
+            if (clazz == null) {
+                byte[] bytes = readClass(name);
+                clazz = defineClass(name, bytes, 0, bytes.length);
+            }
+            return clazz;
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            } finally {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
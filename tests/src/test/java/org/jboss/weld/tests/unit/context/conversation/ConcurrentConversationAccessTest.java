@@ -0,0 +1,407 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context.conversation;
+
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.BusyConversationException;
+import javax.enterprise.context.NonexistentConversationException;
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.context.AbstractConversationContext;
+import org.jboss.weld.context.ManagedConversation;
+import org.jboss.weld.context.conversation.ConversationImpl;
+import org.jboss.weld.context.http.HttpConversationContext;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.servlet.ConversationContextActivator;
+import org.jboss.weld.servlet.ConversationFilter;
+import org.jboss.weld.servlet.WeldInitialListener;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Verifies what happens to a request which refers to a long-running conversation locked by another request.
+ */
+public class ConcurrentConversationAccessTest {
+
+    private static final String ACCESS_MODE_PARAM = "org.jboss.weld.context.conversation.concurrentAccess";
+
+    private TestContainer container;
+    private BeanManagerImpl manager;
+    private HttpConversationContext context;
+    private HttpSession session;
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void startContainer() {
+        container = new TestContainer(Checkout.class).startContainer();
+        manager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+        context = manager.instance().select(HttpConversationContext.class).get();
+        session = createSession();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterMethod
+    public void stopContainer() {
+        executor.shutdownNow();
+        container.stopContainer();
+    }
+
+    @Test
+    public void testFailFast() throws Exception {
+        WeldInitialListener listener = new WeldInitialListener();
+        Field beanManager = WeldInitialListener.class.getDeclaredField("beanManager");
+        beanManager.setAccessible(true);
+        beanManager.set(listener, manager);
+        ServletContext servletContext = createServletContext(Collections.singletonMap(ACCESS_MODE_PARAM, "fail-fast"));
+        listener.contextInitialized(new ServletContextEvent(servletContext));
+        try {
+            Assert.assertEquals(context.getConcurrentAccessTimeout(), 0L);
+
+            String cid = beginConversation();
+            CountDownLatch release = new CountDownLatch(1);
+            Future<Void> holder = holdConversation(cid, release);
+
+            HttpServletRequest request = createRequest(cid, null);
+            context.associate(request);
+            try {
+                context.activate(cid);
+                Assert.fail("Expected the busy conversation to be reported");
+            } catch (BusyConversationException expected) {
+                // a transient conversation is active
+                Assert.assertTrue(context.getCurrentConversation().isTransient());
+            } finally {
+                context.deactivate();
+                context.dissociate(request);
+            }
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            listener.contextDestroyed(new ServletContextEvent(servletContext));
+        }
+    }
+
+    @Test
+    public void testAsyncRequestDispatchedOnceConversationUnlocked() throws Exception {
+        ConversationContextActivator activator = new ConversationContextActivator(manager, false) {
+        };
+        String cid = beginConversation();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Void> holder = holdConversation(cid, release);
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        HttpServletRequest request = createRequest(cid, createAsyncContext(dispatched));
+        Assert.assertTrue(activator.suspendIfConversationLocked(request));
+        // the suspended request is not associated with the context
+        Assert.assertTrue(context.associate(request));
+        context.dissociate(request);
+        Assert.assertEquals(dispatched.getCount(), 1L);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+
+        // the dispatched request restores the conversation
+        Assert.assertFalse(activator.suspendIfConversationLocked(request));
+        activator.startConversationContext(request);
+        try {
+            Assert.assertEquals(context.getCurrentConversation().getId(), cid);
+            Assert.assertEquals(Utils.getReference(manager, Checkout.class).getItems(), Collections.singletonList("book"));
+        } finally {
+            activator.stopConversationContext(request);
+        }
+    }
+
+    @Test
+    public void testAsyncModeWaitsUntilFilterAppliedToAsyncDispatch() throws Exception {
+        ConversationFilter filter = new ConversationFilter();
+        Field beanManager = ConversationFilter.class.getDeclaredField("manager");
+        beanManager.setAccessible(true);
+        beanManager.set(filter, manager);
+        filter.init(createFilterConfig(createServletContext(Collections.singletonMap(ACCESS_MODE_PARAM, "async"))));
+        ConversationContextActivator activator = new ConversationContextActivator(manager, false) {
+        };
+        AtomicInteger chainInvocations = new AtomicInteger();
+        FilterChain chain = createFilterChain(chainInvocations);
+
+        context.setConcurrentAccessTimeout(0L);
+        String cid = beginConversation();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Void> holder = holdConversation(cid, release);
+
+        // the filter is not known to be mapped for asynchronous dispatches yet, the request is not suspended
+        CountDownLatch dispatched = new CountDownLatch(1);
+        HttpServletRequest request = createRequest(cid, createAsyncContext(dispatched));
+        try {
+            filter.doFilter(request, null, chain);
+            Assert.fail("Expected the busy conversation to be reported");
+        } catch (BusyConversationException expected) {
+            // the request waited for the conversation
+        } finally {
+            context.deactivate();
+            context.dissociate(request);
+        }
+        Assert.assertEquals(chainInvocations.get(), 0);
+
+        HttpServletRequest asyncDispatch = createRequest(null, createAsyncContext(new CountDownLatch(1)), DispatcherType.ASYNC);
+        filter.doFilter(asyncDispatch, null, chain);
+        activator.stopConversationContext(asyncDispatch);
+        context.dissociate(asyncDispatch);
+        Assert.assertEquals(chainInvocations.get(), 1);
+
+        // the request is suspended now that the filter is applied to asynchronous dispatches
+        request = createRequest(cid, createAsyncContext(dispatched));
+        filter.doFilter(request, null, chain);
+        Assert.assertEquals(chainInvocations.get(), 1);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testWaitingRequestDoesNotRestoreEndedConversation() throws Exception {
+        context.setConcurrentAccessTimeout(TimeUnit.SECONDS.toMillis(10));
+        String cid = beginConversation();
+        HttpServletRequest endingRequest = createRequest(cid, null);
+        context.associate(endingRequest);
+        context.activate(cid);
+        ConversationImpl conversation = (ConversationImpl) context.getCurrentConversation();
+
+        // the request waits for the conversation locked by the ending request
+        final HttpServletRequest waitingRequest = createRequest(cid, null);
+        final String id = cid;
+        Future<Void> waiting = executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                context.associate(waitingRequest);
+                try {
+                    context.activate(id);
+                    Assert.fail("Expected the ended conversation not to be restored");
+                } catch (NonexistentConversationException expected) {
+                    Assert.assertTrue(context.getCurrentConversation().isTransient());
+                } finally {
+                    context.deactivate();
+                    context.dissociate(waitingRequest);
+                }
+                return null;
+            }
+        });
+        Thread.sleep(200);
+
+        context.getCurrentConversation().end();
+        context.deactivate();
+        context.dissociate(endingRequest);
+
+        waiting.get(5, TimeUnit.SECONDS);
+        Assert.assertFalse(conversation.isLocked());
+        Assert.assertNull(peekConversation(cid));
+    }
+
+    private String beginConversation() {
+        HttpServletRequest request = createRequest(null, null);
+        context.associate(request);
+        context.activate();
+        try {
+            ManagedConversation conversation = context.getCurrentConversation();
+            conversation.begin();
+            Utils.getReference(manager, Checkout.class).add("book");
+            return conversation.getId();
+        } finally {
+            context.deactivate();
+            context.dissociate(request);
+        }
+    }
+
+    /**
+     * Starts a request which holds the lock of the given conversation until released.
+     */
+    private Future<Void> holdConversation(final String cid, final CountDownLatch release) throws InterruptedException {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final HttpServletRequest request = createRequest(cid, null);
+        Future<Void> holder = executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                context.associate(request);
+                try {
+                    context.activate(cid);
+                    locked.countDown();
+                    release.await();
+                    context.deactivate();
+                } finally {
+                    context.dissociate(request);
+                }
+                return null;
+            }
+        });
+        Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(((ConversationImpl) peekConversation(cid)).isLocked());
+        return holder;
+    }
+
+    private ManagedConversation peekConversation(String cid) {
+        AbstractConversationContext<HttpServletRequest, ?> conversationContext = cast(context);
+        return conversationContext.peekConversation(createRequest(null, null), cid);
+    }
+
+    private HttpSession createSession() {
+        final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+        return (HttpSession) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpSession.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("getAttribute")) {
+                            return attributes.get(args[0]);
+                        } else if (name.equals("setAttribute")) {
+                            attributes.put((String) args[0], args[1]);
+                        } else if (name.equals("removeAttribute")) {
+                            attributes.remove(args[0]);
+                        } else if (name.equals("getAttributeNames")) {
+                            return Collections.enumeration(new ArrayList<String>(attributes.keySet()));
+                        } else if (name.equals("getId")) {
+                            return "session";
+                        } else if (method.getReturnType().equals(boolean.class)) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    /**
+     * @param asyncContext the context returned by {@link HttpServletRequest#startAsync()}, async processing is not supported if
+     *        null
+     */
+    private HttpServletRequest createRequest(String cid, AsyncContext asyncContext) {
+        return createRequest(cid, asyncContext, DispatcherType.REQUEST);
+    }
+
+    private HttpServletRequest createRequest(final String cid, final AsyncContext asyncContext, final DispatcherType dispatcherType) {
+        final Map<String, Object> attributes = new HashMap<String, Object>();
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("getAttribute")) {
+                            return attributes.get(args[0]);
+                        } else if (name.equals("setAttribute")) {
+                            attributes.put((String) args[0], args[1]);
+                        } else if (name.equals("removeAttribute")) {
+                            attributes.remove(args[0]);
+                        } else if (name.equals("getAttributeNames")) {
+                            return Collections.enumeration(new ArrayList<String>(attributes.keySet()));
+                        } else if (name.equals("getSession")) {
+                            return session;
+                        } else if (name.equals("getParameter")) {
+                            return "cid".equals(args[0]) ? cid : null;
+                        } else if (name.equals("isAsyncSupported")) {
+                            return asyncContext != null;
+                        } else if (name.equals("startAsync")) {
+                            return asyncContext;
+                        } else if (name.equals("getDispatcherType")) {
+                            return dispatcherType;
+                        } else if (method.getReturnType().equals(boolean.class)) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private AsyncContext createAsyncContext(final CountDownLatch dispatched) {
+        return (AsyncContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AsyncContext.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("dispatch")) {
+                            dispatched.countDown();
+                        } else if (method.getReturnType().equals(boolean.class)) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private FilterConfig createFilterConfig(final ServletContext servletContext) {
+        return (FilterConfig) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { FilterConfig.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("getServletContext")) {
+                            return servletContext;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private FilterChain createFilterChain(final AtomicInteger invocations) {
+        return new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                invocations.incrementAndGet();
+            }
+        };
+    }
+
+    private ServletContext createServletContext(final Map<String, String> initParameters) {
+        return (ServletContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ServletContext.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("getInitParameter")) {
+                            return initParameters.get(args[0]);
+                        } else if (method.getReturnType().equals(boolean.class)) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context.http;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.servlet.HttpContextLifecycle;
+import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LazyContextActivationTest {
+
+    @Test
+    public void testRequestWithoutContextualAccessLeavesRequestUntouched() {
+        TestContainer container = new TestContainer(Visit.class).startContainer();
+        try {
+            HttpContextLifecycle lifecycle = createLifecycle(getBeanManager(container));
+            Map<String, Object> attributes = new HashMap<String, Object>();
+            HttpServletRequest request = createRequest(attributes);
+
+            lifecycle.requestInitialized(request, createServletContext());
+            Assert.assertTrue(lifecycle.getRequestContext().isActive());
+            lifecycle.requestDestroyed(request);
+
+            // no bean store was attached to the request
+            Assert.assertTrue(attributes.isEmpty(), attributes.toString());
+            Assert.assertFalse(lifecycle.getRequestContext().isActive());
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testContextAssociatedUponFirstAccess() {
+        TestContainer container = new TestContainer(Visit.class).startContainer();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            HttpContextLifecycle lifecycle = createLifecycle(manager);
+            Map<String, Object> attributes = new HashMap<String, Object>();
+            HttpServletRequest request = createRequest(attributes);
+            Visit.reset();
+
+            lifecycle.requestInitialized(request, createServletContext());
+            Assert.assertTrue(attributes.isEmpty());
+            Visit visit = Utils.getReference(manager, Visit.class);
+            Assert.assertEquals(visit.view(), 1);
+            Assert.assertEquals(visit.view(), 2);
+            // the instance is stored in the request
+            Assert.assertFalse(attributes.isEmpty());
+            lifecycle.requestDestroyed(request);
+
+            Assert.assertTrue(Visit.isDestroyed());
+            Assert.assertFalse(lifecycle.getRequestContext().isActive());
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    private static HttpContextLifecycle createLifecycle(BeanManagerImpl manager) {
+        HttpContextLifecycle lifecycle = new HttpContextLifecycle(manager, AcceptingHttpContextActivationFilter.INSTANCE, true, true, false, true);
+        lifecycle.setConversationActivationEnabled(false);
+        return lifecycle;
+    }
+
+    private static HttpServletRequest createRequest(final Map<String, Object> attributes) {
+        return (HttpServletRequest) Proxy.newProxyInstance(LazyContextActivationTest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("getAttribute")) {
+                            return attributes.get(args[0]);
+                        } else if (name.equals("setAttribute")) {
+                            attributes.put((String) args[0], args[1]);
+                        } else if (name.equals("removeAttribute")) {
+                            attributes.remove(args[0]);
+                        } else if (name.equals("getAttributeNames")) {
+                            return Collections.enumeration(new ArrayList<String>(attributes.keySet()));
+                        } else if (method.getReturnType().equals(boolean.class)) {
+                            return false;
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private static ServletContext createServletContext() {
+        return (ServletContext) Proxy.newProxyInstance(LazyContextActivationTest.class.getClassLoader(), new Class<?>[] { ServletContext.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        return null;
+                    }
+                });
+    }
+
+    private static BeanManagerImpl getBeanManager(TestContainer container) {
+        return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+    }
+}
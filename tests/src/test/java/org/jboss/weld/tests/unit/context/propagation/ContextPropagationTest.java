@@ -0,0 +1,244 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context.propagation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.Conversation;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.BoundContextSnapshot;
+import org.jboss.weld.context.ContextPropagatingExecutorService;
+import org.jboss.weld.context.bound.BoundConversationContext;
+import org.jboss.weld.context.bound.BoundRequest;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.unit.cluster.BoundRequestImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ContextPropagationTest {
+
+    @Test
+    public void testRequestContextSharedWithWorkerThread() throws Exception {
+        TestContainer container = new TestContainer(Counter.class);
+        container.startContainer();
+        container.ensureRequestActive();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final BeanManagerImpl manager = getBeanManager(container);
+            Utils.getReference(manager, Counter.class).increment();
+
+            ExecutorService propagatingExecutor = new ContextPropagatingExecutorService(executor, manager);
+            int value = propagatingExecutor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return Utils.getReference(manager, Counter.class).increment();
+                }
+            }).get();
+            // the worker thread sees the instance created by the owning thread
+            Assert.assertEquals(value, 2);
+            Assert.assertEquals(Utils.getReference(manager, Counter.class).increment(), 3);
+        } finally {
+            executor.shutdown();
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testTaskRunInSubmittingThread() throws Exception {
+        TestContainer container = new TestContainer(Counter.class);
+        container.startContainer();
+        container.ensureRequestActive();
+        try {
+            final BeanManagerImpl manager = getBeanManager(container);
+            Counter.reset();
+            Utils.getReference(manager, Counter.class).increment();
+
+            ExecutorService propagatingExecutor = new ContextPropagatingExecutorService(new CallerRunsExecutorService(), manager);
+            int value = propagatingExecutor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return Utils.getReference(manager, Counter.class).increment();
+                }
+            }).get();
+            Assert.assertEquals(value, 2);
+            // the context is still active in the submitting thread once the task completes
+            Assert.assertTrue(manager.isContextActive(RequestScoped.class));
+            Assert.assertEquals(Utils.getReference(manager, Counter.class).increment(), 3);
+
+            AbstractBoundContext<?> requestContext = (AbstractBoundContext<?>) manager.getUnwrappedContext(RequestScoped.class);
+            requestContext.invalidate();
+            requestContext.deactivate();
+            // the task released the reference it held
+            Assert.assertTrue(Counter.isDestroyed());
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testInstancesDestroyedWhenLastReferenceReleased() throws Exception {
+        TestContainer container = new TestContainer(Counter.class);
+        container.startContainer();
+        container.ensureRequestActive();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final BeanManagerImpl manager = getBeanManager(container);
+            Counter.reset();
+            Utils.getReference(manager, Counter.class).increment();
+
+            AbstractBoundContext<?> requestContext = (AbstractBoundContext<?>) manager.getUnwrappedContext(RequestScoped.class);
+            final BoundContextSnapshot snapshot = requestContext.snapshot();
+            // the owning thread ends the request while the snapshot is still held
+            requestContext.invalidate();
+            requestContext.deactivate();
+            Assert.assertFalse(Counter.isDestroyed());
+
+            int value = executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    snapshot.restore();
+                    try {
+                        return Utils.getReference(manager, Counter.class).increment();
+                    } finally {
+                        snapshot.release();
+                    }
+                }
+            }).get();
+            Assert.assertEquals(value, 2);
+            // the worker thread released the last reference
+            Assert.assertTrue(Counter.isDestroyed());
+        } finally {
+            executor.shutdown();
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testDiscardedSnapshotReleasesReference() throws Exception {
+        TestContainer container = new TestContainer(Counter.class);
+        container.startContainer();
+        container.ensureRequestActive();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Counter.reset();
+            Utils.getReference(manager, Counter.class).increment();
+
+            AbstractBoundContext<?> requestContext = (AbstractBoundContext<?>) manager.getUnwrappedContext(RequestScoped.class);
+            BoundContextSnapshot first = requestContext.snapshot();
+            BoundContextSnapshot second = requestContext.snapshot();
+            requestContext.invalidate();
+            requestContext.deactivate();
+            requestContext.discard(first);
+            Assert.assertFalse(Counter.isDestroyed());
+            requestContext.discard(second);
+            Assert.assertTrue(Counter.isDestroyed());
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testConversationAccessibleFromWorkerThread() throws Exception {
+        TestContainer container = new TestContainer(Wizard.class);
+        container.startContainer();
+        container.ensureRequestActive();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final BeanManagerImpl manager = getBeanManager(container);
+            BoundRequest request = new BoundRequestImpl(container.getSessionStore());
+            BoundConversationContext conversationContext = Utils.getReference(manager, BoundConversationContext.class);
+            conversationContext.associate(request);
+            conversationContext.activate();
+            try {
+                Conversation conversation = Utils.getReference(manager, Conversation.class);
+                conversation.begin();
+                Utils.getReference(manager, Wizard.class).setStep("first");
+
+                AbstractBoundContext<?> context = (AbstractBoundContext<?>) manager.getUnwrappedContext(ConversationScoped.class);
+                final BoundContextSnapshot snapshot = context.snapshot();
+                String workerConversationId = executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        snapshot.restore();
+                        try {
+                            Utils.getReference(manager, Wizard.class).setStep("second");
+                            return Utils.getReference(manager, Conversation.class).getId();
+                        } finally {
+                            snapshot.release();
+                        }
+                    }
+                }).get();
+                Assert.assertEquals(workerConversationId, conversation.getId());
+                Assert.assertEquals(Utils.getReference(manager, Wizard.class).getStep(), "second");
+            } finally {
+                conversationContext.invalidate();
+                conversationContext.deactivate();
+                conversationContext.dissociate(request);
+            }
+        } finally {
+            executor.shutdown();
+            container.stopContainer();
+        }
+    }
+
+    private static class CallerRunsExecutorService extends AbstractExecutorService {
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+
+    private static BeanManagerImpl getBeanManager(TestContainer container) {
+        return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+    }
+}
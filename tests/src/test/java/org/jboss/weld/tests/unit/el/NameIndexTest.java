@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.el;
+
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.el.Namespace;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class NameIndexTest {
+
+    private TestContainer container;
+    private BeanManagerImpl manager;
+
+    @BeforeClass
+    public void startContainer() {
+        container = new TestContainer(Greeting.class, Salutation.class).startContainer().ensureRequestActive();
+        manager = (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopContainer() {
+        container.stopContainer();
+    }
+
+    @Test
+    public void testNamesResolved() {
+        assertResolvesTo(manager.getBeans("org.acme.greeting"), Greeting.class);
+        assertResolvesTo(manager.getBeans("salutation"), Salutation.class);
+        // a namespace is not a bean name
+        Assert.assertTrue(manager.getBeans("org.acme").isEmpty());
+        Assert.assertTrue(manager.getBeans("unknown").isEmpty());
+    }
+
+    @Test
+    public void testNamespaceHoldsResolvedBeans() {
+        Namespace root = manager.getRootNamespace();
+        Assert.assertTrue(root.contains("org"));
+        Namespace acme = root.get("org").get("acme");
+        Assert.assertEquals(acme.getQualifiedName(), "org.acme");
+        assertResolvesTo(acme.getBeans("greeting"), Greeting.class);
+        assertResolvesTo(root.getBeans("salutation"), Salutation.class);
+        Assert.assertTrue(acme.getBeans("unknown").isEmpty());
+    }
+
+    @Test
+    public void testExpressionsResolved() {
+        Assert.assertEquals(Utils.evaluateValueExpression(manager, "#{org.acme.greeting.text}", String.class), "hello");
+        Assert.assertEquals(Utils.evaluateValueExpression(manager, "#{salutation.text}", String.class), "hi");
+    }
+
+    @Test(dependsOnMethods = { "testNamesResolved", "testNamespaceHoldsResolvedBeans", "testExpressionsResolved" })
+    public void testIndexRebuiltAfterClear() {
+        manager.getNameBasedResolver().clear();
+        assertResolvesTo(manager.getBeans("org.acme.greeting"), Greeting.class);
+        assertResolvesTo(manager.getRootNamespace().get("org").get("acme").getBeans("greeting"), Greeting.class);
+    }
+
+    private static void assertResolvesTo(Set<Bean<?>> beans, Class<?> beanClass) {
+        Assert.assertEquals(beans.size(), 1);
+        Assert.assertEquals(beans.iterator().next().getBeanClass(), beanClass);
+    }
+}
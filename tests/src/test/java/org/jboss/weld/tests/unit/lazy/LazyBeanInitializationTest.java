@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.lazy;
+
+import java.util.Arrays;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.FlatDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.SystemPropertiesConfiguration;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.spi.ProxyServices;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Runs in a separate surefire execution with the {@link SystemPropertiesConfiguration#LAZY_BEAN_INITIALIZATION_KEY} system
+ * property set.
+ */
+public class LazyBeanInitializationTest {
+
+    @BeforeClass
+    public void checkLazyInitializationEnabled() {
+        Assert.assertTrue(SystemPropertiesConfiguration.INSTANCE.isLazyBeanInitializationEnabled());
+    }
+
+    @Test
+    public void testInterceptorChainBuiltOnFirstUse() {
+        TestContainer container = new TestContainer(Greeter.class, LoggedInterceptor.class);
+        container.startContainer();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            int invocations = LoggedInterceptor.INVOCATIONS.get();
+            Assert.assertEquals(Utils.getReference(manager, Greeter.class).greet("Weld"), "Hello Weld");
+            Assert.assertEquals(Utils.getReference(manager, Greeter.class).greet("CDI"), "Hello CDI");
+            Assert.assertEquals(LoggedInterceptor.INVOCATIONS.get(), invocations + 2);
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testSubclassFailureReportedOnEveryInstantiation() {
+        FlatDeployment deployment = new FlatDeployment(new BeanDeploymentArchiveImpl(Arrays.<Class<?>>asList(Greeter.class, LoggedInterceptor.class)));
+        deployment.getServices().add(ProxyServices.class, new FailingProxyServices());
+        TestContainer container = new TestContainer(deployment);
+        // the enhanced subclass is not generated during deployment
+        container.startContainer();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            for (int i = 0; i < 2; i++) {
+                try {
+                    Utils.getReference(manager, Greeter.class).greet("Weld");
+                    Assert.fail("Expected the enhanced subclass generation to fail");
+                } catch (RuntimeException expected) {
+                    // the original failure is reported again, not an incomplete instantiator chain
+                    Assert.assertTrue(hasCause(expected, FailingProxyServices.MESSAGE), "Unexpected failure: " + expected);
+                }
+            }
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    private static boolean hasCause(Throwable throwable, String message) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalStateException && message.equals(cause.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BeanManagerImpl getBeanManager(TestContainer container) {
+        return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+    }
+}
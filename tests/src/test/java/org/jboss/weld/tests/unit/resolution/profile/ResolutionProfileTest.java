@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.resolution.profile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.FlatDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.ResolutionProfile;
+import org.jboss.weld.test.util.Utils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ResolutionProfileTest {
+
+    private File directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("weld-resolution-profile", "");
+        Assert.assertTrue(directory.delete() && directory.mkdir());
+    }
+
+    @AfterMethod
+    public void deleteDirectory() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testFilePerContainer() {
+        String path = new File(directory, "profile").getPath();
+        File first = ResolutionProfile.getFile(path, "first");
+        File second = ResolutionProfile.getFile(path, "second");
+        Assert.assertFalse(first.equals(second));
+        Assert.assertEquals(first.getParentFile(), directory);
+        // the id of a container may contain characters not allowed in file names
+        Assert.assertEquals(ResolutionProfile.getFile(path, "app/web:1").getName(), "profile-app_web_1");
+    }
+
+    @Test
+    public void testProfileWrittenAndReplayed() throws IOException {
+        File file = new File(directory, "profile");
+
+        TestContainer container = startContainer(file);
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Assert.assertEquals(Utils.getReference(manager, Catalog.class).getTitle(), "Catalog");
+        } finally {
+            container.stopContainer();
+        }
+        List<String> written = read(file);
+        Assert.assertTrue(containsLookup(written, Catalog.class), "Lookup not recorded: " + written);
+        // the temporary file was renamed
+        Assert.assertEquals(directory.listFiles().length, 1);
+
+        // the entries replayed by the next boot are kept even if the resolutions are not performed again
+        container = startContainer(file);
+        container.stopContainer();
+        List<String> rewritten = read(file);
+        Assert.assertTrue(rewritten.containsAll(written), "Entries dropped: " + rewritten);
+        Assert.assertEquals(directory.listFiles().length, 1);
+    }
+
+    private static boolean containsLookup(List<String> entries, Class<?> type) {
+        for (String entry : entries) {
+            if (entry.startsWith("lookup\t") && entry.contains("\t" + type.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> read(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    private static TestContainer startContainer(File file) {
+        FlatDeployment deployment = new FlatDeployment(new BeanDeploymentArchiveImpl(Catalog.class));
+        deployment.getServices().add(ResolutionProfile.class, new ResolutionProfile(file));
+        return new TestContainer(deployment).startContainer();
+    }
+
+    private static BeanManagerImpl getBeanManager(TestContainer container) {
+        return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.serialization;
+
+import java.io.InvalidObjectException;
+import java.util.Collections;
+
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.FlatDeployment;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.context.SerializableContextualFactory;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.serialization.spi.helpers.SerializableContextual;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.util.reflection.Reflections;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BeanIdentifierIndexSerializationTest {
+
+    @Test
+    public void testIndexedContextualRoundTrip() throws Exception {
+        BeanIdentifierIndex index = new BeanIdentifierIndex();
+        TestContainer container = createContainer(index).startContainer();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Bean<Object> alpha = getBean(manager, Alpha.class);
+            Assert.assertNotNull(index.getIndex(((CommonBean<?>) alpha).getIdentifier()));
+
+            SerializableContextual<Bean<Object>, Object> restored = Utils.deserialize(Utils.serialize(createContextual(manager, alpha)));
+            Assert.assertEquals(restored.get(), alpha);
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testIndexedContextualIsSmaller() throws Exception {
+        BeanIdentifierIndex index = new BeanIdentifierIndex();
+        TestContainer container = createContainer(index).startContainer();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Bean<Object> alpha = getBean(manager, Alpha.class);
+            int indexedSize = Utils.serialize(createContextual(manager, alpha)).length;
+
+            // without the index the full bean identifier is serialized
+            index.cleanup();
+            int identifierSize = Utils.serialize(createContextual(manager, alpha)).length;
+            Assert.assertTrue(indexedSize < identifierSize, "Indexed: " + indexedSize + ", identifier: " + identifierSize);
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    @Test
+    public void testIndexMismatchFails() throws Exception {
+        BeanIdentifierIndex index = new BeanIdentifierIndex();
+        TestContainer container = createContainer(index).startContainer();
+        try {
+            BeanManagerImpl manager = getBeanManager(container);
+            Bean<Object> alpha = getBean(manager, Alpha.class);
+            Bean<Object> omega = getBean(manager, Omega.class);
+            byte[] bytes = Utils.serialize(createContextual(manager, alpha));
+
+            // the reading side has a different index
+            index.build(Collections.singleton(omega));
+            assertNotDeserializable(bytes);
+
+            // no index at all
+            index.cleanup();
+            assertNotDeserializable(bytes);
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    private static void assertNotDeserializable(byte[] bytes) throws Exception {
+        try {
+            Utils.deserialize(bytes);
+            Assert.fail("The contextual should not be restored");
+        } catch (InvalidObjectException expected) {
+        }
+    }
+
+    private static TestContainer createContainer(BeanIdentifierIndex index) {
+        FlatDeployment deployment = new FlatDeployment(new BeanDeploymentArchiveImpl(Alpha.class, Omega.class));
+        // registered by the integrator so that the test does not depend on the system property
+        deployment.getServices().add(BeanIdentifierIndex.class, index);
+        return new TestContainer(deployment);
+    }
+
+    private static SerializableContextual<Bean<Object>, Object> createContextual(BeanManagerImpl manager, Bean<Object> bean) {
+        return SerializableContextualFactory.create(manager.getContextId(), bean, manager.getServices().get(ContextualStore.class));
+    }
+
+    private static Bean<Object> getBean(BeanManagerImpl manager, Class<?> beanClass) {
+        return Reflections.cast(manager.resolve(manager.getBeans(beanClass)));
+    }
+
+    private static BeanManagerImpl getBeanManager(TestContainer container) {
+        return (BeanManagerImpl) container.getBeanManager(container.getDeployment().getBeanDeploymentArchives().iterator().next());
+    }
+
+    @SessionScoped
+    public static class Alpha implements java.io.Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    @SessionScoped
+    public static class Omega implements java.io.Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}